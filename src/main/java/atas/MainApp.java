@@ -18,6 +18,7 @@ import atas.logic.LogicManager;
 import atas.model.Model;
 import atas.model.ModelManager;
 import atas.model.ReadOnlyUserPrefs;
+import atas.model.StorageFormat;
 import atas.model.UserPrefs;
 import atas.model.session.ReadOnlySessionList;
 import atas.model.session.SessionList;
@@ -25,15 +26,21 @@ import atas.model.student.ReadOnlyStudentList;
 import atas.model.student.StudentList;
 import atas.model.util.SampleDataUtil;
 import atas.storage.AtasStorage;
-import atas.storage.JsonAtasStorage;
-import atas.storage.JsonSessionListStorage;
+import atas.storage.BinaryAtasStorage;
+import atas.storage.BinarySessionListStorage;
+import atas.storage.JournalAtasStorage;
 import atas.storage.JsonUserPrefsStorage;
+import atas.storage.LoadedData;
+import atas.storage.MappedSnapshotFile;
 import atas.storage.MemoStorage;
 import atas.storage.SessionListStorage;
+import atas.storage.ShardedSessionListStorage;
 import atas.storage.Storage;
+import atas.storage.StorageFormatConverter;
 import atas.storage.StorageManager;
 import atas.storage.TxtMemoStorage;
 import atas.storage.UserPrefsStorage;
+import atas.storage.WriteBehindStorage;
 import atas.ui.Ui;
 import atas.ui.UiManager;
 import javafx.application.Application;
@@ -53,6 +60,7 @@ public class MainApp extends Application {
     protected Storage storage;
     protected Model model;
     protected Config config;
+    private WriteBehindStorage writeBehindStorage;
 
     @Override
     public void init() throws Exception {
@@ -63,10 +71,22 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
-        AtasStorage atasStorage = new JsonAtasStorage(userPrefs.getStudentListFilePath());
-        SessionListStorage sessionListStorage = new JsonSessionListStorage(userPrefs.getSessionListFilePath());
+        AtasStorage jsonAtasStorage = new JournalAtasStorage(userPrefs.getStudentListFilePath());
+        SessionListStorage jsonSessionListStorage =
+                new ShardedSessionListStorage(userPrefs.getSessionListFilePath());
+        AtasStorage binaryAtasStorage =
+                new BinaryAtasStorage(MappedSnapshotFile.toBinaryPath(userPrefs.getStudentListFilePath()));
+        SessionListStorage binarySessionListStorage =
+                new BinarySessionListStorage(MappedSnapshotFile.toBinaryPath(userPrefs.getSessionListFilePath()));
+        boolean isBinary = initStorageFormat(userPrefs, userPrefsStorage, jsonAtasStorage, binaryAtasStorage,
+                jsonSessionListStorage, binarySessionListStorage) == StorageFormat.BINARY;
+        AtasStorage atasStorage = isBinary ? binaryAtasStorage : jsonAtasStorage;
+        SessionListStorage sessionListStorage = isBinary ? binarySessionListStorage : jsonSessionListStorage;
         MemoStorage memoStorage = new TxtMemoStorage(userPrefs.getMemoFilePath());
-        storage = new StorageManager(sessionListStorage, atasStorage, userPrefsStorage, memoStorage);
+        writeBehindStorage = new WriteBehindStorage(
+                new StorageManager(sessionListStorage, atasStorage, userPrefsStorage, memoStorage),
+                userPrefs.getMemoSaveDelayMillis(), userPrefs.getMemoMaxSaveLatencyMillis());
+        storage = writeBehindStorage;
 
         initLogging(config);
 
@@ -75,45 +95,90 @@ public class MainApp extends Application {
         logic = new LogicManager(model, storage);
 
         ui = new UiManager(logic);
+        writeBehindStorage.setWriteFailureHandler(ui::showSaveFailure);
+    }
+
+    /**
+     * Returns the storage format to use, converting the student list and session list into the format chosen in
+     * {@code userPrefs} if they were last saved in the other format. The format they are saved in is recorded in
+     * {@code userPrefs} and saved at once, so that a crash never makes a later start convert stale data again.
+     * If the conversion fails, the format the data was last saved in is kept.
+     */
+    private StorageFormat initStorageFormat(UserPrefs userPrefs, UserPrefsStorage userPrefsStorage,
+                                            AtasStorage jsonAtasStorage, AtasStorage binaryAtasStorage,
+                                            SessionListStorage jsonSessionListStorage,
+                                            SessionListStorage binarySessionListStorage) {
+        StorageFormat selectedFormat = userPrefs.getStorageFormat();
+        StorageFormat savedFormat = userPrefs.getSavedStorageFormat();
+        if (selectedFormat == savedFormat) {
+            return selectedFormat;
+        }
+
+        boolean isToBinary = selectedFormat == StorageFormat.BINARY;
+        try {
+            StorageFormatConverter.convertStudentList(isToBinary ? jsonAtasStorage : binaryAtasStorage,
+                    isToBinary ? binaryAtasStorage : jsonAtasStorage);
+            StorageFormatConverter.convertSessionList(isToBinary ? jsonSessionListStorage : binarySessionListStorage,
+                    isToBinary ? binarySessionListStorage : jsonSessionListStorage);
+            userPrefs.setSavedStorageFormat(selectedFormat);
+            userPrefsStorage.saveUserPrefs(userPrefs);
+            return selectedFormat;
+        } catch (DataConversionException | IOException e) {
+            logger.warning("Failed to convert data to the " + selectedFormat + " storage format. Will keep using the "
+                    + savedFormat + " storage format: " + e);
+            userPrefs.setSavedStorageFormat(savedFormat);
+            return savedFormat;
+        }
     }
 
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s student list and {@code userPrefs}. <br>
      * The data from the sample student list will be used instead if {@code storage}'s student list is not found,
      * or an empty student list will be used instead if errors occur when reading {@code storage}'s student list.
+     * The session list, student list and memo are read in parallel. The memo is handled on its own, while the
+     * student list and session list depend on each other and are started empty together.
      */
     private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
-        Optional<ReadOnlySessionList> sessionListOptional;
-        Optional<ReadOnlyStudentList> studentListOptional;
-        ReadOnlyStudentList initialDataAb;
-        ReadOnlySessionList initialDataSl;
-        String memoContent;
+        ReadOnlyStudentList initialDataAb = new StudentList();
+        ReadOnlySessionList initialDataSl = new SessionList();
+        String memoContent = MemoStorage.DEFAULT_MEMO_CONTENT;
+        LoadedData loadedData;
+        try {
+            loadedData = storage.readAll();
+        } catch (IOException e) {
+            logger.warning("Problem while preparing to read the data files. Will be starting with an empty"
+                    + " StudentList, SessionList and default Memo content");
+            return new ModelManager(initialDataSl, initialDataAb, userPrefs, memoContent);
+        }
+
+        try {
+            memoContent = loadedData.getMemo();
+        } catch (DataConversionException e) {
+            logger.warning("Memo file not in the correct format. Will be starting with the default Memo content");
+        } catch (IOException e) {
+            logger.warning("Problem while reading from the memo file. Will be starting with the default Memo content");
+        }
+
         try {
-            sessionListOptional = storage.readSessionList();
-            studentListOptional = storage.readStudentList();
-            memoContent = storage.readMemo();
+            Optional<ReadOnlySessionList> sessionListOptional = loadedData.getSessionList();
+            Optional<ReadOnlyStudentList> studentListOptional = loadedData.getStudentList();
             if (sessionListOptional.isEmpty()) {
                 logger.info("Data file not found. Will be starting with a sample SessionList");
             }
             if (studentListOptional.isEmpty()) {
                 logger.info("Data file not found. Will be starting with a sample StudentList");
             }
-            initialDataAb = studentListOptional.orElseGet(SampleDataUtil::getSampleStudentList);
-            ReadOnlyStudentList finalInitialDataAb = initialDataAb;
-            initialDataSl = sessionListOptional.orElseGet(SampleDataUtil::getSampleSessionList);
-            initialDataSl.updateStudentList(finalInitialDataAb.getStudentList());
+            ReadOnlyStudentList studentList = studentListOptional.orElseGet(SampleDataUtil::getSampleStudentList);
+            ReadOnlySessionList sessionList = sessionListOptional.orElseGet(SampleDataUtil::getSampleSessionList);
+            sessionList.updateStudentList(studentList.getStudentList());
+            initialDataAb = studentList;
+            initialDataSl = sessionList;
         } catch (DataConversionException e) {
-            logger.warning("Data file not in the correct format. Will be starting with an empty StudentList,"
-                    + " SessionList and default Memo content");
-            initialDataAb = new StudentList();
-            initialDataSl = new SessionList();
-            memoContent = MemoStorage.DEFAULT_MEMO_CONTENT;
+            logger.warning("Data file not in the correct format. Will be starting with an empty StudentList"
+                    + " and SessionList");
         } catch (IOException e) {
-            logger.warning("Problem while reading from the file. Will be starting with an empty StudentList,"
-                            + " SessionList and default Memo content");
-            initialDataAb = new StudentList();
-            initialDataSl = new SessionList();
-            memoContent = MemoStorage.DEFAULT_MEMO_CONTENT;
+            logger.warning("Problem while reading from the file. Will be starting with an empty StudentList"
+                    + " and SessionList");
         }
 
         ModelManager modelManager = new ModelManager(initialDataSl, initialDataAb, userPrefs, memoContent);
@@ -203,6 +268,11 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping ATAS ] =============================");
+        try {
+            writeBehindStorage.shutdown();
+        } catch (IOException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
@@ -1,18 +1,38 @@
 package atas.commons.util;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
- * Writes and reads files
+ * Writes and reads files.
+ * Files are written crash-safely: the content is written to a temporary file next to the file, synced to the disk,
+ * and then moved over the file in a single atomic rename, so a crash leaves either the old or the new content.
  */
 public class FileUtil {
 
+    public static final String TEMPORARY_SUFFIX = ".tmp";
+
     private static final String CHARSET = "UTF-8";
 
+    /**
+     * Writes the content of a file to a stream, which it must not close.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
     public static boolean isFileExists(Path file) {
         return Files.exists(file) && Files.isRegularFile(file);
     }
@@ -73,11 +93,70 @@ public class FileUtil {
     }
 
     /**
-     * Writes given string to a file.
-     * Will create the file if it does not exist yet.
+     * Writes given string to a file, replacing it atomically.
+     * Will create the file and its missing parent directories if they do not exist yet.
      */
     public static void writeToFile(Path file, String content) throws IOException {
-        Files.write(file, content.getBytes(CHARSET));
+        byte[] bytes = content.getBytes(CHARSET);
+        writeToFileAtomically(file, out -> out.write(bytes));
+    }
+
+    /**
+     * Appends given string to the end of a file, and syncs it to the disk.
+     * Will create the file and its missing parent directories if they do not exist yet.
+     * Unlike {@link #writeToFile(Path, String)}, a crash may leave only part of {@code content} appended.
+     */
+    public static void appendToFile(Path file, String content) throws IOException {
+        createParentDirsOfFile(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(CHARSET));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replaces {@code file} with the content written by {@code contentWriter}, creating the file and its missing
+     * parent directories if they do not exist yet. The content is synced to the disk before it replaces the file.
+     */
+    public static void writeToFileAtomically(Path file, ContentWriter contentWriter) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        createParentDirsOfFile(temporaryFile);
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            contentWriter.write(out);
+            out.flush();
+            channel.force(false);
+        }
+        moveAtomically(temporaryFile, file);
+    }
+
+    /**
+     * Moves {@code source} over {@code target} in a single rename where the file system supports it,
+     * and syncs the directory holding {@code target} so that the rename itself survives a crash.
+     */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Syncs the entries of {@code directory} to the disk, where the platform allows directories to be synced.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms cannot open directories, and make renames durable without it
+        }
     }
 
 }
@@ -1,10 +1,9 @@
 package atas.commons.util;
 
-import static atas.commons.util.FileUtil.readFromFile;
-import static atas.commons.util.FileUtil.writeToFile;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -13,10 +12,13 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -26,7 +28,8 @@ import atas.commons.core.LogsCenter;
 import atas.commons.exceptions.DataConversionException;
 
 /**
- * Converts a Java object instance to JSON and vice versa
+ * Converts a Java object instance to JSON and vice versa.
+ * Files are read and written as streams, so that no copy of the whole document is held in memory as a string.
  */
 public class JsonUtil {
 
@@ -42,12 +45,28 @@ public class JsonUtil {
                     .addDeserializer(Level.class, new LevelDeserializer(Level.class)));
 
     static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize) throws IOException {
-        writeToFile(jsonFile, toJsonString(objectToSerialize));
+        serializeObjectToJsonFile(jsonFile, objectToSerialize, true);
     }
 
+    /**
+     * Writes {@code objectToSerialize} to {@code jsonFile} as it is generated, through the generator's own buffer.
+     * The file is replaced atomically, see {@link FileUtil#writeToFileAtomically(Path, FileUtil.ContentWriter)}.
+     */
+    static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize, boolean isPrettyPrinted)
+            throws IOException {
+        ObjectWriter writer = (isPrettyPrinted ? objectMapper.writerWithDefaultPrettyPrinter() : objectMapper.writer())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        FileUtil.writeToFileAtomically(jsonFile, out -> writer.writeValue(out, objectToSerialize));
+    }
+
+    /**
+     * Parses {@code jsonFile} as it is read, through the parser's own buffer.
+     */
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream in = Files.newInputStream(jsonFile)) {
+            return objectMapper.readValue(in, classOfObjectToDeserialize);
+        }
     }
 
     /**
@@ -86,10 +105,22 @@ public class JsonUtil {
      * @throws IOException if there was an error during writing to the file
      */
     public static <T> void saveJsonFile(T jsonFile, Path filePath) throws IOException {
+        saveJsonFile(jsonFile, filePath, true);
+    }
+
+    /**
+     * Saves the Json object to the specified file, indented over several lines if {@code isPrettyPrinted},
+     * or on a single line otherwise.
+     * Overwrites existing file if it exists, creates a new file if it doesn't.
+     * @param jsonFile cannot be null
+     * @param filePath cannot be null
+     * @throws IOException if there was an error during writing to the file
+     */
+    public static <T> void saveJsonFile(T jsonFile, Path filePath, boolean isPrettyPrinted) throws IOException {
         requireNonNull(filePath);
         requireNonNull(jsonFile);
 
-        serializeObjectToJsonFile(filePath, jsonFile);
+        serializeObjectToJsonFile(filePath, jsonFile, isPrettyPrinted);
     }
 
 
@@ -112,6 +143,27 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into its JSON data string representation on a single line.
+     */
+    public static <T> String toCompactJsonString(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
+    /**
+     * Converts a given instance of a class into a tree of JSON nodes.
+     */
+    public static <T> JsonNode toJsonTree(T instance) {
+        return objectMapper.valueToTree(instance);
+    }
+
+    /**
+     * Converts a tree of JSON nodes to an instance of a class.
+     */
+    public static <T> T fromJsonTree(JsonNode tree, Class<T> instanceClass) throws IOException {
+        return objectMapper.treeToValue(tree, instanceClass);
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
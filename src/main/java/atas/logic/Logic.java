@@ -8,6 +8,7 @@ import atas.logic.commands.CommandResult;
 import atas.logic.commands.exceptions.CommandException;
 import atas.logic.parser.exceptions.ParseException;
 import atas.model.Model;
+import atas.model.memo.Rope;
 import atas.model.session.Attributes;
 import atas.model.session.Session;
 import atas.model.student.ReadOnlyStudentList;
@@ -78,6 +79,13 @@ public interface Logic {
      */
     String getMemoContent();
 
+    /**
+     * Returns the text of the Memo, without building it into a single string.
+     *
+     * @return Text contained in Memo.
+     */
+    Rope getMemoText();
+
     /**
      * Returns the name and date of the current entered session.
      */
@@ -89,12 +97,14 @@ public interface Logic {
     String getRightSessionDetails();
 
     /**
-     * Saves content into the Memo.
+     * Replaces the text of the Memo from {@code start} to {@code end} with {@code text}, and saves the Memo.
      *
-     * @param memoContent The String content that should be saved into the Memo.
+     * @param start Index of the first character replaced.
+     * @param end Index after the last character replaced.
+     * @param text The String text to be written in their place.
      * @throws CommandException If file to save content in does not exist and cannot be created.
      */
-    void saveMemoContent(String memoContent) throws CommandException;
+    void replaceMemoText(int start, int end, String text) throws CommandException;
 
     /**
      * Refresh statistics of model.
@@ -13,6 +13,7 @@ import atas.logic.commands.exceptions.CommandException;
 import atas.logic.parser.AtasParser;
 import atas.logic.parser.exceptions.ParseException;
 import atas.model.Model;
+import atas.model.memo.Rope;
 import atas.model.session.Attributes;
 import atas.model.session.Session;
 import atas.model.student.ReadOnlyStudentList;
@@ -31,13 +32,22 @@ public class LogicManager implements Logic {
     private final Storage storage;
     private final AtasParser atasParser;
 
+    // Versions of the data in the model when it was last saved, so that only changed data is written to storage.
+    private int savedSessionListVersion;
+    private int savedStudentListVersion;
+    private int savedMemoVersion;
+
     /**
      * Constructs a {@code LogicManager} with the given {@code Model} and {@code Storage}.
+     * The data in the model is assumed to be the same as the data in storage.
      */
     public LogicManager(Model model, Storage storage) {
         this.model = model;
         this.storage = storage;
         atasParser = new AtasParser();
+        savedSessionListVersion = model.getSessionListVersion();
+        savedStudentListVersion = model.getStudentListVersion();
+        savedMemoVersion = model.getMemo().getVersion();
     }
 
     @Override
@@ -54,9 +64,7 @@ public class LogicManager implements Logic {
         }
 
         try {
-            storage.saveSessionList(model.getSessionList());
-            storage.saveStudentList(model.getStudentList());
-            storage.saveMemo(model.getMemo());
+            saveChanges();
         } catch (IOException ioe) {
             throw new CommandException(FILE_OPS_ERROR_MESSAGE + ioe, ioe);
         }
@@ -64,6 +72,33 @@ public class LogicManager implements Logic {
         return commandResult;
     }
 
+    /**
+     * Saves the data in the model that has changed since it was last saved successfully.
+     * Commands that do not change any data do not touch the storage at all.
+     */
+    private void saveChanges() throws IOException {
+        int sessionListVersion = model.getSessionListVersion();
+        if (sessionListVersion != savedSessionListVersion) {
+            storage.saveSessionList(model.getSessionList());
+            savedSessionListVersion = sessionListVersion;
+        }
+        int studentListVersion = model.getStudentListVersion();
+        if (studentListVersion != savedStudentListVersion) {
+            storage.saveStudentList(model.getStudentList());
+            savedStudentListVersion = studentListVersion;
+        }
+        saveMemoChanges();
+    }
+
+    private void saveMemoChanges() throws IOException {
+        int memoVersion = model.getMemo().getVersion();
+        if (memoVersion != savedMemoVersion) {
+            storage.saveMemo(model.getMemo());
+            model.getMemo().markSaved();
+            savedMemoVersion = memoVersion;
+        }
+    }
+
     @Override
     public ReadOnlyStudentList getStudentList() {
         return model.getStudentList();
@@ -119,6 +154,11 @@ public class LogicManager implements Logic {
         return model.getMemoContent();
     }
 
+    @Override
+    public Rope getMemoText() {
+        return model.getMemo().getText();
+    }
+
     @Override
     public String getLeftSessionDetails() {
         return model.getLeftSessionDetails();
@@ -130,10 +170,10 @@ public class LogicManager implements Logic {
     }
 
     @Override
-    public void saveMemoContent(String content) throws CommandException {
+    public void replaceMemoText(int start, int end, String text) throws CommandException {
         try {
-            model.saveMemoContent(content);
-            storage.saveMemo(model.getMemo());
+            model.replaceMemoText(start, end, text);
+            saveMemoChanges();
         } catch (IOException ioe) {
             throw new CommandException(FILE_OPS_ERROR_MESSAGE + ioe, ioe);
         }
@@ -93,9 +93,7 @@ public class EditSessionCommand extends DangerousCommand implements IndexedSessi
         SessionName updatedSessionName = editSessionDescriptor.getSessionName().orElse(sessionToEdit.getSessionName());
         SessionDate updatedSessionDate = editSessionDescriptor.getSessionDate().orElse(sessionToEdit.getSessionDate());
 
-        Session editedSession = new Session(updatedSessionName, updatedSessionDate);
-        editedSession.getAttributeList().setAll(sessionToEdit.getAttributeList());
-        return editedSession;
+        return new Session(updatedSessionName, updatedSessionDate, sessionToEdit.getAttributeList());
     }
 
     @Override
@@ -42,7 +42,7 @@ public class DeleteStudentCommand extends DangerousCommand implements IndexedStu
         }
 
         Student studentToDelete = lastShownList.get(targetIndex.getZeroBased());
-        model.deleteStudent(studentToDelete, targetIndex);
+        model.deleteStudent(studentToDelete);
         model.commit();
         return new CommandResult(String.format(MESSAGE_DELETE_STUDENT_SUCCESS, studentToDelete));
     }
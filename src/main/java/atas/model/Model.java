@@ -86,6 +86,11 @@ public interface Model {
     /** Returns the StudentList */
     ReadOnlyStudentList getStudentList();
 
+    /**
+     * Returns a number that changes every time the students in the student list are changed.
+     */
+    int getStudentListVersion();
+
     /**
      * Returns true if a student with the same identity as {@code student} exists in the student list.
      */
@@ -95,7 +100,7 @@ public interface Model {
      * Deletes the given student.
      * The student must exist in the student list.
      */
-    void deleteStudent(Student target, Index id);
+    void deleteStudent(Student target);
 
     /**
      * Adds the given student.
@@ -119,6 +124,11 @@ public interface Model {
     /** Returns the SessionList */
     SessionList getSessionList();
 
+    /**
+     * Returns a number that changes every time the sessions or the attendance in the session list are changed.
+     */
+    int getSessionListVersion();
+
     /**
      * Returns true if a session with the same identity as {@code session} exists in the session list.
      */
@@ -246,11 +256,13 @@ public interface Model {
     String getMemoContent();
 
     /**
-     * Writes a String of text into the memo.
+     * Replaces the text of the memo from {@code start} to {@code end} with {@code text}.
      *
-     * @param content String content to be written.
+     * @param start Index of the first character replaced.
+     * @param end Index after the last character replaced.
+     * @param text String text to be written in their place.
      */
-    void saveMemoContent(String content);
+    void replaceMemoText(int start, int end, String text);
 
     /**
      * Appends a String of text at the end of the Memo.
@@ -315,4 +327,9 @@ public interface Model {
      */
     void redo();
 
+    /**
+     * Returns the estimated memory held by the undo history of this {@code Model}, in bytes.
+     */
+    long getHistoryMemoryUsage();
+
 }
@@ -0,0 +1,136 @@
+package atas.model;
+
+import static atas.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import atas.model.exceptions.UnableToRedoException;
+import atas.model.exceptions.UnableToUndoException;
+import atas.model.history.CompoundEntry;
+import atas.model.history.HistoryLimits;
+import atas.model.history.JournalEntry;
+import atas.model.history.UndoJournal;
+
+/**
+ * Represents the undo history of the whole model, shared by all of its versioned entities.
+ * Every commit is a single transaction: the changes made to all entities are recorded together as one journal entry,
+ * so undo and redo always move every entity to the same point in history, and history is evicted for all of them
+ * at once.
+ */
+public class ModelHistory {
+
+    private final UndoJournal journal;
+    private final List<VersionedEntity> entities;
+    private long version;
+
+    /**
+     * Creates an empty {@code ModelHistory} of the given {@code entities}, with the default limits.
+     */
+    public ModelHistory(VersionedEntity... entities) {
+        requireAllNonNull((Object[]) entities);
+        this.journal = new UndoJournal();
+        this.entities = List.of(entities);
+        this.version = 0;
+    }
+
+    /**
+     * Records the changes made to every entity since the last commit as one transaction.
+     */
+    public void commit() {
+        List<JournalEntry> changes = new ArrayList<>();
+        for (VersionedEntity entity : entities) {
+            changes.add(entity.commit());
+        }
+        journal.record(new CompoundEntry(changes));
+        version++;
+    }
+
+    public boolean canUndo() {
+        return journal.canUndo();
+    }
+
+    /**
+     * Reverts every entity to its state before the last transaction.
+     * Changes that have not been committed are reverted first.
+     */
+    public void undo() {
+        if (!canUndo()) {
+            throw new UnableToUndoException();
+        }
+        rollBack();
+        journal.undo();
+        discardChanges();
+    }
+
+    public boolean canRedo() {
+        return journal.canRedo();
+    }
+
+    /**
+     * Applies the last undone transaction to every entity again.
+     * Changes that have not been committed are reverted first.
+     */
+    public void redo() {
+        if (!canRedo()) {
+            throw new UnableToRedoException();
+        }
+        rollBack();
+        journal.redo();
+        discardChanges();
+    }
+
+    /**
+     * Returns a number that changes every time the model is committed, undone or redone.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of transactions that can be undone.
+     */
+    public int getUndoCount() {
+        return journal.getUndoCount();
+    }
+
+    /**
+     * Returns the number of transactions that can be redone.
+     */
+    public int getRedoCount() {
+        return journal.getRedoCount();
+    }
+
+    /**
+     * Returns the estimated memory held by the history, in bytes.
+     */
+    public long getEstimatedBytes() {
+        return journal.getEstimatedBytes();
+    }
+
+    /**
+     * Replaces the limits of the history, evicting the oldest transactions if they are now exceeded.
+     */
+    public void setLimits(HistoryLimits limits) {
+        requireNonNull(limits);
+        journal.setLimits(limits);
+    }
+
+    /**
+     * Reverts the changes made to the entities since the last commit, so that they match the current point in
+     * history before moving to another one.
+     */
+    private void rollBack() {
+        for (int i = entities.size() - 1; i >= 0; i--) {
+            entities.get(i).commit().undo();
+        }
+    }
+
+    private void discardChanges() {
+        for (VersionedEntity entity : entities) {
+            entity.discardChanges();
+        }
+        version++;
+    }
+}
@@ -42,6 +42,7 @@ public class ModelManager implements Model {
     private final VersionedStudentList studentList;
     private final VersionedSessionList sessionList;
     private final VersionedAttributesList attributesList;
+    private final ModelHistory history;
     private final UserPrefs userPrefs;
     private final FilteredList<Student> filteredStudents;
     private final FilteredList<Session> filteredSessions;
@@ -63,7 +64,9 @@ public class ModelManager implements Model {
         this.sessionList = new VersionedSessionList(sessionList);
         this.studentList = new VersionedStudentList(studentList);
         this.attributesList = new VersionedAttributesList();
+        this.history = new ModelHistory(this.studentList, this.sessionList, this.attributesList);
         this.userPrefs = new UserPrefs(userPrefs);
+        applyHistoryLimits();
         this.filteredStudents = new FilteredList<>(this.studentList.getStudentList());
         this.filteredSessions = new FilteredList<>(this.sessionList.getSessions());
         this.memo = new Memo(memoContent);
@@ -114,6 +117,7 @@ public class ModelManager implements Model {
     public void setUserPrefs(ReadOnlyUserPrefs userPrefs) {
         requireNonNull(userPrefs);
         this.userPrefs.resetData(userPrefs);
+        applyHistoryLimits();
     }
 
     @Override
@@ -148,8 +152,8 @@ public class ModelManager implements Model {
     @Override
     public void clearStudentList() {
         studentList.resetData(new StudentList());
-        sessionList.updateStudentList(studentList.getStudentList());
         sessionList.updateAllSessionsAfterClear();
+        sessionList.updateStudentList(studentList.getStudentList());
         updateCurrentAttributesList();
         refreshStatistics();
     }
@@ -159,6 +163,11 @@ public class ModelManager implements Model {
         return studentList;
     }
 
+    @Override
+    public int getStudentListVersion() {
+        return studentList.getVersion();
+    }
+
     @Override
     public boolean hasStudent(Student student) {
         requireNonNull(student);
@@ -166,10 +175,11 @@ public class ModelManager implements Model {
     }
 
     @Override
-    public void deleteStudent(Student target, Index id) {
+    public void deleteStudent(Student target) {
+        // The sessions load their attendance first, so nothing is changed if that fails
+        sessionList.deleteStudentFromSessions(target);
         studentList.removeStudent(target);
         sessionList.updateStudentList(studentList.getStudentList());
-        sessionList.updateAllSessionsAfterDelete(id);
         updateCurrentAttributesList();
         refreshStatistics();
     }
@@ -179,7 +189,6 @@ public class ModelManager implements Model {
         studentList.addStudent(student);
         updateFilteredStudentList(PREDICATE_SHOW_ALL_STUDENTS);
         sessionList.updateStudentList(studentList.getStudentList());
-        sessionList.updateAllSessionsAfterAdd();
         updateCurrentAttributesList();
         refreshStatistics();
     }
@@ -189,7 +198,7 @@ public class ModelManager implements Model {
         requireAllNonNull(target, editedStudent);
 
         studentList.setStudent(target, editedStudent);
-        sessionList.updateStudentList(studentList.getStudentList());
+        sessionList.updateStudent(target, editedStudent);
         updateCurrentAttributesList();
         refreshStatistics();
     }
@@ -208,6 +217,11 @@ public class ModelManager implements Model {
         return this.sessionList;
     }
 
+    @Override
+    public int getSessionListVersion() {
+        return sessionList.getVersion();
+    }
+
     @Override
     public Path getSessionListFilePath() {
         return userPrefs.getSessionListFilePath();
@@ -440,9 +454,9 @@ public class ModelManager implements Model {
     }
 
     @Override
-    public void saveMemoContent(String content) {
-        requireNonNull(content);
-        memo.setContent(content);
+    public void replaceMemoText(int start, int end, String text) {
+        requireNonNull(text);
+        memo.replaceText(start, end, text);
     }
 
     @Override
@@ -484,41 +498,44 @@ public class ModelManager implements Model {
 
     @Override
     public void commit() {
-        studentList.commit();
-        sessionList.commit();
-        attributesList.commit();
+        history.commit();
+        logger.fine("Undo history is using about " + getHistoryMemoryUsage() + " bytes");
     }
 
     @Override
     public boolean canUndo() {
-        return studentList.canUndo()
-                && sessionList.canUndo()
-                && attributesList.canUndo();
+        return history.canUndo();
     }
 
     @Override
     public void undo() {
-        studentList.undo();
-        sessionList.undo();
-        attributesList.undo();
+        history.undo();
         resetCurrentSessionDetails();
         refreshStatistics();
     }
 
     @Override
     public boolean canRedo() {
-        return studentList.canRedo()
-                && sessionList.canRedo()
-                && attributesList.canRedo();
+        return history.canRedo();
     }
 
     @Override
     public void redo() {
-        studentList.redo();
-        sessionList.redo();
-        attributesList.redo();
+        history.redo();
         resetCurrentSessionDetails();
         refreshStatistics();
     }
 
+    @Override
+    public long getHistoryMemoryUsage() {
+        return history.getEstimatedBytes();
+    }
+
+    /**
+     * Applies the undo history limits in the user prefs to the history of the model.
+     */
+    private void applyHistoryLimits() {
+        history.setLimits(userPrefs.getUndoHistoryLimits());
+    }
+
 }
@@ -3,6 +3,7 @@ package atas.model;
 import java.nio.file.Path;
 
 import atas.commons.core.GuiSettings;
+import atas.model.history.HistoryLimits;
 
 /**
  * Unmodifiable view of user prefs.
@@ -16,4 +17,14 @@ public interface ReadOnlyUserPrefs {
     Path getSessionListFilePath();
 
     Path getMemoFilePath();
+
+    HistoryLimits getUndoHistoryLimits();
+
+    StorageFormat getStorageFormat();
+
+    StorageFormat getSavedStorageFormat();
+
+    long getMemoSaveDelayMillis();
+
+    long getMemoMaxSaveLatencyMillis();
 }
@@ -0,0 +1,11 @@
+package atas.model;
+
+/**
+ * The formats that the student list and session list can be saved in.
+ */
+public enum StorageFormat {
+    /** Human-readable JSON files. */
+    JSON,
+    /** Binary snapshots that are memory-mapped when read, for very large cohorts. */
+    BINARY
+}
@@ -7,16 +7,27 @@ import java.nio.file.Paths;
 import java.util.Objects;
 
 import atas.commons.core.GuiSettings;
+import atas.model.history.HistoryLimits;
 
 /**
  * Represents User's preferences.
  */
 public class UserPrefs implements ReadOnlyUserPrefs {
 
+    public static final long DEFAULT_MEMO_SAVE_DELAY_MILLIS = 500;
+    public static final long DEFAULT_MEMO_MAX_SAVE_LATENCY_MILLIS = 2000;
+
     private GuiSettings guiSettings = new GuiSettings();
     private Path studentListFilePath = Paths.get("data" , "studentlist.json");
     private Path sessionListFilePath = Paths.get("data", "sessionlist.json");
     private Path memoFilePath = Paths.get("data", "memo.txt");
+    private int maxUndoEntries = HistoryLimits.DEFAULT_MAX_ENTRIES;
+    private long maxUndoHistoryBytes = HistoryLimits.DEFAULT_MAX_BYTES;
+    private StorageFormat storageFormat = StorageFormat.JSON;
+    // Data saved before the storage format could be chosen is in JSON
+    private StorageFormat savedStorageFormat = StorageFormat.JSON;
+    private long memoSaveDelayMillis = DEFAULT_MEMO_SAVE_DELAY_MILLIS;
+    private long memoMaxSaveLatencyMillis = DEFAULT_MEMO_MAX_SAVE_LATENCY_MILLIS;
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -40,6 +51,10 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         setStudentListFilePath(newUserPrefs.getStudentListFilePath());
         setSessionListFilePath(newUserPrefs.getSessionListFilePath());
         setMemoFilePath(newUserPrefs.getMemoFilePath());
+        setUndoHistoryLimits(newUserPrefs.getUndoHistoryLimits());
+        setStorageFormat(newUserPrefs.getStorageFormat());
+        setSavedStorageFormat(newUserPrefs.getSavedStorageFormat());
+        setMemoSaveDelays(newUserPrefs.getMemoSaveDelayMillis(), newUserPrefs.getMemoMaxSaveLatencyMillis());
     }
 
     public GuiSettings getGuiSettings() {
@@ -78,6 +93,69 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.memoFilePath = memoFilePath;
     }
 
+    /**
+     * Returns the limits on the undo history, or the default limits if the stored ones are not positive.
+     */
+    public HistoryLimits getUndoHistoryLimits() {
+        if (maxUndoEntries <= 0 || maxUndoHistoryBytes <= 0) {
+            return HistoryLimits.DEFAULT;
+        }
+        return new HistoryLimits(maxUndoEntries, maxUndoHistoryBytes);
+    }
+
+    /**
+     * Sets the limits on the number of commands and the memory kept for undo.
+     */
+    public void setUndoHistoryLimits(HistoryLimits undoHistoryLimits) {
+        requireNonNull(undoHistoryLimits);
+        this.maxUndoEntries = undoHistoryLimits.getMaxEntries();
+        this.maxUndoHistoryBytes = undoHistoryLimits.getMaxBytes();
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        requireNonNull(storageFormat);
+        this.storageFormat = storageFormat;
+    }
+
+    /**
+     * Returns how long the memo must go unchanged before it is saved, or the default if the stored delay is negative.
+     */
+    public long getMemoSaveDelayMillis() {
+        return memoSaveDelayMillis < 0 ? DEFAULT_MEMO_SAVE_DELAY_MILLIS : memoSaveDelayMillis;
+    }
+
+    /**
+     * Returns the longest a change to the memo may go unsaved while it keeps changing,
+     * or the default if the stored latency is negative.
+     */
+    public long getMemoMaxSaveLatencyMillis() {
+        return memoMaxSaveLatencyMillis < 0 ? DEFAULT_MEMO_MAX_SAVE_LATENCY_MILLIS : memoMaxSaveLatencyMillis;
+    }
+
+    /**
+     * Sets how long the memo must go unchanged before it is saved, and the longest a change may go unsaved.
+     */
+    public void setMemoSaveDelays(long memoSaveDelayMillis, long memoMaxSaveLatencyMillis) {
+        this.memoSaveDelayMillis = memoSaveDelayMillis;
+        this.memoMaxSaveLatencyMillis = memoMaxSaveLatencyMillis;
+    }
+
+    /**
+     * Returns the storage format that the data was last saved in.
+     */
+    public StorageFormat getSavedStorageFormat() {
+        return savedStorageFormat;
+    }
+
+    public void setSavedStorageFormat(StorageFormat savedStorageFormat) {
+        requireNonNull(savedStorageFormat);
+        this.savedStorageFormat = savedStorageFormat;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -92,12 +170,19 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         return guiSettings.equals(o.guiSettings)
                 && studentListFilePath.equals(o.studentListFilePath)
                 && sessionListFilePath.equals(o.sessionListFilePath)
-                && memoFilePath.equals(o.memoFilePath);
+                && memoFilePath.equals(o.memoFilePath)
+                && maxUndoEntries == o.maxUndoEntries
+                && maxUndoHistoryBytes == o.maxUndoHistoryBytes
+                && storageFormat == o.storageFormat
+                && savedStorageFormat == o.savedStorageFormat
+                && memoSaveDelayMillis == o.memoSaveDelayMillis
+                && memoMaxSaveLatencyMillis == o.memoMaxSaveLatencyMillis;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, studentListFilePath, sessionListFilePath, memoFilePath);
+        return Objects.hash(guiSettings, studentListFilePath, sessionListFilePath, memoFilePath, maxUndoEntries,
+                maxUndoHistoryBytes, storageFormat, savedStorageFormat, memoSaveDelayMillis, memoMaxSaveLatencyMillis);
     }
 
     @Override
@@ -107,6 +192,10 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         sb.append("\nLocal data file location : " + studentListFilePath);
         sb.append("\nLocal session data file location : " + sessionListFilePath);
         sb.append("\nLocal memo data file location : " + memoFilePath);
+        sb.append("\nUndo history limits : " + getUndoHistoryLimits());
+        sb.append("\nStorage format : " + storageFormat + " (last saved in " + savedStorageFormat + ")");
+        sb.append("\nMemo save delay : " + getMemoSaveDelayMillis() + " ms, at most "
+                + getMemoMaxSaveLatencyMillis() + " ms");
         return sb.toString();
     }
 
@@ -1,33 +1,22 @@
 package atas.model;
 
+import atas.model.history.JournalEntry;
+
 /**
- * Enables behavior that enables saving and going back and forth between different history states.
+ * Enables an entity to record the changes made to it, so that its history can be kept by a {@code ModelHistory}.
  */
 public interface VersionedEntity {
 
     /**
-     * Saves the current entity state in its history.
-     */
-    void commit();
-
-    /**
-     * Returns <code>true</code> if entity has states to undo, <code>false</code> otherwise.
-     */
-    boolean canUndo();
-
-    /**
-     * Restores the previous entity state from its history.
-     */
-    void undo();
-
-    /**
-     * Returns <code>true</code> if entity has states to redo, <code>false</code> otherwise.
+     * Returns the changes made to the entity since the last commit as an entry that can undo and redo them,
+     * and starts recording changes anew.
      */
-    boolean canRedo();
+    JournalEntry commit();
 
     /**
-     * Returns a previously undone entity from its history.
+     * Forgets the changes recorded since the last commit.
+     * Called after the entity has been moved to another point in its history.
      */
-    void redo();
+    void discardChanges();
 
 }
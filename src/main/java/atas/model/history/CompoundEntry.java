@@ -0,0 +1,47 @@
+package atas.model.history;
+
+import static atas.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+
+/**
+ * Represents the changes made by one command as a sequence of smaller entries.
+ * The entries are undone in reverse order and redone in their original order.
+ */
+public class CompoundEntry implements JournalEntry {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 32;
+
+    private final List<JournalEntry> entries;
+
+    /**
+     * Constructs a {@code CompoundEntry} of the given {@code entries}, which may be empty.
+     */
+    public CompoundEntry(List<JournalEntry> entries) {
+        requireAllNonNull(entries);
+        this.entries = List.copyOf(entries);
+    }
+
+    @Override
+    public void undo() {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            entries.get(i).undo();
+        }
+    }
+
+    @Override
+    public void redo() {
+        for (JournalEntry entry : entries) {
+            entry.redo();
+        }
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (JournalEntry entry : entries) {
+            bytes += entry.getEstimatedBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,55 @@
+package atas.model.history;
+
+import static atas.commons.util.AppUtil.checkArgument;
+
+import java.util.Objects;
+
+/**
+ * Represents the limits on the size of the undo history.
+ * Guarantees: immutable; both limits are positive.
+ */
+public class HistoryLimits {
+
+    public static final String MESSAGE_CONSTRAINTS = "History limits should be positive";
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    public static final HistoryLimits DEFAULT = new HistoryLimits(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /**
+     * Constructs a {@code HistoryLimits} keeping at most {@code maxEntries} entries and about {@code maxBytes} bytes.
+     */
+    public HistoryLimits(int maxEntries, long maxBytes) {
+        checkArgument(maxEntries > 0 && maxBytes > 0, MESSAGE_CONSTRAINTS);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof HistoryLimits // instanceof handles nulls
+                && maxEntries == ((HistoryLimits) other).maxEntries
+                && maxBytes == ((HistoryLimits) other).maxBytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxEntries, maxBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "Max entries: " + maxEntries + ", Max bytes: " + maxBytes;
+    }
+}
@@ -0,0 +1,22 @@
+package atas.model.history;
+
+/**
+ * Represents the changes made by one command, recorded so that they can be undone and redone.
+ */
+public interface JournalEntry {
+
+    /**
+     * Reverts the changes recorded by this entry.
+     */
+    void undo();
+
+    /**
+     * Applies the changes recorded by this entry again after they have been undone.
+     */
+    void redo();
+
+    /**
+     * Returns an estimate of the memory held by this entry, in bytes.
+     */
+    long getEstimatedBytes();
+}
@@ -0,0 +1,48 @@
+package atas.model.history;
+
+import static atas.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Represents the changes made by one command as the states before and after the command.
+ * Used for changes that have no compact inverse, such as clearing a list. The states are never modified, so they
+ * may be shared with other entries.
+ *
+ * @param <T> The type of the states.
+ */
+public class SnapshotEntry<T> implements JournalEntry {
+
+    private final T before;
+    private final T after;
+    private final Consumer<T> restorer;
+    private final long estimatedBytes;
+
+    /**
+     * Constructs a {@code SnapshotEntry} that goes between {@code before} and {@code after} using {@code restorer}.
+     *
+     * @param estimatedBytes An estimate of the memory held by both states.
+     */
+    public SnapshotEntry(T before, T after, Consumer<T> restorer, long estimatedBytes) {
+        requireAllNonNull(before, after, restorer);
+        this.before = before;
+        this.after = after;
+        this.restorer = restorer;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    @Override
+    public void undo() {
+        restorer.accept(before);
+    }
+
+    @Override
+    public void redo() {
+        restorer.accept(after);
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
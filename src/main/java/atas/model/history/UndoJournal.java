@@ -0,0 +1,128 @@
+package atas.model.history;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import atas.model.exceptions.UnableToRedoException;
+import atas.model.exceptions.UnableToUndoException;
+
+/**
+ * Represents a bounded history of {@code JournalEntry}, one for every committed command.
+ * Once the history holds more entries or more estimated bytes than its {@code HistoryLimits} allow, the oldest
+ * entries are evicted and can no longer be undone.
+ */
+public class UndoJournal {
+
+    private final Deque<JournalEntry> undoEntries = new ArrayDeque<>();
+    private final Deque<JournalEntry> redoEntries = new ArrayDeque<>();
+    private HistoryLimits limits;
+    private long estimatedBytes;
+
+    /**
+     * Creates an empty {@code UndoJournal} with the default limits.
+     */
+    public UndoJournal() {
+        this(HistoryLimits.DEFAULT);
+    }
+
+    /**
+     * Creates an empty {@code UndoJournal} with the given {@code limits}.
+     */
+    public UndoJournal(HistoryLimits limits) {
+        requireNonNull(limits);
+        this.limits = limits;
+    }
+
+    /**
+     * Records {@code entry} as the latest entry, discarding every entry that could have been redone.
+     * The oldest entries are then evicted until the history is within its limits.
+     */
+    public void record(JournalEntry entry) {
+        requireNonNull(entry);
+        while (!redoEntries.isEmpty()) {
+            estimatedBytes -= redoEntries.pop().getEstimatedBytes();
+        }
+        undoEntries.addLast(entry);
+        estimatedBytes += entry.getEstimatedBytes();
+        evictOldest();
+    }
+
+    public boolean canUndo() {
+        return !undoEntries.isEmpty();
+    }
+
+    /**
+     * Undoes the latest entry that has not been undone.
+     */
+    public void undo() {
+        if (!canUndo()) {
+            throw new UnableToUndoException();
+        }
+        JournalEntry entry = undoEntries.pollLast();
+        entry.undo();
+        redoEntries.push(entry);
+    }
+
+    public boolean canRedo() {
+        return !redoEntries.isEmpty();
+    }
+
+    /**
+     * Redoes the entry that was undone last.
+     */
+    public void redo() {
+        if (!canRedo()) {
+            throw new UnableToRedoException();
+        }
+        JournalEntry entry = redoEntries.pop();
+        entry.redo();
+        undoEntries.addLast(entry);
+    }
+
+    public HistoryLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Replaces the limits of this history, evicting the oldest entries if they are now exceeded.
+     */
+    public void setLimits(HistoryLimits limits) {
+        requireNonNull(limits);
+        this.limits = limits;
+        evictOldest();
+    }
+
+    /**
+     * Returns the number of entries that can be undone.
+     */
+    public int getUndoCount() {
+        return undoEntries.size();
+    }
+
+    /**
+     * Returns the number of entries that can be redone.
+     */
+    public int getRedoCount() {
+        return redoEntries.size();
+    }
+
+    /**
+     * Returns the estimated memory held by all entries, in bytes.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Evicts the oldest entries until the history is within its limits.
+     * Only entries that can be undone are evicted, as entries that can be redone are newer than all of them.
+     */
+    private void evictOldest() {
+        while (!undoEntries.isEmpty() && (undoEntries.size() + redoEntries.size() > limits.getMaxEntries()
+                || estimatedBytes > limits.getMaxBytes())) {
+            estimatedBytes -= undoEntries.pollFirst().getEstimatedBytes();
+        }
+    }
+}
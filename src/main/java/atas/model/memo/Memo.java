@@ -4,18 +4,26 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Represents a Memo pad.
- * Each {@code Memo} contains a String of content that users can make changes to through a text area.
+ * Each {@code Memo} contains text that users can make changes to through a text area.
+ * The text is held as a {@link Rope}, so that adding a note to a long memo or editing part of it does not copy the
+ * whole memo, and a snapshot of the text can be taken without copying it.
  */
 public class Memo {
 
     /** Represents the content stored in a Memo */
-    private String content;
+    private Rope content;
+
+    /** Changes every time the content is changed */
+    private int version;
+
+    /** Offset of the first character changed since the Memo was last saved, the whole content until it is saved */
+    private int changedFrom;
 
     /**
      * Constructs a Memo object with an empty content.
      */
     public Memo() {
-        content = "";
+        content = Rope.EMPTY;
     }
 
     /**
@@ -24,15 +32,47 @@ public class Memo {
      * @param content String content to be stored in Memo.
      */
     public Memo(String content) {
-        this.content = content;
+        this.content = Rope.of(content);
+    }
+
+    /**
+     * Constructs a Memo object with a specified text, which is shared rather than copied.
+     *
+     * @param text Text to be stored in Memo.
+     */
+    public Memo(Rope text) {
+        requireNonNull(text);
+        this.content = text;
+    }
+
+    /**
+     * Constructs a Memo object with a specified text, of which the characters from {@code changedFrom} are the only
+     * ones changed since it was last saved.
+     *
+     * @param text Text to be stored in Memo.
+     * @param changedFrom Offset of the first character changed since the Memo was last saved.
+     */
+    public Memo(Rope text, int changedFrom) {
+        this(text);
+        this.changedFrom = changedFrom;
     }
 
     /**
      * Returns the content of the Memo.
+     * This builds the whole content as a single string, see {@link #getText()} to read it without doing so.
      *
      * @return String content of the Memo.
      */
     public String getContent() {
+        return content.toString();
+    }
+
+    /**
+     * Returns the text of the Memo. The text never changes, so it stays a snapshot of the Memo at this point.
+     *
+     * @return Text of the Memo.
+     */
+    public Rope getText() {
         return content;
     }
 
@@ -43,7 +83,52 @@ public class Memo {
      */
     public void setContent(String content) {
         requireNonNull(content);
-        this.content = content;
+        Rope newContent = Rope.of(content);
+        if (!newContent.equals(this.content)) {
+            this.content = newContent;
+            version++;
+            changedFrom = 0;
+        }
+    }
+
+    /**
+     * Replaces the text from {@code start} to {@code end} with {@code text}.
+     *
+     * @param start Index of the first character replaced.
+     * @param end Index after the last character replaced.
+     * @param text Text to be written in their place.
+     * @throws IndexOutOfBoundsException if the range is not within the Memo.
+     */
+    public void replaceText(int start, int end, String text) {
+        requireNonNull(text);
+        if (start == end && text.isEmpty()) {
+            return;
+        }
+        content = content.replace(start, end, text);
+        version++;
+        changedFrom = Math.min(changedFrom, start);
+    }
+
+    /**
+     * Returns a number that changes every time the content of the Memo is changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the offset of the first character changed since the Memo was last marked as saved.
+     * The characters before it are the same as when it was saved.
+     */
+    public int getChangedFrom() {
+        return changedFrom;
+    }
+
+    /**
+     * Marks the current content of the Memo as saved.
+     */
+    public void markSaved() {
+        changedFrom = content.length();
     }
 
     /**
@@ -53,9 +138,9 @@ public class Memo {
      */
     public void addNote(String note) {
         requireNonNull(note);
-        String oldContent = getContent();
-        String newContent = oldContent.concat("\n").concat(note);
-        setContent(newContent);
+        changedFrom = Math.min(changedFrom, content.length());
+        content = content.append("\n" + note);
+        version++;
     }
 
     @Override
@@ -67,6 +152,6 @@ public class Memo {
 
     @Override
     public String toString() {
-        return content;
+        return content.toString();
     }
 }
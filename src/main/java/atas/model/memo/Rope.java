@@ -0,0 +1,355 @@
+package atas.model.memo;
+
+import static java.util.Objects.checkFromToIndex;
+import static java.util.Objects.checkIndex;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * An immutable sequence of characters stored as a balanced binary tree of short strings.
+ * Appending, inserting and slicing only build new nodes along one or two paths of the tree, and share everything
+ * else with the original, so they take time logarithmic in the length rather than linear. Copies are free, as a
+ * rope is never changed once built.
+ * The tree is kept balanced like an AVL tree: the depths of the two halves of any node differ by at most one.
+ * Short neighbouring leaves are merged as they are joined, so a long run of small appends does not leave behind
+ * a leaf per append.
+ */
+public abstract class Rope implements CharSequence {
+
+    public static final Rope EMPTY = new Leaf("");
+
+    /** The longest text held in a single leaf. */
+    static final int MAX_LEAF_LENGTH = 1024;
+
+    private Rope() {}
+
+    /**
+     * Returns a rope with the characters of {@code text}.
+     */
+    public static Rope of(CharSequence text) {
+        requireNonNull(text);
+        if (text instanceof Rope) {
+            return (Rope) text;
+        }
+        return build(text.toString(), 0, text.length());
+    }
+
+    /**
+     * Builds a balanced rope of the characters of {@code text} from {@code start} to {@code end}.
+     */
+    private static Rope build(String text, int start, int end) {
+        if (end - start <= MAX_LEAF_LENGTH) {
+            return new Leaf(text.substring(start, end));
+        }
+        int middle = start + (end - start) / 2;
+        return new Node(build(text, start, middle), build(text, middle, end));
+    }
+
+    /**
+     * Returns the number of levels of nodes above the deepest leaf.
+     */
+    abstract int depth();
+
+    /**
+     * Gives each of the leaves in the range from {@code start} to {@code end} to {@code action} in order,
+     * cut down to the part in the range.
+     */
+    abstract void forEachChunk(int start, int end, Consumer<String> action);
+
+    /**
+     * Returns the characters from {@code start} to {@code end}, without checking the range.
+     */
+    abstract Rope slice(int start, int end);
+
+    /**
+     * Gives the text of this rope to {@code action} in order, one leaf at a time, without building the whole text.
+     */
+    public void forEachChunk(Consumer<String> action) {
+        requireNonNull(action);
+        forEachChunk(0, length(), action);
+    }
+
+    /**
+     * Writes the text of this rope to {@code writer}, one leaf at a time.
+     *
+     * @throws IOException if {@code writer} fails to write.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        requireNonNull(writer);
+        try {
+            forEachChunk(chunk -> {
+                try {
+                    writer.write(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns a rope with {@code text} added at the end of this rope.
+     */
+    public Rope append(CharSequence text) {
+        return concat(this, of(text));
+    }
+
+    /**
+     * Returns a rope with {@code text} inserted before the character at {@code index}.
+     */
+    public Rope insert(int index, CharSequence text) {
+        return replace(index, index, text);
+    }
+
+    /**
+     * Returns a rope with the characters from {@code start} to {@code end} replaced by {@code text}.
+     */
+    public Rope replace(int start, int end, CharSequence text) {
+        checkFromToIndex(start, end, length());
+        return concat(concat(slice(0, start), of(text)), slice(end, length()));
+    }
+
+    /**
+     * Returns the characters from {@code start} to {@code end}, sharing the leaves of this rope.
+     */
+    @Override
+    public Rope subSequence(int start, int end) {
+        checkFromToIndex(start, end, length());
+        return slice(start, end);
+    }
+
+    /**
+     * Returns true if this rope has no characters.
+     */
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    /**
+     * Returns true if this rope starts with the characters of {@code prefix}.
+     */
+    public boolean startsWith(Rope prefix) {
+        requireNonNull(prefix);
+        if (prefix.length() > length()) {
+            return false;
+        }
+        int[] position = {0};
+        boolean[] isMatch = {true};
+        prefix.forEachChunk(chunk -> {
+            if (isMatch[0]) {
+                isMatch[0] = contentEquals(position[0], chunk);
+                position[0] += chunk.length();
+            }
+        });
+        return isMatch[0];
+    }
+
+    /**
+     * Returns true if the characters of this rope from {@code start} are those of {@code chunk}.
+     */
+    private boolean contentEquals(int start, String chunk) {
+        int[] offset = {0};
+        boolean[] isMatch = {true};
+        forEachChunk(start, start + chunk.length(), part -> {
+            if (isMatch[0]) {
+                isMatch[0] = chunk.startsWith(part, offset[0]);
+                offset[0] += part.length();
+            }
+        });
+        return isMatch[0];
+    }
+
+    /**
+     * Returns the whole text of this rope as a string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length());
+        forEachChunk(builder::append);
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof Rope)) {
+            return false;
+        }
+        Rope otherRope = (Rope) other;
+        return length() == otherRope.length() && startsWith(otherRope);
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {0};
+        forEachChunk(chunk -> {
+            for (int i = 0; i < chunk.length(); i++) {
+                hash[0] = 31 * hash[0] + chunk.charAt(i);
+            }
+        });
+        return hash[0];
+    }
+
+    /**
+     * Returns a rope with the characters of {@code left} followed by those of {@code right}, keeping it balanced.
+     */
+    static Rope concat(Rope left, Rope right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        if (right.isEmpty()) {
+            return left;
+        }
+        if (left instanceof Leaf && right instanceof Leaf
+                && left.length() + right.length() <= MAX_LEAF_LENGTH) {
+            return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+        }
+        if (left.depth() > right.depth() + 1) {
+            Node node = (Node) left;
+            return balance(node.left, concat(node.right, right));
+        }
+        if (right.depth() > left.depth() + 1) {
+            Node node = (Node) right;
+            return balance(concat(left, node.left), node.right);
+        }
+        return new Node(left, right);
+    }
+
+    /**
+     * Joins two balanced ropes whose depths differ by at most two, rotating the result back into balance.
+     */
+    private static Rope balance(Rope left, Rope right) {
+        if (left.depth() > right.depth() + 1) {
+            Node node = (Node) left;
+            if (node.left.depth() >= node.right.depth()) {
+                return new Node(node.left, new Node(node.right, right));
+            }
+            Node inner = (Node) node.right;
+            return new Node(new Node(node.left, inner.left), new Node(inner.right, right));
+        }
+        if (right.depth() > left.depth() + 1) {
+            Node node = (Node) right;
+            if (node.right.depth() >= node.left.depth()) {
+                return new Node(new Node(left, node.left), node.right);
+            }
+            Node inner = (Node) node.left;
+            return new Node(new Node(left, inner.left), new Node(inner.right, node.right));
+        }
+        return new Node(left, right);
+    }
+
+    /**
+     * A piece of text at the bottom of a rope.
+     */
+    private static class Leaf extends Rope {
+        private final String text;
+
+        private Leaf(String text) {
+            this.text = text;
+        }
+
+        @Override
+        int depth() {
+            return 0;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        void forEachChunk(int start, int end, Consumer<String> action) {
+            if (start < end) {
+                action.accept(start == 0 && end == text.length() ? text : text.substring(start, end));
+            }
+        }
+
+        @Override
+        Rope slice(int start, int end) {
+            return start == 0 && end == text.length() ? this : new Leaf(text.substring(start, end));
+        }
+    }
+
+    /**
+     * The join of two ropes.
+     */
+    private static class Node extends Rope {
+        private final Rope left;
+        private final Rope right;
+        private final int length;
+        private final int depth;
+
+        private Node(Rope left, Rope right) {
+            this.left = left;
+            this.right = right;
+            this.length = left.length() + right.length();
+            this.depth = Math.max(left.depth(), right.depth()) + 1;
+        }
+
+        @Override
+        int depth() {
+            return depth;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index, length);
+            Rope rope = this;
+            while (rope instanceof Node) {
+                Node node = (Node) rope;
+                if (index < node.left.length()) {
+                    rope = node.left;
+                } else {
+                    index -= node.left.length();
+                    rope = node.right;
+                }
+            }
+            return rope.charAt(index);
+        }
+
+        @Override
+        void forEachChunk(int start, int end, Consumer<String> action) {
+            int leftLength = left.length();
+            if (start < leftLength) {
+                left.forEachChunk(start, Math.min(end, leftLength), action);
+            }
+            if (end > leftLength) {
+                right.forEachChunk(Math.max(start, leftLength) - leftLength, end - leftLength, action);
+            }
+        }
+
+        @Override
+        Rope slice(int start, int end) {
+            if (start == 0 && end == length) {
+                return this;
+            }
+            int leftLength = left.length();
+            if (end <= leftLength) {
+                return left.slice(start, end);
+            }
+            if (start >= leftLength) {
+                return right.slice(start - leftLength, end - leftLength);
+            }
+            return concat(left.slice(start, leftLength), right.slice(0, end - leftLength));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package atas.model.session;
+
+import java.util.BitSet;
+
+import atas.model.session.exceptions.AttendanceLoadingException;
+
+/**
+ * Reads the saved attendance of a session whose attendance is only loaded when it is first needed.
+ */
+@FunctionalInterface
+public interface AttendanceLoader {
+
+    /**
+     * Sets the bits of the students who were present in {@code presence}, and of the students who participated in
+     * {@code participation}. Students are numbered by their position in the roster when the session was saved.
+     *
+     * @throws AttendanceLoadingException if the saved attendance cannot be read.
+     */
+    void load(BitSet presence, BitSet participation);
+}
@@ -73,6 +73,10 @@ public class Attributes {
         return studentName.toString();
     }
 
+    public Name getStudentName() {
+        return studentName;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
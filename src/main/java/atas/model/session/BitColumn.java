@@ -0,0 +1,330 @@
+package atas.model.session;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growable column of boolean flags, packed 64 to a {@code long} word.
+ * Flag {@code i} is stored in bit {@code i % 64} of word {@code i / 64}. Bits beyond {@link #size()}
+ * are always kept cleared so that whole words can be counted or compared directly.
+ * Copies share their words until either of them is written to, so taking a copy is cheap.
+ */
+public class BitColumn {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    private long[] words;
+    private int size;
+    // True if the words may also be referenced by a copy, in which case they are copied before being written to.
+    private boolean shared;
+
+    /**
+     * Creates an empty {@code BitColumn}.
+     */
+    public BitColumn() {
+        this(0);
+    }
+
+    /**
+     * Creates a {@code BitColumn} of {@code size} cleared flags.
+     */
+    public BitColumn(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative column size: " + size);
+        }
+        this.words = new long[wordsFor(size)];
+        this.size = size;
+    }
+
+    private BitColumn(long[] words, int size, boolean shared) {
+        this.words = words;
+        this.size = size;
+        this.shared = shared;
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + BITS_PER_WORD - 1) >>> ADDRESS_BITS_PER_WORD;
+    }
+
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >>> ADDRESS_BITS_PER_WORD;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the flag at {@code index}.
+     */
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[wordIndex(index)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the flag at {@code index} to {@code value}.
+     */
+    public void set(int index, boolean value) {
+        checkIndex(index);
+        ensureOwned();
+        if (value) {
+            words[wordIndex(index)] |= 1L << index;
+        } else {
+            words[wordIndex(index)] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Inverts the flag at {@code index}.
+     */
+    public void flip(int index) {
+        checkIndex(index);
+        ensureOwned();
+        words[wordIndex(index)] ^= 1L << index;
+    }
+
+    /**
+     * Inverts every flag from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive),
+     * a whole 64-bit word at a time.
+     *
+     * @return The change in the number of set flags caused by the flip.
+     */
+    public int flip(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return 0;
+        }
+        ensureOwned();
+
+        int startWord = wordIndex(fromIndex);
+        int endWord = wordIndex(toIndex - 1);
+        int delta = 0;
+        for (int i = startWord; i <= endWord; i++) {
+            long mask = WORD_MASK;
+            if (i == startWord) {
+                mask &= WORD_MASK << fromIndex;
+            }
+            if (i == endWord) {
+                mask &= WORD_MASK >>> -toIndex;
+            }
+            int setBefore = Long.bitCount(words[i] & mask);
+            words[i] ^= mask;
+            delta += Long.bitCount(mask) - 2 * setBefore;
+        }
+        return delta;
+    }
+
+    /**
+     * Inverts every flag from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive) that is also set in
+     * {@code mask}, a whole 64-bit word at a time. Flags beyond the end of {@code mask} are left untouched.
+     *
+     * @return The change in the number of set flags caused by the flip.
+     */
+    public int flip(int fromIndex, int toIndex, BitColumn mask) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return 0;
+        }
+        ensureOwned();
+
+        int startWord = wordIndex(fromIndex);
+        int endWord = wordIndex(toIndex - 1);
+        int delta = 0;
+        for (int i = startWord; i <= endWord; i++) {
+            long wordMask = i < mask.words.length ? mask.words[i] : 0L;
+            if (i == startWord) {
+                wordMask &= WORD_MASK << fromIndex;
+            }
+            if (i == endWord) {
+                wordMask &= WORD_MASK >>> -toIndex;
+            }
+            int setBefore = Long.bitCount(words[i] & wordMask);
+            words[i] ^= wordMask;
+            delta += Long.bitCount(wordMask) - 2 * setBefore;
+        }
+        return delta;
+    }
+
+    /**
+     * Grows the column with cleared flags until it holds at least {@code minSize} flags.
+     */
+    public void ensureSize(int minSize) {
+        if (minSize > size) {
+            ensureCapacity(minSize);
+            size = minSize;
+        }
+    }
+
+    /**
+     * Returns a new column whose flag {@code i} is the flag at {@code indices[i]} of this column.
+     * Indices past the end of this column read as cleared.
+     */
+    public BitColumn gather(int[] indices) {
+        BitColumn result = new BitColumn(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            if (index < size && (words[wordIndex(index)] & (1L << index)) != 0) {
+                result.words[wordIndex(i)] |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends a flag with the given {@code value} at the end of the column.
+     */
+    public void add(boolean value) {
+        ensureCapacity(size + 1);
+        size++;
+        set(size - 1, value);
+    }
+
+    /**
+     * Inserts a flag with the given {@code value} at {@code index}, shifting all later flags up by one.
+     */
+    public void add(int index, boolean value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        ensureOwned();
+        int lastWord = wordIndex(size);
+        int startWord = wordIndex(index);
+        for (int i = lastWord; i > startWord; i--) {
+            words[i] = (words[i] << 1) | (words[i - 1] >>> (BITS_PER_WORD - 1));
+        }
+        long lowerMask = (1L << index) - 1;
+        long word = words[startWord];
+        words[startWord] = (word & lowerMask) | ((word & ~lowerMask) << 1);
+        size++;
+        set(index, value);
+    }
+
+    /**
+     * Removes the flag at {@code index}, shifting all later flags down by one.
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        ensureOwned();
+        int lastWord = wordIndex(size - 1);
+        int startWord = wordIndex(index);
+        long lowerMask = (1L << index) - 1;
+        long word = words[startWord];
+        words[startWord] = (word & lowerMask) | ((word >>> 1) & ~lowerMask);
+        for (int i = startWord; i < lastWord; i++) {
+            words[i] |= words[i + 1] << (BITS_PER_WORD - 1);
+            words[i + 1] >>>= 1;
+        }
+        size--;
+    }
+
+    /**
+     * Returns the index of the first set flag at or after {@code fromIndex}, or -1 if there is none.
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+        }
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int i = wordIndex(fromIndex);
+        long word = words[i] & (WORD_MASK << fromIndex);
+        while (word == 0) {
+            if (++i == wordsFor(size)) {
+                return -1;
+            }
+            word = words[i];
+        }
+        return i * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the number of flags that are set.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < wordsFor(size); i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Removes all flags from the column.
+     */
+    public void clear() {
+        words = new long[0];
+        size = 0;
+        shared = false;
+    }
+
+    /**
+     * Returns a copy of this column that shares its words until either column is written to.
+     */
+    public BitColumn getCopy() {
+        shared = true;
+        return new BitColumn(words, size, true);
+    }
+
+    private void ensureCapacity(int bits) {
+        int required = wordsFor(bits);
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, words.length * 2));
+            shared = false;
+        }
+    }
+
+    private void ensureOwned() {
+        if (shared) {
+            words = Arrays.copyOf(words, words.length);
+            shared = false;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + "-" + toIndex + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof BitColumn)) {
+            return false;
+        }
+
+        BitColumn otherColumn = (BitColumn) other;
+        return size == otherColumn.size
+                && Arrays.equals(words, 0, wordsFor(size), otherColumn.words, 0, wordsFor(size));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < wordsFor(size); i++) {
+            result = 31 * result + Long.hashCode(words[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.append(get(i) ? '1' : '0');
+        }
+        return builder.toString();
+    }
+}
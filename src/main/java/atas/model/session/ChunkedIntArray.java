@@ -0,0 +1,119 @@
+package atas.model.session;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growable array of {@code int} values, stored in fixed-size chunks that are shared between copies.
+ * Copying the array only copies the table of chunks. A chunk is copied the first time it is written to after it
+ * has been shared, so a copy costs memory only for the chunks that are changed afterwards.
+ */
+public class ChunkedIntArray {
+
+    private static final int CHUNK_BITS = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // Shared by every chunk that has not been written to yet. Never written to.
+    private static final int[] ZERO_CHUNK = new int[CHUNK_SIZE];
+
+    private int[][] chunks;
+    private boolean[] owned;
+    private int size;
+
+    /**
+     * Creates an empty {@code ChunkedIntArray}.
+     */
+    public ChunkedIntArray() {
+        this.chunks = new int[0][];
+        this.owned = new boolean[0];
+        this.size = 0;
+    }
+
+    private ChunkedIntArray(ChunkedIntArray toCopy) {
+        this.chunks = Arrays.copyOf(toCopy.chunks, toCopy.chunks.length);
+        this.owned = new boolean[chunks.length];
+        this.size = toCopy.size;
+        Arrays.fill(toCopy.owned, false);
+    }
+
+    /**
+     * Returns a copy that shares all chunks with this array until either of them is written to.
+     */
+    public ChunkedIntArray getCopy() {
+        return new ChunkedIntArray(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at {@code index}.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    /**
+     * Adds {@code delta} to the value at {@code index}.
+     */
+    public void add(int index, int delta) {
+        checkIndex(index);
+        writableChunk(index >>> CHUNK_BITS)[index & CHUNK_MASK] += delta;
+    }
+
+    /**
+     * Grows the array with zeroes until it holds at least {@code minSize} values.
+     */
+    public void ensureSize(int minSize) {
+        if (minSize <= size) {
+            return;
+        }
+        int required = (minSize + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+        if (required > chunks.length) {
+            int capacity = Math.max(required, chunks.length * 2);
+            int oldLength = chunks.length;
+            chunks = Arrays.copyOf(chunks, capacity);
+            owned = Arrays.copyOf(owned, capacity);
+            Arrays.fill(chunks, oldLength, capacity, ZERO_CHUNK);
+        }
+        size = minSize;
+    }
+
+    /**
+     * Resets every value to zero, keeping the size of the array.
+     */
+    public void clearValues() {
+        Arrays.fill(chunks, ZERO_CHUNK);
+        Arrays.fill(owned, false);
+    }
+
+    /**
+     * Returns a new array whose value {@code i} is the value at {@code indices[i]} of this array.
+     */
+    public ChunkedIntArray gather(int[] indices) {
+        ChunkedIntArray result = new ChunkedIntArray();
+        result.ensureSize(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            int value = get(indices[i]);
+            if (value != 0) {
+                result.add(i, value);
+            }
+        }
+        return result;
+    }
+
+    private int[] writableChunk(int chunkIndex) {
+        if (!owned[chunkIndex]) {
+            chunks[chunkIndex] = Arrays.copyOf(chunks[chunkIndex], CHUNK_SIZE);
+            owned[chunkIndex] = true;
+        }
+        return chunks[chunkIndex];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package atas.model.session;
 
 import java.util.List;
 
+import atas.commons.core.index.Index;
 import atas.model.student.Student;
 import javafx.collections.ObservableList;
 
@@ -23,6 +24,16 @@ public interface ReadOnlySessionList {
 
     ReadOnlySessionList getCopy();
 
+    /**
+     * Returns the number of sessions in which the student at {@code studentId} of the student list was present.
+     */
+    int getStudentPresenceCount(Index studentId);
+
+    /**
+     * Returns the number of sessions in which the student at {@code studentId} of the student list participated.
+     */
+    int getStudentParticipationCount(Index studentId);
+
     /**
      * Updates the current student list with the given list.
      */
@@ -1,29 +1,49 @@
 package atas.model.session;
 
-import static atas.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 
 import atas.commons.core.index.Index;
-import atas.model.statistics.ParticipationStatistics;
-import atas.model.statistics.PresenceStatistics;
+import atas.model.statistics.AttendanceTally;
 import atas.model.statistics.SessionStatistics;
+import atas.model.statistics.StatisticsRegistry;
+import atas.model.student.Matriculation;
 import atas.model.student.Name;
 import atas.model.student.Student;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
 
 /**
  * Represents a particular session at a particular date.
  * Each {@code Session} contains a list of details for each student in ATAS for the TA to keep track of.
+ * The presence and participation of the students are stored column-wise as packed bits keyed by the slots of a
+ * {@code SessionRoster}, which is shared by all sessions of a {@code SessionList}. They are exposed as a read-only
+ * list of {@code Attributes} in student list order that is materialized on access.
+ * A session read from storage may have its attendance loaded only when it is first needed. Until then, only its
+ * presence and participation counts are known, which is enough for its statistics.
  */
 public class Session implements Comparable<Session> {
 
+    private static final Presence PRESENT = new Presence(true);
+    private static final Presence ABSENT = new Presence(false);
+    private static final Participation PARTICIPATED = new Participation(true);
+    private static final Participation NOT_PARTICIPATED = new Participation(false);
+
     private final SessionName sessionName;
     private final SessionDate sessionDate;
-    private final ObservableList<Attributes> attributeList;
+    private final AttributesView attributeList;
+    private SessionRoster roster;
+    private BitColumn presenceColumn;
+    private BitColumn participationColumn;
+    private int presenceCount;
+    private int participationCount;
+    // Reads the attendance when it is first needed, or null once it has been read.
+    private AttendanceLoader attendanceLoader;
+    // Where the attendance was loaded from, for as long as it is unchanged since, or null.
+    private AttendanceLoader attendanceSource;
     private Index sessionIndex;
     private SessionStatistics sessionStats;
 
@@ -33,7 +53,10 @@ public class Session implements Comparable<Session> {
     public Session(SessionName sessionName, SessionDate sessionDate) {
         this.sessionName = sessionName;
         this.sessionDate = sessionDate;
-        this.attributeList = FXCollections.observableArrayList();
+        this.roster = new SessionRoster();
+        this.presenceColumn = new BitColumn();
+        this.participationColumn = new BitColumn();
+        this.attributeList = new AttributesView();
         this.sessionIndex = Index.fromZeroBased(0);
         this.sessionStats = new SessionStatistics();
     }
@@ -44,31 +67,213 @@ public class Session implements Comparable<Session> {
     public Session(SessionName sessionName, SessionDate sessionDate, List<Attributes> attributeList) {
         this.sessionName = sessionName;
         this.sessionDate = sessionDate;
-        this.attributeList = FXCollections.observableArrayList();
-        this.attributeList.addAll(attributeList);
+        this.roster = new SessionRoster();
+        this.presenceColumn = new BitColumn(attributeList.size());
+        this.participationColumn = new BitColumn(attributeList.size());
+        for (int i = 0; i < attributeList.size(); i++) {
+            Attributes attributes = attributeList.get(i);
+            roster.addRow(attributes.getStudentName());
+            presenceColumn.set(i, attributes.getPresenceStatus());
+            participationColumn.set(i, attributes.getParticipationStatus());
+        }
+        this.presenceCount = presenceColumn.cardinality();
+        this.participationCount = participationColumn.cardinality();
+        this.attributeList = new AttributesView();
         this.sessionIndex = Index.fromZeroBased(0);
         this.sessionStats = new SessionStatistics(attributeList.size());
+        countAttendance(1);
+    }
+
+    /**
+     * Creates a session keyed by {@code roster} whose attendance is read by {@code attendanceLoader} when it is
+     * first needed. {@code presenceCount} and {@code participationCount} must be the counts of the saved attendance,
+     * and the attendance counts of {@code roster} must already include this session.
+     */
+    public Session(SessionName sessionName, SessionDate sessionDate, SessionRoster roster,
+                   int presenceCount, int participationCount, AttendanceLoader attendanceLoader) {
+        requireNonNull(roster);
+        requireNonNull(attendanceLoader);
+        this.sessionName = sessionName;
+        this.sessionDate = sessionDate;
+        this.roster = roster;
+        this.presenceColumn = new BitColumn();
+        this.participationColumn = new BitColumn();
+        this.presenceCount = presenceCount;
+        this.participationCount = participationCount;
+        this.attendanceLoader = attendanceLoader;
+        this.attendanceSource = attendanceLoader;
+        this.attributeList = new AttributesView();
+        this.sessionIndex = Index.fromZeroBased(0);
+        this.sessionStats = new SessionStatistics(roster.size());
+    }
+
+    /**
+     * Creates a session keyed by {@code roster}, with the attendance of each row of the roster given by the bit of
+     * that row in {@code presence} and {@code participation}. The attendance is added to the counts of
+     * {@code roster}. Used to build sessions in bulk from decoded data, without going through {@code Attributes}.
+     */
+    public Session(SessionName sessionName, SessionDate sessionDate, SessionRoster roster,
+                   BitSet presence, BitSet participation) {
+        requireNonNull(roster);
+        requireNonNull(presence);
+        requireNonNull(participation);
+        this.sessionName = sessionName;
+        this.sessionDate = sessionDate;
+        this.roster = roster;
+        this.presenceColumn = toSlotColumn(presence);
+        this.participationColumn = toSlotColumn(participation);
+        this.presenceCount = presenceColumn.cardinality();
+        this.participationCount = participationColumn.cardinality();
+        this.attributeList = new AttributesView();
+        this.sessionIndex = Index.fromZeroBased(0);
+        this.sessionStats = new SessionStatistics(roster.size());
+        countAttendance(1);
     }
 
+    private Session(Session toCopy, SessionRoster roster) {
+        this.sessionName = toCopy.sessionName;
+        this.sessionDate = toCopy.sessionDate;
+        this.roster = roster;
+        this.presenceColumn = toCopy.presenceColumn.getCopy();
+        this.participationColumn = toCopy.participationColumn.getCopy();
+        this.presenceCount = toCopy.presenceCount;
+        this.participationCount = toCopy.participationCount;
+        this.attendanceLoader = toCopy.attendanceLoader;
+        this.attendanceSource = toCopy.attendanceSource;
+        this.attributeList = new AttributesView();
+        this.sessionIndex = Index.fromZeroBased(0);
+        this.sessionStats = new SessionStatistics(roster.size());
+    }
+
+    /**
+     * Returns a read-only view of the attributes of the students in this session.
+     */
     public ObservableList<Attributes> getAttributeList() {
         return this.attributeList;
     }
 
     public Session getCopy() {
-        List<Attributes> attributesListCopy = new ArrayList<>();
-        for (Attributes a : attributeList) {
-            attributesListCopy.add(a.getCopy());
+        return new Session(this, roster.getCopy());
+    }
+
+    /**
+     * Returns a copy of this session that is keyed by {@code roster}, which must be a copy of the roster of
+     * this session.
+     */
+    Session getCopy(SessionRoster roster) {
+        return new Session(this, roster);
+    }
+
+    SessionRoster getRoster() {
+        return roster;
+    }
+
+    /**
+     * Returns true if the attendance of this session is in memory.
+     */
+    public boolean isAttendanceLoaded() {
+        return attendanceLoader == null;
+    }
+
+    /**
+     * Returns the loader that the attendance of this session was loaded from, or is to be loaded from,
+     * if the attendance has not been changed since. Storage can then keep the saved attendance instead of saving it
+     * again.
+     */
+    public Optional<AttendanceLoader> getAttendanceSource() {
+        return Optional.ofNullable(attendanceSource);
+    }
+
+    /**
+     * Reads the attendance of this session if it has not been read yet.
+     * The saved attendance is numbered by row, so this must happen before any row of the roster is removed.
+     *
+     * @throws atas.model.session.exceptions.AttendanceLoadingException if the attendance cannot be read.
+     */
+    void loadAttendance() {
+        if (attendanceLoader == null) {
+            return;
         }
-        return new Session(sessionName.getCopy(), sessionDate.getCopy(), attributesListCopy);
+        BitSet presence = new BitSet();
+        BitSet participation = new BitSet();
+        attendanceLoader.load(presence, participation);
+
+        presenceColumn = toSlotColumn(presence);
+        participationColumn = toSlotColumn(participation);
+        presenceCount = presenceColumn.cardinality();
+        participationCount = participationColumn.cardinality();
+        attendanceLoader = null;
     }
+
+    /**
+     * Returns a column keyed by the slots of the roster with the bits of {@code rowBits}, which are numbered by row.
+     * Bits past the last row are ignored.
+     */
+    private BitColumn toSlotColumn(BitSet rowBits) {
+        BitColumn column = new BitColumn(roster.getSlotCount());
+        for (int row = rowBits.nextSetBit(0); row >= 0 && row < roster.size(); row = rowBits.nextSetBit(row + 1)) {
+            column.set(roster.getSlot(row), true);
+        }
+        return column;
+    }
+
+    /**
+     * Re-keys this session by the slots of {@code target}, matching students by row.
+     * If {@code target} has no students yet, it is first filled with the students of this session.
+     * The attendance of this session is not added to the counts of {@code target}; see {@link #countAttendance(int)}.
+     */
+    void bindTo(SessionRoster target) {
+        requireNonNull(target);
+        if (target == roster) {
+            return;
+        }
+        loadAttendance();
+        if (target.size() == 0) {
+            for (int row = 0; row < roster.size(); row++) {
+                Student student = roster.getStudent(row);
+                if (student == null && roster.getName(row) == null) {
+                    target.addRow(roster.getMatriculation(row));
+                } else if (student == null) {
+                    target.addRow(roster.getName(row));
+                } else {
+                    target.addRow(student);
+                }
+            }
+        }
+
+        BitColumn presence = new BitColumn(target.getSlotCount());
+        BitColumn participation = new BitColumn(target.getSlotCount());
+        int rows = Math.min(roster.size(), target.size());
+        if (rows < roster.size()) {
+            attendanceSource = null;
+        }
+        for (int row = 0; row < rows; row++) {
+            int slot = target.getSlot(row);
+            presence.set(slot, getPresenceStatus(row));
+            participation.set(slot, getParticipationStatus(row));
+        }
+        roster = target;
+        presenceColumn = presence;
+        participationColumn = participation;
+        presenceCount = presence.cardinality();
+        participationCount = participation.cardinality();
+    }
+
     /**
      * Toggles student's presence status. Finds the correct corresponding attribute
      * using the given index.
      */
     public void toggleStudentPresence(Index studentId) {
         requireNonNull(studentId);
-        Attributes attributes = attributeList.get(studentId.getZeroBased());
-        attributeList.set(studentId.getZeroBased(), attributes.togglePresence());
+        int index = studentId.getZeroBased();
+        int slot = roster.getSlot(index);
+        loadAttendance();
+        attendanceSource = null;
+        ensureColumnsCoverRoster();
+        int delta = presenceColumn.flip(slot, slot + 1);
+        presenceCount += delta;
+        roster.adjustPresenceCount(slot, delta);
+        attributeList.fireUpdate(index, index + 1);
     }
 
     /**
@@ -77,106 +282,193 @@ public class Session implements Comparable<Session> {
      */
     public void toggleStudentParticipation(Index studentId) {
         requireNonNull(studentId);
-        Attributes attributes = attributeList.get(studentId.getZeroBased());
-        attributeList.set(studentId.getZeroBased(), attributes.toggleParticipation());
+        int index = studentId.getZeroBased();
+        int slot = roster.getSlot(index);
+        loadAttendance();
+        attendanceSource = null;
+        ensureColumnsCoverRoster();
+        int delta = participationColumn.flip(slot, slot + 1);
+        participationCount += delta;
+        roster.adjustParticipationCount(slot, delta);
+        attributeList.fireUpdate(index, index + 1);
     }
 
     /**
-     * Updates the session after the deletion of a student (with a given student ID)
+     * Updates the session after the student holding {@code slot} has been removed from the roster.
+     * Only the bits of that slot are cleared; no other student is moved.
      */
-    public void updateSessionAfterDelete(Index studentId, List<Student> masterList) {
-        requireAllNonNull(studentId, masterList);
-        // shift the values down by 1, starting from deleted student ID
-        for (int i = studentId.getZeroBased(); i < masterList.size(); i++) {
-            Attributes temp = attributeList.get(i + 1);
-            attributeList.set(i, temp);
+    void updateSessionAfterDelete(int slot) {
+        assert attendanceLoader == null;
+        // Every later row has moved up by one, so the saved attendance no longer lines up
+        attendanceSource = null;
+        if (slot < presenceColumn.size() && presenceColumn.get(slot)) {
+            presenceColumn.set(slot, false);
+            presenceCount--;
+        }
+        if (slot < participationColumn.size() && participationColumn.get(slot)) {
+            participationColumn.set(slot, false);
+            participationCount--;
         }
-        attributeList.remove(masterList.size()); // remove last key-value pair from hashmap
         refreshSessionStatistics();
     }
 
     /**
-     * Updates the session after adding a student
+     * Rebuilds the attendance columns after the roster has been compacted.
+     *
+     * @param oldSlots The slot held by each row before compaction, as returned by {@link SessionRoster#compact()}.
      */
-    public void updateSessionAfterAdd(List<Student> masterList) {
-        requireAllNonNull(masterList);
-        Name studentName = masterList.get(masterList.size() - 1).getName();
-        attributeList.add(masterList.size() - 1, new Attributes(studentName));
-        refreshSessionStatistics();
+    void compactColumns(int[] oldSlots) {
+        presenceColumn = presenceColumn.gather(oldSlots);
+        participationColumn = participationColumn.gather(oldSlots);
     }
 
     /**
-     * Updates the participation given a range of index.
+     * Toggles the participation of every student in the given range of index.
+     * The whole range is flipped word by word and reported as a single list change.
      */
     public void updateParticipation(IndexRange indexRange) {
         requireNonNull(indexRange);
-
-        // find students that have index in range
-        for (int i = indexRange.getZeroBasedLower(); i <= indexRange.getZeroBasedUpper(); i++) {
-            Attributes temp = attributeList.get(i);
-            // exclude invalid index
-            if (temp != null) {
-                toggleStudentParticipation(Index.fromZeroBased(i));
-            }
+        int from = indexRange.getZeroBasedLower();
+        int to = indexRange.getZeroBasedUpper() + 1;
+        int fromSlot = roster.getSlot(from);
+        int toSlot = roster.getSlot(to - 1) + 1;
+
+        loadAttendance();
+        attendanceSource = null;
+        ensureColumnsCoverRoster();
+        participationCount += participationColumn.flip(fromSlot, toSlot, roster.getLiveSlots());
+        for (int row = from; row < to; row++) {
+            int slot = roster.getSlot(row);
+            roster.adjustParticipationCount(slot, participationColumn.get(slot) ? 1 : -1);
         }
+        attributeList.fireUpdate(from, to);
         refreshSessionStatistics();
     }
 
     /**
-     * Updates the presence given a range of index.
+     * Toggles the presence of every student in the given range of index.
+     * The whole range is flipped word by word and reported as a single list change.
      */
     public void updatePresence(IndexRange indexRange) {
         requireNonNull(indexRange);
-
-        // find students that have index in range
-        for (int i = indexRange.getZeroBasedLower(); i <= indexRange.getZeroBasedUpper(); i++) {
-            Attributes temp = attributeList.get(i);
-
-            // exclude invalid index
-            if (temp != null) {
-                toggleStudentPresence(Index.fromZeroBased(i));
-            }
+        int from = indexRange.getZeroBasedLower();
+        int to = indexRange.getZeroBasedUpper() + 1;
+        int fromSlot = roster.getSlot(from);
+        int toSlot = roster.getSlot(to - 1) + 1;
+
+        loadAttendance();
+        attendanceSource = null;
+        ensureColumnsCoverRoster();
+        presenceCount += presenceColumn.flip(fromSlot, toSlot, roster.getLiveSlots());
+        for (int row = from; row < to; row++) {
+            int slot = roster.getSlot(row);
+            roster.adjustPresenceCount(slot, presenceColumn.get(slot) ? 1 : -1);
         }
+        attributeList.fireUpdate(from, to);
         refreshSessionStatistics();
     }
 
     /**
-     * Recalculates the participation and presence statistics of this session.
+     * Adds ({@code sign} of 1) or removes ({@code sign} of -1) the attendance of this session to or from the
+     * per-student counts kept by its roster. Called when the session joins or leaves a {@code SessionList}.
+     */
+    void countAttendance(int sign) {
+        loadAttendance();
+        roster.countAttendance(presenceColumn, participationColumn, sign);
+    }
+
+    /**
+     * Grows the attendance columns to cover every slot of the roster.
+     * Students added to the roster after this session was last written to read as absent until then.
+     */
+    private void ensureColumnsCoverRoster() {
+        presenceColumn.ensureSize(roster.getSlotCount());
+        participationColumn.ensureSize(roster.getSlotCount());
+    }
+
+    /**
+     * Recalculates all registered statistics of this session from its attendance counts in one pass.
      */
     public void refreshSessionStatistics() {
-        sessionStats.replaceStatistics(
-                new ParticipationStatistics().getSessionStatistics(this),
-                new PresenceStatistics().getSessionStatistics(this));
+        sessionStats.replaceAll(StatisticsRegistry.aggregate(
+                new AttendanceTally(presenceCount, participationCount, getNumberOfStudents())));
     }
 
     /**
-     * Initializes the studentList using the given masterList.
+     * Initializes the session with the students in {@code masterList} that are not yet in its roster.
      */
     public void initializeSession(List<Student> masterList) {
-        for (int i = 0; i < masterList.size(); i++) {
-            attributeList.add(new Attributes(masterList.get(i).getName()));
+        requireNonNull(masterList);
+        for (int i = roster.size(); i < masterList.size(); i++) {
+            roster.addRow(masterList.get(i));
         }
+    }
+
+    /**
+     * Returns the name of the student at the zero-based {@code index}, without loading the attendance.
+     */
+    public Name getStudentName(int index) {
+        return roster.getName(index);
+    }
+
+    /**
+     * Returns the matriculation number of the student at the zero-based {@code index}, or null if the student is
+     * only known by name. The attendance is not loaded.
+     */
+    public Matriculation getStudentMatriculation(int index) {
+        return roster.getMatriculation(index);
+    }
 
+    /**
+     * Clears the presence and participation of all students in this session.
+     * The students themselves are removed from the roster by the owning {@code SessionList}.
+     */
+    void clearAttendance() {
+        attendanceLoader = null;
+        attendanceSource = null;
+        presenceColumn.clear();
+        participationColumn.clear();
+        presenceCount = 0;
+        participationCount = 0;
     }
 
     /**
-     * Updates the student name after editing a student's name.
+     * Returns the number of students in this session.
      */
-    public void updateAttributeName(Name name, int index) {
-        Attributes original = attributeList.get(index);
-        attributeList.set(index, original.setName(name));
+    public int getNumberOfStudents() {
+        return roster.size();
     }
 
-    public String returnStudentNameStringByIndex(int index) throws Exception {
-        return attributeList.get(index).getName();
+    /**
+     * Returns the presence status of the student at the zero-based {@code index}.
+     */
+    public boolean getPresenceStatus(int index) {
+        loadAttendance();
+        int slot = roster.getSlot(index);
+        return slot < presenceColumn.size() && presenceColumn.get(slot);
     }
 
-    public void resetAttributeList() {
-        setAttributeList(new ArrayList<>());
+    /**
+     * Returns the participation status of the student at the zero-based {@code index}.
+     */
+    public boolean getParticipationStatus(int index) {
+        loadAttendance();
+        int slot = roster.getSlot(index);
+        return slot < participationColumn.size() && participationColumn.get(slot);
     }
 
-    private void setAttributeList(List<Attributes> attributeList) {
-        this.attributeList.setAll(attributeList);
+    /**
+     * Returns the number of students who are present in this session.
+     */
+    public int getPresenceCount() {
+        return presenceCount;
+    }
+
+    /**
+     * Returns the number of students who have participated in this session.
+     */
+    public int getParticipationCount() {
+        return participationCount;
     }
 
     /**
@@ -224,4 +516,37 @@ public class Session implements Comparable<Session> {
     public String toString() {
         return sessionName.toString() + " @ " + sessionDate.toString();
     }
+
+    /**
+     * A read-only {@code ObservableList} over the packed attendance columns of this session.
+     * Each {@code Attributes} is created on access, so no per-student objects are kept by the session.
+     * Only attendance changes made through this session are reported to listeners; students being added, removed
+     * or renamed in the shared roster are not, and callers re-read the list after such changes.
+     */
+    private class AttributesView extends ObservableListBase<Attributes> {
+
+        @Override
+        public Attributes get(int index) {
+            loadAttendance();
+            int slot = roster.getSlot(index);
+            boolean isPresent = slot < presenceColumn.size() && presenceColumn.get(slot);
+            boolean hasParticipated = slot < participationColumn.size() && participationColumn.get(slot);
+            return new Attributes(isPresent ? PRESENT : ABSENT,
+                    hasParticipated ? PARTICIPATED : NOT_PARTICIPATED,
+                    roster.getNameOfSlot(slot));
+        }
+
+        @Override
+        public int size() {
+            return roster.size();
+        }
+
+        private void fireUpdate(int from, int to) {
+            beginChange();
+            for (int i = from; i < to; i++) {
+                nextUpdate(i);
+            }
+            endChange();
+        }
+    }
 }
@@ -4,24 +4,32 @@ import static atas.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import atas.commons.core.index.Index;
 import atas.model.session.exceptions.DuplicateSessionException;
 import atas.model.session.exceptions.SessionNotFoundException;
-import atas.model.student.Name;
+import atas.model.student.Matriculation;
 import atas.model.student.Student;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 /**
  * Represents a collection of all the sessions in the semester.
+ * Sessions are kept in date order, and are indexed by session name so that they can be looked up without a scan.
  */
 public class SessionList implements Iterable<Session>, ReadOnlySessionList {
 
     private final ObservableList<Session> sessions;
+    private final Map<SessionName, Session> sessionIndex = new HashMap<>();
     private final ObservableList<Student> internalStudentList;
+    private SessionRoster roster;
+    private int version;
 
     /**
      * Creates an SessionList using the sessions in the {@code list}
@@ -29,6 +37,7 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
     public SessionList() {
         sessions = FXCollections.observableArrayList();
         internalStudentList = FXCollections.observableArrayList();
+        roster = new SessionRoster();
     }
 
     /**
@@ -37,6 +46,21 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
     public SessionList(List<Student> list) {
         sessions = FXCollections.observableArrayList();
         internalStudentList = FXCollections.observableArrayList(list);
+        roster = new SessionRoster(list);
+    }
+
+    /**
+     * Creates a SessionList of {@code sessions} in bulk. Sessions keyed by {@code roster} must already be included
+     * in its attendance counts, while other sessions are bound to it and counted.
+     * Duplicates are found with a hash of the session names, and the sessions are sorted once.
+     *
+     * @throws DuplicateSessionException if two sessions have the same name.
+     */
+    public SessionList(SessionRoster roster, List<Session> sessions) {
+        this();
+        requireAllNonNull(roster, sessions);
+        this.roster = roster;
+        setSessions(sessions);
     }
 
     /**
@@ -54,8 +78,15 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
     public void resetData(ReadOnlySessionList newData) {
         requireNonNull(newData);
 
-        setSessions(newData.getCopy().getSessions());
-        setStudents(newData.getInternalStudentList());
+        version++;
+        beforeStructuralChange();
+        ReadOnlySessionList copy = newData.getCopy();
+        List<Session> copiedSessions = copy.getSessions();
+        roster = copiedSessions.isEmpty()
+                ? new SessionRoster(copy.getInternalStudentList())
+                : copiedSessions.get(0).getRoster();
+        setSessions(copiedSessions);
+        setStudents(copy.getInternalStudentList());
     }
 
     /**
@@ -64,25 +95,65 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
      */
     private void setSessions(List<Session> sessions) {
         requireAllNonNull(sessions);
-        if (!sessionsAreUnique(sessions)) {
-            throw new DuplicateSessionException();
+        Map<SessionName, Session> newSessionIndex = new HashMap<>();
+        for (Session session : sessions) {
+            if (newSessionIndex.putIfAbsent(session.getSessionName(), session) != null) {
+                throw new DuplicateSessionException();
+            }
+        }
+        for (Session session : sessions) {
+            if (session.getRoster() != roster) {
+                session.bindTo(roster);
+                session.countAttendance(1);
+            }
         }
-        this.sessions.setAll(sessions);
-        FXCollections.sort(this.sessions);
+        List<Session> sortedSessions = new ArrayList<>(sessions);
+        Collections.sort(sortedSessions);
+        this.sessions.setAll(sortedSessions);
+        sessionIndex.clear();
+        sessionIndex.putAll(newSessionIndex);
     }
 
     /**
-     * Returns true if {@code sessions} contains only unique sessions.
+     * Inserts {@code session} after every session that does not come after it in date order.
+     * The position is found by binary search, so the list stays sorted without being re-sorted.
      */
-    private boolean sessionsAreUnique(List<Session> sessions) {
-        for (int i = 0; i < sessions.size() - 1; i++) {
-            for (int j = i + 1; j < sessions.size(); j++) {
-                if (sessions.get(i).isSameSession(sessions.get(j))) {
-                    return false;
-                }
+    private void insertSorted(Session session) {
+        int low = 0;
+        int high = sessions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sessions.get(mid).compareTo(session) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return true;
+        sessions.add(low, session);
+        sessionIndex.put(session.getSessionName(), session);
+    }
+
+    /**
+     * Removes {@code session} from the list, finding its date by binary search.
+     */
+    private void removeSorted(Session session) {
+        int low = 0;
+        int high = sessions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sessions.get(mid).compareTo(session) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < sessions.size(); i++) {
+            if (sessions.get(i) == session) {
+                sessions.remove(i);
+                break;
+            }
+        }
+        sessionIndex.remove(session.getSessionName());
     }
 
     private void setStudents(List<Student> students) {
@@ -93,9 +164,12 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
     @Override
     public SessionList getCopy() {
         SessionList copy = new SessionList();
+        copy.roster = roster.getCopy();
         List<Session> sessionListCopy = new ArrayList<>();
         for (Session s : sessions) {
-            sessionListCopy.add(s.getCopy());
+            Session sessionCopy = s.getCopy(copy.roster);
+            sessionListCopy.add(sessionCopy);
+            copy.sessionIndex.put(sessionCopy.getSessionName(), sessionCopy);
         }
         copy.sessions.addAll(sessionListCopy);
         copy.internalStudentList.addAll(internalStudentList);
@@ -104,22 +178,104 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
 
     /**
      * Replaces the current list with the given one.
+     * Each row of the roster is bound to the student in the same row of {@code list}, new students at the end of
+     * {@code list} are given fresh slots and students beyond the end of {@code list} are removed. Only the last of
+     * these touches the sessions.
+     * Rows restored from storage that are known only by matriculation number are first rejoined with the students
+     * in {@code list} by matriculation number, if they are not already in the same order.
      */
     @Override
     public void updateStudentList(List<Student> list) {
-        if (list.size() == internalStudentList.size()) {
-            for (int i = 0; i < list.size(); i++) {
-                Name oldName = internalStudentList.get(i).getName();
-                Name newName = list.get(i).getName();
-                if (!oldName.equals(newName)) {
-                    for (Session session: sessions) {
-                        session.updateAttributeName(newName, i);
-                    }
+        requireNonNull(list);
+        version++;
+        beforeStructuralChange();
+        if (needsRejoin(list)) {
+            rejoin(list);
+        }
+        if (list.isEmpty()) {
+            updateAllSessionsAfterClear();
+        }
+        while (roster.size() > list.size()) {
+            removeStudentRow(roster.size() - 1);
+        }
+        for (int i = 0; i < roster.size(); i++) {
+            if (!roster.isStudentAt(i, list.get(i))) {
+                roster.setStudent(i, list.get(i));
+            }
+        }
+        for (int i = roster.size(); i < list.size(); i++) {
+            roster.addRow(list.get(i));
+        }
+        internalStudentList.setAll(list);
+    }
+
+    /**
+     * Returns true if some row of the roster is known only by a matriculation number that differs from the
+     * matriculation number of the student in the same row of {@code list}.
+     */
+    private boolean needsRejoin(List<Student> list) {
+        boolean hasUnboundRows = false;
+        for (int row = 0; row < roster.size(); row++) {
+            Matriculation matriculation = roster.getMatriculation(row);
+            if (roster.getStudent(row) != null || matriculation == null) {
+                continue;
+            }
+            hasUnboundRows = true;
+            if (row >= list.size() || !matriculation.equals(list.get(row).getMatriculation())) {
+                return true;
+            }
+        }
+        return hasUnboundRows && roster.size() != list.size();
+    }
+
+    /**
+     * Rebuilds the roster in the order of {@code list}, and the attendance of every session to match, carrying the
+     * attendance of each student over by matriculation number. Students no longer in {@code list} are dropped,
+     * and students not in the roster start absent.
+     */
+    private void rejoin(List<Student> list) {
+        Map<Matriculation, Integer> oldRows = new HashMap<>();
+        for (int row = 0; row < roster.size(); row++) {
+            Matriculation matriculation = roster.getMatriculation(row);
+            if (matriculation != null) {
+                oldRows.put(matriculation, row);
+            }
+        }
+
+        SessionRoster rejoinedRoster = new SessionRoster(list);
+        List<Session> rejoinedSessions = new ArrayList<>(sessions.size());
+        for (Session session : sessions) {
+            BitSet presence = new BitSet(list.size());
+            BitSet participation = new BitSet(list.size());
+            for (int row = 0; row < list.size(); row++) {
+                Integer oldRow = oldRows.get(list.get(row).getMatriculation());
+                if (oldRow != null) {
+                    presence.set(row, session.getPresenceStatus(oldRow));
+                    participation.set(row, session.getParticipationStatus(oldRow));
                 }
             }
+            rejoinedSessions.add(new Session(session.getSessionName(), session.getSessionDate(), rejoinedRoster,
+                    presence, participation));
+        }
+        roster = rejoinedRoster;
+        setSessions(rejoinedSessions);
+    }
+
+    /**
+     * Replaces the student {@code target} with {@code editedStudent} in the roster shared by all sessions.
+     * Sessions refer to students through the roster, so none of them has to be updated.
+     * Nothing is changed if {@code target} is not in the roster.
+     */
+    public void updateStudent(Student target, Student editedStudent) {
+        requireAllNonNull(target, editedStudent);
+        version++;
+        beforeStructuralChange();
+        int row = roster.getRowOf(target);
+        if (row == -1) {
+            return;
         }
-        internalStudentList.clear();
-        internalStudentList.addAll(list);
+        roster.setStudent(row, editedStudent);
+        internalStudentList.set(row, editedStudent);
     }
 
     /**
@@ -131,9 +287,11 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
         if (contains(session)) {
             throw new DuplicateSessionException();
         }
-        session.initializeSession(internalStudentList);
-        sessions.add(session);
-        FXCollections.sort(this.sessions);
+        version++;
+        beforeStructuralChange();
+        session.bindTo(roster);
+        session.countAttendance(1);
+        insertSorted(session);
     }
 
     /**
@@ -142,23 +300,41 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
      */
     public void deleteSession(Session target) {
         requireNonNull(target);
-        if (!sessions.remove(target)) {
+        Session existing = sessionIndex.get(target.getSessionName());
+        if (existing == null || !existing.equals(target)) {
             throw new SessionNotFoundException();
         }
-        FXCollections.sort(this.sessions);
+        version++;
+        beforeStructuralChange();
+        existing.countAttendance(-1);
+        removeSorted(existing);
     }
 
+    /**
+     * Replaces the session {@code oldSession} in the list with {@code newSession}.
+     * {@code oldSession} must exist in the list, and {@code newSession} must not have the same name as another
+     * session in the list.
+     */
     public void setSession(Session oldSession, Session newSession) {
         requireNonNull(oldSession);
         requireNonNull(newSession);
 
-        if (!contains(oldSession)) {
+        Session existing = sessionIndex.get(oldSession.getSessionName());
+        if (existing == null) {
             throw new SessionNotFoundException();
         }
+        Session sameName = sessionIndex.get(newSession.getSessionName());
+        if (sameName != null && sameName != existing) {
+            throw new DuplicateSessionException();
+        }
 
-        sessions.removeIf(oldSession::isSameSession);
-        sessions.add(newSession);
-        FXCollections.sort(this.sessions);
+        version++;
+        beforeStructuralChange();
+        existing.countAttendance(-1);
+        removeSorted(existing);
+        newSession.bindTo(roster);
+        newSession.countAttendance(1);
+        insertSorted(newSession);
     }
 
     public Session getSessionBasedOnId(Index index) {
@@ -170,38 +346,62 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
      */
     public boolean contains(Session toCheck) {
         requireNonNull(toCheck);
-        return sessions.stream().anyMatch(toCheck::isSameSession);
+        return sessionIndex.containsKey(toCheck.getSessionName());
     }
 
     /**
-     * Updates all sessions after the deletion of a student (with a given student ID).
+     * Returns the session with the given {@code sessionName}, or null if there is none.
      */
-    public void updateAllSessionsAfterDelete(Index studentId) {
-        requireNonNull(studentId);
-        for (Session s : sessions) {
-            s.updateSessionAfterDelete(studentId, internalStudentList);
+    public Session getSessionByName(SessionName sessionName) {
+        requireNonNull(sessionName);
+        return sessionIndex.get(sessionName);
+    }
+
+    /**
+     * Updates all sessions after the deletion of the student {@code target}, which is found in the roster shared by
+     * all sessions. Nothing is changed if {@code target} is not in the roster.
+     */
+    public void deleteStudentFromSessions(Student target) {
+        requireNonNull(target);
+        int row = roster.getRowOf(target);
+        if (row == -1) {
+            return;
         }
-        FXCollections.sort(this.sessions);
+        version++;
+        beforeStructuralChange();
+        removeStudentRow(row);
     }
 
     /**
-     * Updates all sessions after adding a student.
+     * Removes the student at the zero-based {@code row} from the roster, clearing its slot in every session.
+     * The roster is compacted once enough tombstones have built up.
      */
-    public void updateAllSessionsAfterAdd() {
+    private void removeStudentRow(int row) {
+        for (Session s : sessions) {
+            s.loadAttendance();
+        }
+        int slot = roster.removeRow(row);
         for (Session s : sessions) {
-            s.updateSessionAfterAdd(internalStudentList);
+            s.updateSessionAfterDelete(slot);
+        }
+        if (roster.needsCompaction()) {
+            int[] oldSlots = roster.compact();
+            for (Session s : sessions) {
+                s.compactColumns(oldSlots);
+            }
         }
-        FXCollections.sort(this.sessions);
     }
 
     /**
      * Updates all sessions after clearing all students.
      */
     public void updateAllSessionsAfterClear() {
+        version++;
+        beforeStructuralChange();
         for (Session s : sessions) {
-            s.resetAttributeList();
+            s.clearAttendance();
         }
-        FXCollections.sort(this.sessions);
+        roster.clear();
     }
 
 
@@ -213,10 +413,10 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
         requireNonNull(sessionName);
         requireNonNull(indexRange);
 
-        for (Session session: sessions) {
-            if (session.getSessionName().equals(sessionName)) {
-                session.updateParticipation(indexRange);
-            }
+        Session session = sessionIndex.get(sessionName);
+        if (session != null) {
+            version++;
+            session.updateParticipation(indexRange);
         }
     }
 
@@ -228,10 +428,10 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
         requireNonNull(sessionName);
         requireNonNull(indexRange);
 
-        for (Session session: sessions) {
-            if (session.getSessionName().equals(sessionName)) {
-                session.updatePresence(indexRange);
-            }
+        Session session = sessionIndex.get(sessionName);
+        if (session != null) {
+            version++;
+            session.updatePresence(indexRange);
         }
     }
 
@@ -249,13 +449,61 @@ public class SessionList implements Iterable<Session>, ReadOnlySessionList {
      * Clears all the existing sessions in the session list.
      */
     public void clearSessions() {
+        version++;
+        beforeStructuralChange();
         sessions.clear();
+        sessionIndex.clear();
+        roster.clearAttendanceCounts();
+    }
+
+    /**
+     * Returns the number of sessions in which the student at {@code studentId} of the student list was present.
+     * Students that are not in the roster have no attendance recorded.
+     */
+    @Override
+    public int getStudentPresenceCount(Index studentId) {
+        requireNonNull(studentId);
+        int row = studentId.getZeroBased();
+        return row < roster.size() ? roster.getPresenceCount(row) : 0;
+    }
+
+    /**
+     * Returns the number of sessions in which the student at {@code studentId} of the student list participated.
+     * Students that are not in the roster have no attendance recorded.
+     */
+    @Override
+    public int getStudentParticipationCount(Index studentId) {
+        requireNonNull(studentId);
+        int row = studentId.getZeroBased();
+        return row < roster.size() ? roster.getParticipationCount(row) : 0;
     }
 
     public int returnSize() {
         return sessions.size();
     }
 
+    /**
+     * Returns a number that changes every time the sessions, the students or their attendance are changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Called before sessions or students are added, removed or changed.
+     * Changes to the attendance of students do not call this method.
+     */
+    protected void beforeStructuralChange() {
+    }
+
+    /**
+     * Returns a rough estimate of the memory held by this list, in bytes.
+     */
+    long estimateMemoryUsage() {
+        long bytesPerSession = 96 + 2 * (roster.getSlotCount() / 8 + 8);
+        return 64L + 48L * roster.getSlotCount() + 8L * internalStudentList.size() + bytesPerSession * sessions.size();
+    }
+
     @Override
     public ObservableList<Session> getSessions() {
         return sessions;
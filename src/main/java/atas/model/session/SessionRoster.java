@@ -0,0 +1,409 @@
+package atas.model.session;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import atas.model.student.Matriculation;
+import atas.model.student.Name;
+import atas.model.student.Student;
+
+/**
+ * Represents the students tracked by the sessions of a {@code SessionList}.
+ * Every student is given a stable slot when added, and the attendance columns of each session are keyed by slot
+ * rather than by position in the student list. A compact row-to-slot mapping translates the rows shown to the user
+ * into slots. Removing a student leaves a tombstone at its slot instead of shifting later students down, and
+ * tombstones are dropped by compacting the roster once they outnumber the live students.
+ * Rows are always kept in increasing slot order, so a range of rows maps onto a range of slots.
+ * Each slot refers to the {@code Student} it belongs to, so that a rename is a single update seen by every session.
+ * Slots created from stored attendance alone only know the student's matriculation number, or the student's name in
+ * older files, until they are bound to a student.
+ * The roster also counts, for every slot, the sessions in which the student was present or participated. The counts
+ * are kept up to date by the sessions as deltas, so that student statistics never have to scan every session.
+ * A copy of the roster shares its state with the original until either of them is changed. The students are copied
+ * on the first change to them, while the counts are copied a chunk at a time as they are changed.
+ */
+public class SessionRoster {
+
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private List<Student> slotStudents;
+    private List<Name> slotNames;
+    private List<Matriculation> slotMatriculations;
+    private Map<Matriculation, Integer> slotsByMatriculation;
+    private final BitColumn liveSlots;
+    private int[] rowToSlot;
+    private int rows;
+    // True if the students may also be referenced by a copy, in which case they are copied before being changed.
+    private boolean shared;
+    private ChunkedIntArray presenceCounts;
+    private ChunkedIntArray participationCounts;
+
+    /**
+     * Creates an empty {@code SessionRoster}.
+     */
+    public SessionRoster() {
+        this.slotStudents = new ArrayList<>();
+        this.slotNames = new ArrayList<>();
+        this.slotMatriculations = new ArrayList<>();
+        this.slotsByMatriculation = new HashMap<>();
+        this.liveSlots = new BitColumn();
+        this.rowToSlot = new int[0];
+        this.rows = 0;
+        this.presenceCounts = new ChunkedIntArray();
+        this.participationCounts = new ChunkedIntArray();
+    }
+
+    /**
+     * Creates a {@code SessionRoster} with a row for each student in {@code students}.
+     */
+    public SessionRoster(List<Student> students) {
+        this();
+        requireNonNull(students);
+        for (Student student : students) {
+            addRow(student);
+        }
+    }
+
+    private SessionRoster(SessionRoster toCopy) {
+        this.slotStudents = toCopy.slotStudents;
+        this.slotNames = toCopy.slotNames;
+        this.slotMatriculations = toCopy.slotMatriculations;
+        this.slotsByMatriculation = toCopy.slotsByMatriculation;
+        this.liveSlots = toCopy.liveSlots.getCopy();
+        this.rowToSlot = toCopy.rowToSlot;
+        this.rows = toCopy.rows;
+        this.shared = true;
+        this.presenceCounts = toCopy.presenceCounts.getCopy();
+        this.participationCounts = toCopy.participationCounts.getCopy();
+        toCopy.shared = true;
+    }
+
+    /**
+     * Returns a copy of this roster that shares its state with this roster until either of them is changed.
+     */
+    public SessionRoster getCopy() {
+        return new SessionRoster(this);
+    }
+
+    /**
+     * Gives this roster its own copy of the students before they are changed.
+     */
+    private void ensureOwned() {
+        if (shared) {
+            slotStudents = new ArrayList<>(slotStudents);
+            slotNames = new ArrayList<>(slotNames);
+            slotMatriculations = new ArrayList<>(slotMatriculations);
+            slotsByMatriculation = new HashMap<>(slotsByMatriculation);
+            rowToSlot = Arrays.copyOf(rowToSlot, rowToSlot.length);
+            shared = false;
+        }
+    }
+
+    /**
+     * Returns the number of students in the roster.
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of slots handed out so far, including tombstones.
+     */
+    public int getSlotCount() {
+        return slotStudents.size();
+    }
+
+    /**
+     * Returns the number of slots left behind by removed students.
+     */
+    public int getTombstoneCount() {
+        return slotStudents.size() - rows;
+    }
+
+    /**
+     * Returns the slot of the student at the zero-based {@code row}.
+     */
+    public int getSlot(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + rows);
+        }
+        return rowToSlot[row];
+    }
+
+    /**
+     * Returns the row of the student holding {@code slot}, or -1 if the slot is a tombstone.
+     * Rows are in increasing slot order, so the row is found by binary search.
+     */
+    public int getRowOfSlot(int slot) {
+        int row = Arrays.binarySearch(rowToSlot, 0, rows, slot);
+        return row < 0 ? -1 : row;
+    }
+
+    /**
+     * Returns the row of the student with the same matriculation number as {@code student},
+     * or -1 if there is no such student in the roster.
+     */
+    public int getRowOf(Student student) {
+        requireNonNull(student);
+        Integer slot = slotsByMatriculation.get(student.getMatriculation());
+        return slot == null ? -1 : getRowOfSlot(slot);
+    }
+
+    /**
+     * Returns the name of the student at the zero-based {@code row},
+     * or null if it is only known by matriculation number.
+     */
+    public Name getName(int row) {
+        return getNameOfSlot(getSlot(row));
+    }
+
+    /**
+     * Returns the name of the student holding {@code slot}.
+     */
+    public Name getNameOfSlot(int slot) {
+        Student student = slotStudents.get(slot);
+        return student == null ? slotNames.get(slot) : student.getName();
+    }
+
+    /**
+     * Returns the matriculation number of the student at the zero-based {@code row},
+     * or null if it is only known by name.
+     */
+    public Matriculation getMatriculation(int row) {
+        int slot = getSlot(row);
+        Student student = slotStudents.get(slot);
+        return student == null ? slotMatriculations.get(slot) : student.getMatriculation();
+    }
+
+    /**
+     * Returns the student at the zero-based {@code row}, or null if it is only known by name or matriculation number.
+     */
+    public Student getStudent(int row) {
+        return slotStudents.get(getSlot(row));
+    }
+
+    /**
+     * Returns true if the student at the zero-based {@code row} is {@code student} itself.
+     */
+    public boolean isStudentAt(int row, Student student) {
+        return slotStudents.get(getSlot(row)) == student;
+    }
+
+    /**
+     * Binds the student at the zero-based {@code row} to {@code student}, keeping its slot.
+     */
+    public void setStudent(int row, Student student) {
+        requireNonNull(student);
+        int slot = getSlot(row);
+        ensureOwned();
+        Matriculation previous = getMatriculationOfSlot(slot);
+        if (previous != null) {
+            slotsByMatriculation.remove(previous, slot);
+        }
+        slotStudents.set(slot, student);
+        slotNames.set(slot, null);
+        slotMatriculations.set(slot, null);
+        slotsByMatriculation.put(student.getMatriculation(), slot);
+    }
+
+    /**
+     * Returns the slots that belong to students still in the roster.
+     */
+    public BitColumn getLiveSlots() {
+        return liveSlots;
+    }
+
+    /**
+     * Appends {@code student} as the last row, giving it a fresh slot.
+     *
+     * @return The slot given to the student.
+     */
+    public int addRow(Student student) {
+        requireNonNull(student);
+        int slot = appendSlot(student, null, null);
+        slotsByMatriculation.put(student.getMatriculation(), slot);
+        return slot;
+    }
+
+    /**
+     * Appends a student known only by its {@code name} as the last row, giving it a fresh slot.
+     *
+     * @return The slot given to the student.
+     */
+    public int addRow(Name name) {
+        requireNonNull(name);
+        return appendSlot(null, name, null);
+    }
+
+    /**
+     * Appends a student known only by its {@code matriculation} number as the last row, giving it a fresh slot.
+     * The student has no name until the row is bound to a student.
+     *
+     * @return The slot given to the student.
+     */
+    public int addRow(Matriculation matriculation) {
+        requireNonNull(matriculation);
+        int slot = appendSlot(null, null, matriculation);
+        slotsByMatriculation.put(matriculation, slot);
+        return slot;
+    }
+
+    /**
+     * Returns the matriculation number of the student holding {@code slot}, or null if it is only known by name.
+     */
+    private Matriculation getMatriculationOfSlot(int slot) {
+        Student student = slotStudents.get(slot);
+        return student == null ? slotMatriculations.get(slot) : student.getMatriculation();
+    }
+
+    private int appendSlot(Student student, Name name, Matriculation matriculation) {
+        ensureOwned();
+        int slot = slotStudents.size();
+        slotStudents.add(student);
+        slotNames.add(name);
+        slotMatriculations.add(matriculation);
+        liveSlots.add(true);
+        if (rows == rowToSlot.length) {
+            rowToSlot = Arrays.copyOf(rowToSlot, Math.max(8, rows * 2));
+        }
+        presenceCounts.ensureSize(slot + 1);
+        participationCounts.ensureSize(slot + 1);
+        rowToSlot[rows++] = slot;
+        return slot;
+    }
+
+    /**
+     * Removes the student at the zero-based {@code row}, leaving a tombstone at its slot.
+     *
+     * @return The slot that was held by the student.
+     */
+    public int removeRow(int row) {
+        int slot = getSlot(row);
+        ensureOwned();
+        System.arraycopy(rowToSlot, row + 1, rowToSlot, row, rows - row - 1);
+        rows--;
+        liveSlots.set(slot, false);
+        Matriculation matriculation = getMatriculationOfSlot(slot);
+        if (matriculation != null) {
+            slotsByMatriculation.remove(matriculation, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns true if enough tombstones have built up for compaction to pay off.
+     */
+    public boolean needsCompaction() {
+        int tombstones = getTombstoneCount();
+        return tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > rows;
+    }
+
+    /**
+     * Drops all tombstones, so that every student's slot becomes equal to its row.
+     * Columns keyed by the old slots must be rebuilt with {@link BitColumn#gather(int[])} using the returned mapping.
+     *
+     * @return The old slot of every row, in row order.
+     */
+    public int[] compact() {
+        ensureOwned();
+        int[] oldSlots = Arrays.copyOf(rowToSlot, rows);
+        List<Student> students = new ArrayList<>(rows);
+        List<Name> names = new ArrayList<>(rows);
+        List<Matriculation> matriculations = new ArrayList<>(rows);
+        slotsByMatriculation.clear();
+        for (int row = 0; row < rows; row++) {
+            Student student = slotStudents.get(oldSlots[row]);
+            students.add(student);
+            names.add(slotNames.get(oldSlots[row]));
+            matriculations.add(slotMatriculations.get(oldSlots[row]));
+            Matriculation matriculation = getMatriculationOfSlot(oldSlots[row]);
+            if (matriculation != null) {
+                slotsByMatriculation.put(matriculation, row);
+            }
+            rowToSlot[row] = row;
+        }
+        presenceCounts = presenceCounts.gather(oldSlots);
+        participationCounts = participationCounts.gather(oldSlots);
+        slotStudents.clear();
+        slotStudents.addAll(students);
+        slotNames.clear();
+        slotNames.addAll(names);
+        slotMatriculations.clear();
+        slotMatriculations.addAll(matriculations);
+        liveSlots.clear();
+        for (int row = 0; row < rows; row++) {
+            liveSlots.add(true);
+        }
+        return oldSlots;
+    }
+
+    /**
+     * Removes all students and slots from the roster.
+     */
+    public void clear() {
+        slotStudents = new ArrayList<>();
+        slotNames = new ArrayList<>();
+        slotMatriculations = new ArrayList<>();
+        slotsByMatriculation = new HashMap<>();
+        liveSlots.clear();
+        rowToSlot = new int[0];
+        rows = 0;
+        shared = false;
+        presenceCounts = new ChunkedIntArray();
+        participationCounts = new ChunkedIntArray();
+    }
+
+    /**
+     * Returns the number of counted sessions in which the student at the zero-based {@code row} was present.
+     */
+    public int getPresenceCount(int row) {
+        return presenceCounts.get(getSlot(row));
+    }
+
+    /**
+     * Returns the number of counted sessions in which the student at the zero-based {@code row} participated.
+     */
+    public int getParticipationCount(int row) {
+        return participationCounts.get(getSlot(row));
+    }
+
+    /**
+     * Changes the presence count of the student holding {@code slot} by {@code delta}.
+     */
+    public void adjustPresenceCount(int slot, int delta) {
+        presenceCounts.add(slot, delta);
+    }
+
+    /**
+     * Changes the participation count of the student holding {@code slot} by {@code delta}.
+     */
+    public void adjustParticipationCount(int slot, int delta) {
+        participationCounts.add(slot, delta);
+    }
+
+    /**
+     * Adds ({@code sign} of 1) or removes ({@code sign} of -1) the attendance of one session to or from the counts
+     * of the students. Only the set flags of the columns are visited.
+     */
+    public void countAttendance(BitColumn presence, BitColumn participation, int sign) {
+        for (int slot = presence.nextSetBit(0); slot != -1; slot = presence.nextSetBit(slot + 1)) {
+            presenceCounts.add(slot, sign);
+        }
+        for (int slot = participation.nextSetBit(0); slot != -1; slot = participation.nextSetBit(slot + 1)) {
+            participationCounts.add(slot, sign);
+        }
+    }
+
+    /**
+     * Resets the attendance counts of all students to zero.
+     */
+    public void clearAttendanceCounts() {
+        presenceCounts.clearValues();
+        participationCounts.clearValues();
+    }
+}
@@ -1,25 +1,30 @@
 package atas.model.session;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import atas.model.VersionedEntity;
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
-
+import atas.model.history.CompoundEntry;
+import atas.model.history.JournalEntry;
+import atas.model.history.SnapshotEntry;
+
+/**
+ * An {@code AttributesList} that records the changes made to it by every command.
+ * The attributes list only holds the attributes of the session being viewed, so it is recorded as snapshots, and
+ * only by the commands that changed it.
+ */
 public class VersionedAttributesList extends AttributesList implements VersionedEntity {
 
-    private final List<AttributesList> attributeStateList;
-    private int currentStatePointer;
+    private static final long SNAPSHOT_BYTES = 64;
+    private static final long BYTES_PER_ATTRIBUTES = 8;
+
+    private AttributesList committedState;
 
     /**
      * Creates a VersionedAttributesList with an empty initial state.
      */
     public VersionedAttributesList() {
         super();
-        attributeStateList = new ArrayList<>();
-        attributeStateList.add(new AttributesList());
-        currentStatePointer = 0;
+        committedState = new AttributesList();
     }
 
     /**
@@ -27,59 +32,33 @@ public class VersionedAttributesList extends AttributesList implements Versioned
      */
     public VersionedAttributesList(ReadOnlyAttributesList newData) {
         super(newData);
-        attributeStateList = new ArrayList<>();
-        attributeStateList.add(new AttributesList());
-        currentStatePointer = 0;
-    }
-
-    @Override
-    public void commit() {
-        removeStatesAfterCurrentPointer();
-        this.attributeStateList.add(new AttributesList(this, getCurrentSessionIndex()));
-        currentStatePointer++;
-    }
-
-    @Override
-    public boolean canUndo() {
-        return currentStatePointer > 0;
+        committedState = new AttributesList(this, getCurrentSessionIndex());
     }
 
+    /**
+     * Returns the change made since the last commit as snapshots of the attributes list before and after it.
+     * Nothing is returned if the attributes list has not changed.
+     */
     @Override
-    public void undo() {
-        if (!canUndo()) {
-            throw new UnableToUndoException();
+    public JournalEntry commit() {
+        if (isUnchangedFrom(committedState)) {
+            return new CompoundEntry(List.of());
         }
-        resetData(attributeStateList.get(--currentStatePointer));
+        AttributesList current = new AttributesList(this, getCurrentSessionIndex());
+        long estimatedBytes = 2 * SNAPSHOT_BYTES + BYTES_PER_ATTRIBUTES
+                * (committedState.getAttributesList().size() + current.getAttributesList().size());
+        JournalEntry changes = new SnapshotEntry<>(committedState, current, this::resetData, estimatedBytes);
+        committedState = current;
+        return changes;
     }
 
     @Override
-    public boolean canRedo() {
-        return currentStatePointer < this.attributeStateList.size() - 1;
+    public void discardChanges() {
+        committedState = new AttributesList(this, getCurrentSessionIndex());
     }
 
-    @Override
-    public void redo() {
-        if (!canRedo()) {
-            throw new UnableToRedoException();
-        }
-        resetData(attributeStateList.get(++currentStatePointer));
-    }
-
-    public List<AttributesList> getAttributeStateList() {
-        return attributeStateList;
-    }
-
-    public int getCurrentStatePointer() {
-        return currentStatePointer;
+    private boolean isUnchangedFrom(AttributesList state) {
+        return getCurrentSessionIndex().equals(state.getCurrentSessionIndex())
+                && getAttributesList().equals(state.getAttributesList());
     }
-
-    public void setCurrentStatePointer(int newPointer) {
-        currentStatePointer = newPointer;
-    }
-
-    private void removeStatesAfterCurrentPointer() {
-        List<AttributesList> subList = attributeStateList.subList(currentStatePointer + 1, attributeStateList.size());
-        subList.clear();
-    }
-
 }
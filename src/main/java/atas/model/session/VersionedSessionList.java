@@ -4,72 +4,122 @@ import java.util.ArrayList;
 import java.util.List;
 
 import atas.model.VersionedEntity;
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
-
+import atas.model.history.CompoundEntry;
+import atas.model.history.JournalEntry;
+import atas.model.history.SnapshotEntry;
+
+/**
+ * A {@code SessionList} that records the changes made to it by every command.
+ * Commands that only change the attendance of students are recorded as the ranges they flipped, which are their own
+ * inverse. The first other change after a commit takes a copy-on-write snapshot of the list, so that commands that
+ * leave the sessions and students alone never copy the list.
+ */
 public class VersionedSessionList extends SessionList implements VersionedEntity {
 
-    private final List<ReadOnlySessionList> sessionStateList;
-    private int currentStatePointer;
+    private static final long FLIP_BYTES = 40;
+
+    private final List<JournalEntry> pendingFlips;
+    // State of the list at the last commit, taken lazily before the first change other than to attendance.
+    private SessionList stateBefore;
 
     /**
-     * Creates a VersionedStudentList using the students in the {@code initialState}.
+     * Creates a VersionedSessionList using the sessions in the {@code initialState}.
      */
     public VersionedSessionList(ReadOnlySessionList initialState) {
-        super(initialState);
-
-        sessionStateList = new ArrayList<>();
-        sessionStateList.add(new SessionList(initialState));
-        currentStatePointer = 0;
+        super();
+        pendingFlips = new ArrayList<>();
+        resetData(initialState);
+        discardChanges();
     }
 
-    public List<ReadOnlySessionList> getSessionStateList() {
-        return sessionStateList;
+    @Override
+    protected void beforeStructuralChange() {
+        if (stateBefore == null) {
+            stateBefore = getCopy();
+        }
     }
 
     @Override
-    public void commit() {
-        removeStatesAfterCurrentPointer();
-        this.sessionStateList.add(new SessionList(this.getCopy()));
-        currentStatePointer++;
+    public void updateStudentParticipation(SessionName sessionName, IndexRange indexRange) {
+        super.updateStudentParticipation(sessionName, indexRange);
+        recordFlip(sessionName, indexRange, false);
     }
 
     @Override
-    public boolean canUndo() {
-        return currentStatePointer > 0;
+    public void updateStudentPresence(SessionName sessionName, IndexRange indexRange) {
+        super.updateStudentPresence(sessionName, indexRange);
+        recordFlip(sessionName, indexRange, true);
     }
 
-    @Override
-    public void undo() {
-        if (!canUndo()) {
-            throw new UnableToUndoException();
+    /**
+     * Records a flip of attendance, unless a snapshot has already been taken that will cover it.
+     */
+    private void recordFlip(SessionName sessionName, IndexRange indexRange, boolean isPresence) {
+        if (stateBefore == null && getSessionByName(sessionName) != null) {
+            pendingFlips.add(new AttendanceFlip(sessionName, indexRange, isPresence));
         }
-        resetData(sessionStateList.get(--currentStatePointer));
     }
 
+    /**
+     * Returns the changes made since the last commit.
+     * Only the attendance flips are returned if nothing else has changed. Otherwise the flips made before the
+     * snapshot was taken are followed by the snapshot.
+     */
     @Override
-    public boolean canRedo() {
-        return currentStatePointer < this.sessionStateList.size() - 1;
+    public JournalEntry commit() {
+        List<JournalEntry> changes = new ArrayList<>(pendingFlips);
+        if (stateBefore != null) {
+            SessionList current = getCopy();
+            long estimatedBytes = stateBefore.estimateMemoryUsage() + current.estimateMemoryUsage();
+            changes.add(new SnapshotEntry<>(stateBefore, current, this::resetData, estimatedBytes));
+        }
+        discardChanges();
+        return new CompoundEntry(changes);
     }
 
     @Override
-    public void redo() {
-        if (!canRedo()) {
-            throw new UnableToRedoException();
-        }
-        resetData(sessionStateList.get(++currentStatePointer));
+    public void discardChanges() {
+        pendingFlips.clear();
+        stateBefore = null;
     }
 
-    public int getCurrentStatePointer() {
-        return currentStatePointer;
-    }
+    /**
+     * Represents a range of presence or participation flags flipped in a session.
+     * Flipping the same range again reverts it.
+     */
+    private class AttendanceFlip implements JournalEntry {
 
-    public void setCurrentStatePointer(int newPointer) {
-        currentStatePointer = newPointer;
-    }
+        private final SessionName sessionName;
+        private final IndexRange indexRange;
+        private final boolean isPresence;
 
-    private void removeStatesAfterCurrentPointer() {
-        this.sessionStateList.subList(currentStatePointer + 1, sessionStateList.size()).clear();
-    }
+        private AttendanceFlip(SessionName sessionName, IndexRange indexRange, boolean isPresence) {
+            this.sessionName = sessionName;
+            this.indexRange = indexRange;
+            this.isPresence = isPresence;
+        }
+
+        private void flip() {
+            if (isPresence) {
+                VersionedSessionList.super.updateStudentPresence(sessionName, indexRange);
+            } else {
+                VersionedSessionList.super.updateStudentParticipation(sessionName, indexRange);
+            }
+        }
 
+        @Override
+        public void undo() {
+            flip();
+        }
+
+        @Override
+        public void redo() {
+            flip();
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return FLIP_BYTES;
+        }
+    }
 }
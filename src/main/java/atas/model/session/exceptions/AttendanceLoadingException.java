@@ -0,0 +1,10 @@
+package atas.model.session.exceptions;
+
+/**
+ * Signals that the saved attendance of a session could not be loaded.
+ */
+public class AttendanceLoadingException extends RuntimeException {
+    public AttendanceLoadingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package atas.model.statistics;
+
+/**
+ * Represents the attendance counts of a student or a session, from which all statistics are computed.
+ * Guarantees: immutable.
+ */
+public class AttendanceTally {
+
+    private final int presentCount;
+    private final int participatedCount;
+    private final int expectedCount;
+
+    /**
+     * A parameterized constructor.
+     */
+    public AttendanceTally(int presentCount, int participatedCount, int expectedCount) {
+        this.presentCount = presentCount;
+        this.participatedCount = participatedCount;
+        this.expectedCount = expectedCount;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public int getParticipatedCount() {
+        return participatedCount;
+    }
+
+    public int getExpectedCount() {
+        return expectedCount;
+    }
+}
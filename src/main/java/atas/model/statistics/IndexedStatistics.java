@@ -0,0 +1,126 @@
+package atas.model.statistics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a collection of statistical data holding at most one statistic of each type.
+ * Each statistic is stored in the fixed slot given to its type by {@code StatisticsRegistry}, so that a statistic
+ * is found by its slot rather than by searching the collection.
+ */
+public abstract class IndexedStatistics {
+
+    private Statistics[] slots;
+
+    /**
+     * A constructor which initializes with the given sample size.
+     */
+    protected IndexedStatistics(int sampleSize) {
+        this.slots = new Statistics[StatisticsRegistry.getSlotCount()];
+        replaceAll(StatisticsRegistry.aggregate(new AttendanceTally(0, 0, sampleSize)));
+    }
+
+    /**
+     * Adds the given statistic to the current statistics.
+     * As there is one slot per type of statistic, a statistic of the same type is replaced.
+     */
+    public void addStatistics(Statistics statistics) {
+        replaceStatistics(statistics);
+    }
+
+    /**
+     * Adds the given statistics to the current statistics.
+     */
+    public void addStatistics(Statistics... statistics) {
+        replaceStatistics(statistics);
+    }
+
+    /**
+     * Replaces the statistic of the same type as the given one, or adds it if there is none.
+     */
+    public void replaceStatistics(Statistics statistics) {
+        requireNonNull(statistics);
+        int slot = StatisticsRegistry.getSlot(statistics.getClass());
+        if (slot >= slots.length) {
+            slots = Arrays.copyOf(slots, slot + 1);
+        }
+        slots[slot] = statistics;
+    }
+
+    /**
+     * Replaces the statistics of the same types as the given ones, adding those that do not exist yet.
+     */
+    public void replaceStatistics(Statistics... statistics) {
+        for (Statistics stat: statistics) {
+            replaceStatistics(stat);
+        }
+    }
+
+    /**
+     * Replaces the statistics in every non-null slot of {@code aggregated}, which is indexed by slot as returned by
+     * {@link StatisticsRegistry#aggregate(AttendanceTally)}.
+     */
+    public void replaceAll(Statistics[] aggregated) {
+        if (aggregated.length > slots.length) {
+            slots = Arrays.copyOf(slots, aggregated.length);
+        }
+        for (int slot = 0; slot < aggregated.length; slot++) {
+            if (aggregated[slot] != null) {
+                slots[slot] = aggregated[slot];
+            }
+        }
+    }
+
+    /**
+     * Returns the statistic in the given {@code slot}, or null if there is none.
+     */
+    public Statistics getStatistics(int slot) {
+        return slot < slots.length ? slots[slot] : null;
+    }
+
+    public Statistics getParticipationStatistics() {
+        return getStatistics(StatisticsRegistry.PARTICIPATION_SLOT);
+    }
+
+    public Statistics getPresenceStatistics() {
+        return getStatistics(StatisticsRegistry.PRESENCE_SLOT);
+    }
+
+    /**
+     * Returns the statistics held, in slot order.
+     */
+    public List<Statistics> getStats() {
+        List<Statistics> stats = new ArrayList<>();
+        for (Statistics stat : slots) {
+            if (stat != null) {
+                stats.add(stat);
+            }
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Checks if there is a statistic of the same type as the given statistic.
+     */
+    public boolean contains(Statistics statistics) {
+        return getStatistics(StatisticsRegistry.getSlot(statistics.getClass())) != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        } else {
+            for (Statistics stat: ((IndexedStatistics) o).getStats()) {
+                if (!contains(stat)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package atas.model.statistics;
 
-import java.util.List;
+import java.util.Objects;
 
 import atas.commons.core.index.Index;
 import atas.commons.core.statistics.StatisticalValues;
-import atas.model.session.Attributes;
 import atas.model.session.Session;
 import atas.model.session.SessionList;
 
@@ -52,32 +51,12 @@ public class ParticipationStatistics implements Statistics {
 
     @Override
     public ParticipationStatistics getSessionStatistics(Session session) {
-        List<Attributes> list = session.getAttributeList();
-        int totalActual = 0;
-        int totalExpected = list.size();
-
-        for (Attributes attr: list) {
-            if (attr.getParticipationStatus()) {
-                totalActual++;
-            }
-        }
-
-        return new ParticipationStatistics(totalActual, totalExpected);
+        return new ParticipationStatistics(session.getParticipationCount(), session.getNumberOfStudents());
     }
 
     @Override
     public ParticipationStatistics getStudentStatistics(SessionList sessionList, Index index) {
-        List<Session> list = sessionList.getSessions();
-        int totalActual = 0;
-        int totalExpected = list.size();
-
-        for (Session session: list) {
-            if (session.getAttributeList().get(index.getZeroBased()).getParticipationStatus()) {
-                totalActual++;
-            }
-        }
-
-        return new ParticipationStatistics(totalActual, totalExpected);
+        return new ParticipationStatistics(sessionList.getStudentParticipationCount(index), sessionList.returnSize());
     }
 
     @Override
@@ -110,4 +89,17 @@ public class ParticipationStatistics implements Statistics {
         return new ParticipationStatistics(this.actual, expected);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ParticipationStatistics // instanceof handles nulls
+                && actual == ((ParticipationStatistics) other).actual
+                && expected == ((ParticipationStatistics) other).expected);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(actual, expected);
+    }
+
 }
@@ -1,10 +1,9 @@
 package atas.model.statistics;
 
-import java.util.List;
+import java.util.Objects;
 
 import atas.commons.core.index.Index;
 import atas.commons.core.statistics.StatisticalValues;
-import atas.model.session.Attributes;
 import atas.model.session.Session;
 import atas.model.session.SessionList;
 
@@ -52,32 +51,12 @@ public class PresenceStatistics implements Statistics {
 
     @Override
     public PresenceStatistics getSessionStatistics(Session session) {
-        List<Attributes> list = session.getAttributeList();
-        int totalActual = 0;
-        int totalExpected = list.size();
-
-        for (Attributes attr: list) {
-            if (attr.getPresenceStatus()) {
-                totalActual++;
-            }
-        }
-
-        return new PresenceStatistics(totalActual, totalExpected);
+        return new PresenceStatistics(session.getPresenceCount(), session.getNumberOfStudents());
     }
 
     @Override
     public PresenceStatistics getStudentStatistics(SessionList sessionList, Index index) {
-        List<Session> list = sessionList.getSessions();
-        int totalActual = 0;
-        int totalExpected = list.size();
-
-        for (Session session: list) {
-            if (session.getAttributeList().get(index.getZeroBased()).getPresenceStatus()) {
-                totalActual++;
-            }
-        }
-
-        return new PresenceStatistics(totalActual, totalExpected);
+        return new PresenceStatistics(sessionList.getStudentPresenceCount(index), sessionList.returnSize());
     }
 
     @Override
@@ -110,4 +89,17 @@ public class PresenceStatistics implements Statistics {
         return new PresenceStatistics(this.actual, expected);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof PresenceStatistics // instanceof handles nulls
+                && actual == ((PresenceStatistics) other).actual
+                && expected == ((PresenceStatistics) other).expected);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(actual, expected);
+    }
+
 }
@@ -0,0 +1,13 @@
+package atas.model.statistics;
+
+/**
+ * Computes one type of {@code Statistics} from the attendance counts of a student or a session.
+ */
+@FunctionalInterface
+public interface StatisticsAccumulator {
+
+    /**
+     * Returns the statistics of the given attendance counts.
+     */
+    Statistics accumulate(AttendanceTally tally);
+}
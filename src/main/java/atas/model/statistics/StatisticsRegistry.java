@@ -0,0 +1,82 @@
+package atas.model.statistics;
+
+import static atas.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of every type of {@code Statistics} and the fixed slot it is stored in.
+ * Types registered with an accumulator are computed together by {@link #aggregate(AttendanceTally)}, so that
+ * adding another type of statistics does not add another pass over the attendance data.
+ * Other types are given a slot the first time they are seen, but are never computed.
+ */
+public class StatisticsRegistry {
+
+    public static final int PRESENCE_SLOT = 0;
+    public static final int PARTICIPATION_SLOT = 1;
+
+    private static final Map<Class<? extends Statistics>, Integer> slots = new HashMap<>();
+    private static final List<StatisticsAccumulator> accumulators = new ArrayList<>();
+
+    static {
+        register(PresenceStatistics.class, tally ->
+                new PresenceStatistics(tally.getPresentCount(), tally.getExpectedCount()));
+        register(ParticipationStatistics.class, tally ->
+                new ParticipationStatistics(tally.getParticipatedCount(), tally.getExpectedCount()));
+    }
+
+    /**
+     * Registers {@code accumulator} as the way to compute statistics of the given {@code type}.
+     * A type that is registered again keeps its slot but is computed by the new accumulator.
+     *
+     * @return The slot of the type.
+     */
+    public static synchronized int register(Class<? extends Statistics> type, StatisticsAccumulator accumulator) {
+        requireAllNonNull(type, accumulator);
+        int slot = getSlot(type);
+        accumulators.set(slot, accumulator);
+        return slot;
+    }
+
+    /**
+     * Returns the slot of statistics of the given {@code type}, giving the type a new slot if it has none yet.
+     */
+    public static synchronized int getSlot(Class<? extends Statistics> type) {
+        requireNonNull(type);
+        Integer slot = slots.get(type);
+        if (slot == null) {
+            slot = accumulators.size();
+            slots.put(type, slot);
+            accumulators.add(null);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the number of slots given out so far.
+     */
+    public static synchronized int getSlotCount() {
+        return accumulators.size();
+    }
+
+    /**
+     * Computes every registered type of statistics from {@code tally} in one pass.
+     *
+     * @return The statistics indexed by slot, with null in the slots of types that are not computed.
+     */
+    public static synchronized Statistics[] aggregate(AttendanceTally tally) {
+        requireNonNull(tally);
+        Statistics[] results = new Statistics[accumulators.size()];
+        for (int slot = 0; slot < results.length; slot++) {
+            StatisticsAccumulator accumulator = accumulators.get(slot);
+            if (accumulator != null) {
+                results[slot] = accumulator.accumulate(tally);
+            }
+        }
+        return results;
+    }
+}
@@ -6,8 +6,8 @@ import java.util.List;
 
 import atas.commons.core.index.Index;
 import atas.model.session.SessionList;
-import atas.model.statistics.ParticipationStatistics;
-import atas.model.statistics.PresenceStatistics;
+import atas.model.statistics.AttendanceTally;
+import atas.model.statistics.StatisticsRegistry;
 import javafx.collections.ObservableList;
 
 /**
@@ -76,6 +76,14 @@ public class StudentList implements ReadOnlyStudentList {
         students.add(p);
     }
 
+    /**
+     * Inserts a student at the zero-based {@code index} of the student list.
+     * The student must not already exist in the student list.
+     */
+    public void addStudent(int index, Student p) {
+        students.add(index, p);
+    }
+
     /**
      * Replaces the given student {@code target} in the list with {@code editedStudent}.
      * {@code target} must exist in the student list.
@@ -99,13 +107,16 @@ public class StudentList implements ReadOnlyStudentList {
 
     /**
      * Recalculate student statistics using the given session list.
+     * All registered statistics of a student are computed together from its attendance counts.
      */
     public void refreshStudentListStatistics(SessionList sessionList) {
         int counter = 0;
+        int sessionCount = sessionList.returnSize();
         for (Student student: students) {
             Index index = Index.fromZeroBased(counter);
-            student.setStats(new ParticipationStatistics().getStudentStatistics(sessionList, index),
-                    new PresenceStatistics().getStudentStatistics(sessionList, index));
+            student.getStats().replaceAll(StatisticsRegistry.aggregate(new AttendanceTally(
+                    sessionList.getStudentPresenceCount(index), sessionList.getStudentParticipationCount(index),
+                    sessionCount)));
             counter++;
         }
     }
@@ -121,8 +132,11 @@ public class StudentList implements ReadOnlyStudentList {
         return students.asUnmodifiableObservableList();
     }
 
-    public ObservableList<Student> getModifiableStudentList() {
-        return students.asModifiableObservableList();
+    /**
+     * Returns a number that changes every time the students in the list are changed.
+     */
+    public int getVersion() {
+        return students.getVersion();
     }
 
     @Override
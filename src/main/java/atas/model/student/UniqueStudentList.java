@@ -3,8 +3,10 @@ package atas.model.student;
 import static atas.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import atas.model.student.exceptions.DuplicateStudentException;
 import atas.model.student.exceptions.StudentNotFoundException;
@@ -19,7 +21,8 @@ import javafx.collections.ObservableList;
  * in the UniqueStudentList. However, the removal of a student uses Student#equals(Object) so
  * as to ensure that the student with exactly the same fields will be removed.
  *
- * Supports a minimal set of list operations.
+ * Supports a minimal set of list operations. Students are also indexed by matriculation number and email address,
+ * so that checking for duplicates takes constant time per student.
  *
  * @see Student#isSameStudent(Student)
  */
@@ -28,23 +31,37 @@ public class UniqueStudentList implements Iterable<Student> {
     private final ObservableList<Student> internalList = FXCollections.observableArrayList();
     private final ObservableList<Student> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private final Map<Matriculation, Student> matriculationIndex = new HashMap<>();
+    private final Map<Email, Student> emailIndex = new HashMap<>();
+    private int version;
 
     /**
      * Returns true if the list contains an equivalent student as the given argument.
      */
     public boolean contains(Student toCheck) {
         requireNonNull(toCheck);
+        Student sameMatriculation = matriculationIndex.get(toCheck.getMatriculation());
+        Student sameEmail = emailIndex.get(toCheck.getEmail());
         // If more than one student have the same field as toCheck, return true.
         // At any point, the student list cannot have more than 1 student having the same unique identification fields.
-        return internalList.stream().filter(toCheck::hasSameField).count() > 1
-            || internalList.stream().anyMatch(toCheck::isSameStudent);
+        return (sameMatriculation != null && sameEmail != null && sameMatriculation != sameEmail)
+            || (sameMatriculation != null && sameMatriculation.isSameStudent(toCheck));
     }
 
     /**
      * Returns true if any student in the list has same identity field as the given argument.
      */
     private boolean hasAnyMatch(Student toCheck) {
-        return internalList.stream().anyMatch(toCheck::hasSameField);
+        return matriculationIndex.containsKey(toCheck.getMatriculation())
+                || emailIndex.containsKey(toCheck.getEmail());
+    }
+
+    /**
+     * Returns the student with the given {@code matriculation}, or null if there is none.
+     */
+    public Student getStudentByMatriculation(Matriculation matriculation) {
+        requireNonNull(matriculation);
+        return matriculationIndex.get(matriculation);
     }
 
     /**
@@ -57,6 +74,22 @@ public class UniqueStudentList implements Iterable<Student> {
             throw new DuplicateStudentException();
         }
         internalList.add(toAdd);
+        index(toAdd);
+        version++;
+    }
+
+    /**
+     * Inserts a student at the zero-based {@code index} of the list.
+     * The student must not already exist in the list.
+     */
+    public void add(int index, Student toAdd) {
+        requireNonNull(toAdd);
+        if (hasAnyMatch(toAdd)) {
+            throw new DuplicateStudentException();
+        }
+        internalList.add(index, toAdd);
+        index(toAdd);
+        version++;
     }
 
     /**
@@ -65,9 +98,12 @@ public class UniqueStudentList implements Iterable<Student> {
      */
     public void remove(Student toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        Student existing = matriculationIndex.get(toRemove.getMatriculation());
+        if (existing == null || !existing.equals(toRemove) || !internalList.remove(existing)) {
             throw new StudentNotFoundException();
         }
+        unindex(existing);
+        version++;
     }
 
     /**
@@ -83,16 +119,31 @@ public class UniqueStudentList implements Iterable<Student> {
             throw new StudentNotFoundException();
         }
 
-        if (!target.hasSameField(editedStudent) && contains(editedStudent)) {
+        Student current = internalList.get(index);
+        Student sameMatriculation = matriculationIndex.get(editedStudent.getMatriculation());
+        Student sameEmail = emailIndex.get(editedStudent.getEmail());
+        if ((sameMatriculation != null && sameMatriculation != current)
+                || (sameEmail != null && sameEmail != current)) {
             throw new DuplicateStudentException();
         }
 
         internalList.set(index, editedStudent);
+        unindex(current);
+        index(editedStudent);
+        version++;
     }
 
+    /**
+     * Replaces the contents of this list with the students in {@code replacement}.
+     */
     public void setStudents(UniqueStudentList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        matriculationIndex.clear();
+        matriculationIndex.putAll(replacement.matriculationIndex);
+        emailIndex.clear();
+        emailIndex.putAll(replacement.emailIndex);
+        version++;
     }
 
     /**
@@ -101,11 +152,21 @@ public class UniqueStudentList implements Iterable<Student> {
      */
     public void setStudents(List<Student> students) {
         requireAllNonNull(students);
-        if (!studentsAreUnique(students)) {
-            throw new DuplicateStudentException();
+        Map<Matriculation, Student> newMatriculationIndex = new HashMap<>();
+        Map<Email, Student> newEmailIndex = new HashMap<>();
+        for (Student student : students) {
+            if (newMatriculationIndex.putIfAbsent(student.getMatriculation(), student) != null
+                    || newEmailIndex.putIfAbsent(student.getEmail(), student) != null) {
+                throw new DuplicateStudentException();
+            }
         }
 
         internalList.setAll(students);
+        matriculationIndex.clear();
+        matriculationIndex.putAll(newMatriculationIndex);
+        emailIndex.clear();
+        emailIndex.putAll(newEmailIndex);
+        version++;
     }
 
     /**
@@ -115,17 +176,17 @@ public class UniqueStudentList implements Iterable<Student> {
         return internalUnmodifiableList;
     }
 
-    /**
-     * Returns the backing list as a modifiable {@code ObservableList}.
-     */
-    public ObservableList<Student> asModifiableObservableList() {
-        return internalList;
-    }
-
     public int size() {
         return internalList.size();
     }
 
+    /**
+     * Returns a number that changes every time the list is changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     @Override
     public Iterator<Student> iterator() {
         return internalList.iterator();
@@ -143,17 +204,16 @@ public class UniqueStudentList implements Iterable<Student> {
         return internalList.hashCode();
     }
 
+    private void index(Student student) {
+        matriculationIndex.put(student.getMatriculation(), student);
+        emailIndex.put(student.getEmail(), student);
+    }
+
     /**
-     * Returns true if {@code students} contains only unique students.
+     * Removes {@code student} from the indexes, leaving entries that belong to other students alone.
      */
-    private boolean studentsAreUnique(List<Student> students) {
-        for (int i = 0; i < students.size() - 1; i++) {
-            for (int j = i + 1; j < students.size(); j++) {
-                if (students.get(i).hasSameField(students.get(j))) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    private void unindex(Student student) {
+        matriculationIndex.remove(student.getMatriculation(), student);
+        emailIndex.remove(student.getEmail(), student);
     }
 }
@@ -4,72 +4,105 @@ import java.util.ArrayList;
 import java.util.List;
 
 import atas.model.VersionedEntity;
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
-
+import atas.model.history.CompoundEntry;
+import atas.model.history.JournalEntry;
+import atas.model.history.SnapshotEntry;
+
+/**
+ * A {@code StudentList} that records the changes made to it by every command.
+ * Adding, removing and editing a student are recorded as their inverse operations. Replacing the whole list is
+ * recorded as snapshots of the list before and after the change, taken only when the list is replaced.
+ */
 public class VersionedStudentList extends StudentList implements VersionedEntity {
 
-    private final List<ReadOnlyStudentList> studentStateList;
-    private int currentStatePointer;
+    private static final long OPERATION_BYTES = 48;
+    private static final long BYTES_PER_STUDENT = 16;
+
+    private final List<JournalEntry> pendingOperations;
 
     /**
      * Creates a VersionedStudentList using the students in the {@code initialState}.
      */
     public VersionedStudentList(ReadOnlyStudentList initialState) {
-        super(initialState);
-
-        studentStateList = new ArrayList<>();
-        studentStateList.add(new StudentList(initialState));
-        currentStatePointer = 0;
+        super();
+        pendingOperations = new ArrayList<>();
+        resetData(initialState);
+        discardChanges();
     }
 
-    public List<ReadOnlyStudentList> getStudentStateList() {
-        return studentStateList;
+    @Override
+    public void setStudents(List<Student> students) {
+        List<Student> before = List.copyOf(getStudentList());
+        super.setStudents(students);
+        List<Student> after = List.copyOf(getStudentList());
+        long estimatedBytes = BYTES_PER_STUDENT * (before.size() + after.size());
+        pendingOperations.add(new SnapshotEntry<>(before, after, state -> super.setStudents(state), estimatedBytes));
     }
 
     @Override
-    public void commit() {
-        removeStatesAfterCurrentPointer();
-        this.studentStateList.add(new StudentList(this));
-        currentStatePointer++;
+    public void addStudent(Student p) {
+        super.addStudent(p);
+        recordOperation(() -> super.removeStudent(p), () -> super.addStudent(p));
     }
 
     @Override
-    public boolean canUndo() {
-        return currentStatePointer > 0;
+    public void setStudent(Student target, Student editedStudent) {
+        super.setStudent(target, editedStudent);
+        recordOperation(() -> super.setStudent(editedStudent, target), () -> super.setStudent(target, editedStudent));
     }
 
     @Override
-    public void undo() {
-        if (!canUndo()) {
-            throw new UnableToUndoException();
-        }
-        resetData(studentStateList.get(--currentStatePointer));
+    public void removeStudent(Student key) {
+        int row = getStudentList().indexOf(key);
+        super.removeStudent(key);
+        recordOperation(() -> super.addStudent(row, key), () -> super.removeStudent(key));
     }
 
-    @Override
-    public boolean canRedo() {
-        return currentStatePointer < this.studentStateList.size() - 1;
+    private void recordOperation(Runnable undoAction, Runnable redoAction) {
+        pendingOperations.add(new StudentOperation(undoAction, redoAction));
     }
 
+    /**
+     * Returns the changes made since the last commit, in the order they were made.
+     */
     @Override
-    public void redo() {
-        if (!canRedo()) {
-            throw new UnableToRedoException();
-        }
-        resetData(studentStateList.get(++currentStatePointer));
+    public JournalEntry commit() {
+        JournalEntry changes = new CompoundEntry(pendingOperations);
+        discardChanges();
+        return changes;
     }
 
-    public int getCurrentStatePointer() {
-        return currentStatePointer;
+    @Override
+    public void discardChanges() {
+        pendingOperations.clear();
     }
 
-    public void setCurrentStatePointer(int newPointer) {
-        currentStatePointer = newPointer;
-    }
+    /**
+     * Represents a change to a single student, together with the change that reverts it.
+     */
+    private static class StudentOperation implements JournalEntry {
 
-    private void removeStatesAfterCurrentPointer() {
-        this.studentStateList.subList(currentStatePointer + 1, studentStateList.size()).clear();
-    }
+        private final Runnable undoAction;
+        private final Runnable redoAction;
 
+        private StudentOperation(Runnable undoAction, Runnable redoAction) {
+            this.undoAction = undoAction;
+            this.redoAction = redoAction;
+        }
+
+        @Override
+        public void undo() {
+            undoAction.run();
+        }
+
+        @Override
+        public void redo() {
+            redoAction.run();
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return OPERATION_BYTES;
+        }
+    }
 }
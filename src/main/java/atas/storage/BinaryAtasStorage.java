@@ -0,0 +1,112 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.exceptions.IllegalValueException;
+import atas.model.student.ReadOnlyStudentList;
+import atas.model.student.Student;
+import atas.model.tag.Tag;
+
+/**
+ * A class to access the student list stored as a memory-mapped binary snapshot, see {@link MappedSnapshotFile}.
+ * After the header, the snapshot holds the number of students, and for each student its name, matriculation
+ * number, email, number of tags and tags.
+ * Students are checked against the same constraints as students read from JSON.
+ */
+public class BinaryAtasStorage implements AtasStorage {
+
+    static final int MAGIC = 0x41545354;
+    static final int FORMAT_VERSION = 1;
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryAtasStorage.class);
+
+    private final Path filePath;
+
+    public BinaryAtasStorage(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public Path getStudentListFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList() throws DataConversionException {
+        return readStudentList(filePath);
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        try {
+            Optional<ByteBuffer> snapshot = new MappedSnapshotFile(filePath, MAGIC, FORMAT_VERSION).map();
+            if (snapshot.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(readStudents(snapshot.get()).toModelType());
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList) throws IOException {
+        saveStudentList(studentList, filePath);
+    }
+
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList, Path filePath) throws IOException {
+        requireNonNull(studentList);
+        requireNonNull(filePath);
+
+        new MappedSnapshotFile(filePath, MAGIC, FORMAT_VERSION).save(out -> writeStudents(studentList, out));
+    }
+
+    private static void writeStudents(ReadOnlyStudentList studentList, DataOutputStream out) throws IOException {
+        List<Student> students = studentList.getStudentList();
+        out.writeInt(students.size());
+        for (Student student : students) {
+            MappedSnapshotFile.writeString(out, student.getName().fullName);
+            MappedSnapshotFile.writeString(out, student.getMatriculation().value);
+            MappedSnapshotFile.writeString(out, student.getEmail().value);
+            out.writeInt(student.getTags().size());
+            for (Tag tag : student.getTags()) {
+                MappedSnapshotFile.writeString(out, tag.tagName);
+            }
+        }
+    }
+
+    private static JsonSerializableStudentList readStudents(ByteBuffer buffer) throws IllegalValueException {
+        int studentCount = MappedSnapshotFile.readCount(buffer);
+        List<JsonAdaptedStudent> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            String name = MappedSnapshotFile.readString(buffer);
+            String matriculation = MappedSnapshotFile.readString(buffer);
+            String email = MappedSnapshotFile.readString(buffer);
+            int tagCount = MappedSnapshotFile.readCount(buffer);
+            List<JsonAdaptedTag> tags = new ArrayList<>();
+            for (int j = 0; j < tagCount; j++) {
+                tags.add(new JsonAdaptedTag(MappedSnapshotFile.readString(buffer)));
+            }
+            students.add(new JsonAdaptedStudent(name, matriculation, email, tags));
+        }
+        return new JsonSerializableStudentList(students);
+    }
+}
@@ -0,0 +1,282 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.core.index.Index;
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.exceptions.IllegalValueException;
+import atas.model.session.AttendanceLoader;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.session.Session;
+import atas.model.session.SessionDate;
+import atas.model.session.SessionList;
+import atas.model.session.SessionName;
+import atas.model.session.SessionRoster;
+import atas.model.session.exceptions.DuplicateSessionException;
+
+/**
+ * A class to access the session list stored as a memory-mapped binary snapshot, see {@link MappedSnapshotFile}.
+ * After the header, the snapshot holds the number of students, whether the students are saved by matriculation
+ * number or by name, the matriculation number or name of each student in roster order, and the number of sessions
+ * each of them attended and participated in. It then holds the number of sessions, the number of 64-bit words in
+ * each attendance column, and for each session its name, date, attendance counts, and its presence and
+ * participation columns. A column has the bit of each student in roster order, as the words of a {@code BitSet}.
+ * Reading the session list checks the columns of every session against the saved attendance counts, but only
+ * keeps the details of the sessions. The attendance of a session is read straight from its columns in the mapped
+ * snapshot the first time it is needed.
+ */
+public class BinarySessionListStorage implements SessionListStorage {
+
+    static final int MAGIC = 0x4154534C;
+    static final int FORMAT_VERSION = 2;
+    static final int STUDENTS_BY_ID = 1;
+    static final int STUDENTS_BY_NAME = 2;
+
+    private static final Logger logger = LogsCenter.getLogger(BinarySessionListStorage.class);
+
+    private final Path filePath;
+
+    public BinarySessionListStorage(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public Path getSessionListFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlySessionList> readSessionList() throws DataConversionException {
+        return readSessionList(filePath);
+    }
+
+    @Override
+    public Optional<ReadOnlySessionList> readSessionList(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        try {
+            Optional<ByteBuffer> snapshot = new MappedSnapshotFile(filePath, MAGIC, FORMAT_VERSION).map();
+            if (snapshot.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(toModelType(snapshot.get()));
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveSessionList(ReadOnlySessionList sessionList) throws IOException {
+        saveSessionList(sessionList, filePath);
+    }
+
+    @Override
+    public void saveSessionList(ReadOnlySessionList sessionList, Path filePath) throws IOException {
+        requireNonNull(sessionList);
+        requireNonNull(filePath);
+
+        new MappedSnapshotFile(filePath, MAGIC, FORMAT_VERSION).save(out -> writeSessionList(sessionList, out));
+    }
+
+    private static void writeSessionList(ReadOnlySessionList sessionList, DataOutputStream out) throws IOException {
+        List<Session> sessions = sessionList.getSessions();
+        // All sessions of a session list share one roster
+        int studentCount = sessions.isEmpty() ? 0 : sessions.get(0).getNumberOfStudents();
+        List<String> studentIds = new ArrayList<>();
+        List<String> studentNames = new ArrayList<>();
+        if (studentCount > 0) {
+            JsonSerializableSessionList.writeStudents(sessions.get(0), studentIds, studentNames);
+        }
+        out.writeInt(studentCount);
+        out.writeInt(studentNames.isEmpty() ? STUDENTS_BY_ID : STUDENTS_BY_NAME);
+        for (String student : studentNames.isEmpty() ? studentIds : studentNames) {
+            MappedSnapshotFile.writeString(out, student);
+        }
+        for (int i = 0; i < studentCount; i++) {
+            out.writeInt(sessionList.getStudentPresenceCount(Index.fromZeroBased(i)));
+            out.writeInt(sessionList.getStudentParticipationCount(Index.fromZeroBased(i)));
+        }
+
+        int words = getWordsPerColumn(studentCount);
+        out.writeInt(sessions.size());
+        out.writeInt(words);
+        for (Session session : sessions) {
+            MappedSnapshotFile.writeString(out, session.getSessionName().value);
+            MappedSnapshotFile.writeString(out, session.getSessionDate().toString());
+            out.writeInt(session.getPresenceCount());
+            out.writeInt(session.getParticipationCount());
+
+            BitSet presence = new BitSet(studentCount);
+            BitSet participation = new BitSet(studentCount);
+            readAttendance(session, studentCount, presence, participation);
+            writeColumn(out, presence, words);
+            writeColumn(out, participation, words);
+        }
+    }
+
+    /**
+     * Sets the bits of the attendance of {@code session} in {@code presence} and {@code participation}.
+     * The attendance of a session that is unchanged since it was loaded is read again from where it was loaded
+     * from, without loading it into the session.
+     */
+    private static void readAttendance(Session session, int studentCount, BitSet presence, BitSet participation) {
+        Optional<AttendanceLoader> source = session.getAttendanceSource();
+        if (source.isPresent()) {
+            source.get().load(presence, participation);
+            return;
+        }
+        for (int i = 0; i < studentCount; i++) {
+            presence.set(i, session.getPresenceStatus(i));
+            participation.set(i, session.getParticipationStatus(i));
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, BitSet column, int words) throws IOException {
+        long[] columnWords = column.toLongArray();
+        for (int i = 0; i < words; i++) {
+            out.writeLong(i < columnWords.length ? columnWords[i] : 0);
+        }
+    }
+
+    private static int getWordsPerColumn(int studentCount) {
+        return (studentCount + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Converts the snapshot in {@code buffer}, positioned after its header, into the model's {@code SessionList}.
+     *
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    private static SessionList toModelType(ByteBuffer buffer) throws IllegalValueException {
+        int studentCount = MappedSnapshotFile.readCount(buffer);
+        int studentKind = MappedSnapshotFile.readCount(buffer);
+        if (studentKind != STUDENTS_BY_ID && studentKind != STUDENTS_BY_NAME) {
+            throw new IllegalValueException(MappedSnapshotFile.MESSAGE_CORRUPT_SNAPSHOT);
+        }
+        List<String> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            students.add(MappedSnapshotFile.readString(buffer));
+        }
+        SessionRoster roster = new SessionRoster();
+        List<Integer> slots = studentKind == STUDENTS_BY_ID
+                ? JsonSerializableSessionList.readStudents(students, List.of(), roster)
+                : JsonSerializableSessionList.readStudents(List.of(), students, roster);
+        int[] presenceCounts = new int[studentCount];
+        int[] participationCounts = new int[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            presenceCounts[i] = MappedSnapshotFile.readCount(buffer);
+            participationCounts[i] = MappedSnapshotFile.readCount(buffer);
+        }
+
+        int sessionCount = MappedSnapshotFile.readCount(buffer);
+        int words = MappedSnapshotFile.readCount(buffer);
+        if (words != getWordsPerColumn(studentCount)) {
+            throw new IllegalValueException(MappedSnapshotFile.MESSAGE_CORRUPT_SNAPSHOT);
+        }
+        for (int i = 0; i < studentCount; i++) {
+            if (presenceCounts[i] > sessionCount || participationCounts[i] > sessionCount) {
+                throw new IllegalValueException(JsonSerializableSessionIndex.MESSAGE_INVALID_COUNTS);
+            }
+            roster.adjustPresenceCount(slots.get(i), presenceCounts[i]);
+            roster.adjustParticipationCount(slots.get(i), participationCounts[i]);
+        }
+
+        int[] presenceTotals = new int[studentCount];
+        int[] participationTotals = new int[studentCount];
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            SessionName sessionName = JsonAdaptedSession.toSessionName(MappedSnapshotFile.readString(buffer));
+            SessionDate sessionDate = JsonAdaptedSession.toSessionDate(MappedSnapshotFile.readString(buffer));
+            int presenceCount = MappedSnapshotFile.readCount(buffer);
+            int participationCount = MappedSnapshotFile.readCount(buffer);
+            if (presenceCount > studentCount || participationCount > studentCount) {
+                throw new IllegalValueException(JsonSerializableSessionIndex.MESSAGE_INVALID_COUNTS);
+            }
+
+            long columnBytes = (long) words * Long.BYTES;
+            if (2 * columnBytes > buffer.remaining()) {
+                throw new IllegalValueException(MappedSnapshotFile.MESSAGE_CORRUPT_SNAPSHOT);
+            }
+            int position = buffer.position();
+            checkColumn(readColumn(buffer, position, words), studentCount, presenceCount, presenceTotals);
+            checkColumn(readColumn(buffer, position + (int) columnBytes, words), studentCount, participationCount,
+                    participationTotals);
+            AttendanceLoader loader = new ColumnLoader(buffer, position, words);
+            buffer.position(position + (int) (2 * columnBytes));
+            sessions.add(new Session(sessionName, sessionDate, roster, presenceCount, participationCount, loader));
+        }
+        if (!Arrays.equals(presenceTotals, presenceCounts)
+                || !Arrays.equals(participationTotals, participationCounts)) {
+            throw new IllegalValueException(JsonSerializableSessionIndex.MESSAGE_INVALID_COUNTS);
+        }
+        try {
+            return new SessionList(roster, sessions);
+        } catch (DuplicateSessionException e) {
+            throw new IllegalValueException(JsonSerializableSessionList.MESSAGE_DUPLICATE_SESSION);
+        }
+    }
+
+    private static BitSet readColumn(ByteBuffer snapshot, int position, int words) {
+        ByteBuffer column = snapshot.duplicate();
+        column.position(position);
+        column.limit(position + words * Long.BYTES);
+        return BitSet.valueOf(column.slice().asLongBuffer());
+    }
+
+    /**
+     * Checks that {@code column} only has bits for the {@code studentCount} students and has {@code count} of them
+     * set, and adds the bits set to the {@code totals} of each student.
+     *
+     * @throws IllegalValueException if the column does not match.
+     */
+    private static void checkColumn(BitSet column, int studentCount, int count, int[] totals)
+            throws IllegalValueException {
+        if (column.length() > studentCount) {
+            throw new IllegalValueException(MappedSnapshotFile.MESSAGE_CORRUPT_SNAPSHOT);
+        }
+        if (column.cardinality() != count) {
+            throw new IllegalValueException(JsonSerializableSessionIndex.MESSAGE_INVALID_COUNTS);
+        }
+        for (int i = column.nextSetBit(0); i >= 0; i = column.nextSetBit(i + 1)) {
+            totals[i]++;
+        }
+    }
+
+    /**
+     * Reads the attendance of a session from its columns in a mapped snapshot, which were checked when the
+     * session list was read.
+     */
+    private static class ColumnLoader implements AttendanceLoader {
+        private final ByteBuffer snapshot;
+        private final int position;
+        private final int words;
+
+        private ColumnLoader(ByteBuffer snapshot, int position, int words) {
+            this.snapshot = snapshot;
+            this.position = position;
+            this.words = words;
+        }
+
+        @Override
+        public void load(BitSet presence, BitSet participation) {
+            presence.or(readColumn(snapshot, position, words));
+            participation.or(readColumn(snapshot, position + words * Long.BYTES, words));
+        }
+    }
+}
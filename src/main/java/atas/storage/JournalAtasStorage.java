@@ -0,0 +1,89 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.exceptions.IllegalValueException;
+import atas.commons.util.JsonUtil;
+import atas.model.student.ReadOnlyStudentList;
+
+/**
+ * A class to access the student list stored as a json snapshot and a journal of changes on the hard disk.
+ * Saving the student list only appends the changes since the last save, such as an added student.
+ *
+ * @see JournaledJsonFile
+ */
+public class JournalAtasStorage implements AtasStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(JournalAtasStorage.class);
+
+    private final Path filePath;
+    private final JournaledJsonFile file;
+
+    public JournalAtasStorage(Path filePath) {
+        this(new JournaledJsonFile(filePath));
+    }
+
+    /**
+     * Creates a {@code JournalAtasStorage} that keeps the student list in {@code file}.
+     */
+    public JournalAtasStorage(JournaledJsonFile file) {
+        requireNonNull(file);
+        this.filePath = file.getSnapshotPath();
+        this.file = file;
+    }
+
+    @Override
+    public Path getStudentListFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList() throws DataConversionException {
+        return readStudentList(filePath);
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        Optional<JsonNode> tree = getFile(filePath).read();
+        if (tree.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(JsonUtil.fromJsonTree(tree.get(), JsonSerializableStudentList.class).toModelType());
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList) throws IOException {
+        saveStudentList(studentList, filePath);
+    }
+
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList, Path filePath) throws IOException {
+        requireNonNull(studentList);
+        requireNonNull(filePath);
+
+        getFile(filePath).save(JsonUtil.toJsonTree(new JsonSerializableStudentList(studentList)));
+    }
+
+    private JournaledJsonFile getFile(Path filePath) {
+        return filePath.equals(this.filePath) ? file : new JournaledJsonFile(filePath);
+    }
+}
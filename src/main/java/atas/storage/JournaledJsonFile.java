@@ -0,0 +1,289 @@
+package atas.storage;
+
+import static atas.commons.util.FileUtil.createParentDirsOfFile;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.util.FileUtil;
+import atas.commons.util.JsonUtil;
+
+/**
+ * Represents a JSON data file that is saved as a snapshot followed by an append-only journal of changes.
+ * Saving a tree only appends the records that turn the last saved tree into it, so the cost of a save is proportional
+ * to the change rather than to the size of the data. Once the journal grows past a threshold, it is compacted in the
+ * background by writing a new snapshot.
+ * Every record carries a sequence number, and the snapshot stores the sequence number of the last record it includes,
+ * so records already in the snapshot are skipped when the journal is replayed. Snapshots are written to a temporary
+ * file and moved into place, so a crash at any point leaves a snapshot and journal that replay to a saved state.
+ * The snapshot is the same JSON file that would be saved without a journal, with one extra field.
+ */
+public class JournaledJsonFile {
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 64 * 1024;
+    public static final String JOURNAL_SUFFIX = ".journal";
+    public static final String COMPACTING_JOURNAL_SUFFIX = ".journal.old";
+
+    static final String SEQUENCE_FIELD = "journalSequence";
+    static final String RECORD_SEQUENCE = "seq";
+
+    private static final Logger logger = LogsCenter.getLogger(JournaledJsonFile.class);
+    private static final Executor defaultCompactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path compactingJournalPath;
+    private final long compactionThresholdBytes;
+    private final Executor compactor;
+
+    // Tree as of the last read or save, or null if it is not known. Never modified once stored.
+    private JsonNode savedTree;
+    private long nextSequence = 1;
+    private long journalBytes;
+    // True if the journal cannot be appended to, so that the next save must write a full snapshot.
+    private boolean needsFullSnapshot;
+    private boolean isCompacting;
+    // Changes every time a full snapshot is written, so that an outdated compaction is discarded.
+    private int snapshotGeneration;
+
+    /**
+     * Creates a {@code JournaledJsonFile} with its snapshot at {@code snapshotPath}, compacted in the background
+     * with the default threshold.
+     */
+    public JournaledJsonFile(Path snapshotPath) {
+        this(snapshotPath, DEFAULT_COMPACTION_THRESHOLD_BYTES, defaultCompactor);
+    }
+
+    /**
+     * Creates a {@code JournaledJsonFile} with its snapshot at {@code snapshotPath}, which is compacted using
+     * {@code compactor} once its journal holds at least {@code compactionThresholdBytes}.
+     */
+    public JournaledJsonFile(Path snapshotPath, long compactionThresholdBytes, Executor compactor) {
+        requireNonNull(snapshotPath);
+        requireNonNull(compactor);
+        this.snapshotPath = snapshotPath;
+        this.journalPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + JOURNAL_SUFFIX);
+        this.compactingJournalPath = snapshotPath.resolveSibling(snapshotPath.getFileName()
+                + COMPACTING_JOURNAL_SUFFIX);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.compactor = compactor;
+    }
+
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Returns the saved tree, replaying the journal over the snapshot,
+     * or {@code Optional.empty()} if neither the snapshot nor the journal exists.
+     * A record cut short at the end of the journal, as left by a crash while appending, is ignored.
+     *
+     * @throws DataConversionException if the snapshot or the journal is not in the expected format.
+     */
+    public synchronized Optional<JsonNode> read() throws DataConversionException {
+        savedTree = null;
+        boolean hasCompactingJournal = Files.exists(compactingJournalPath);
+        if (!Files.exists(snapshotPath) && !Files.exists(journalPath) && !hasCompactingJournal) {
+            return Optional.empty();
+        }
+
+        JsonNode tree = JsonUtil.readJsonFile(snapshotPath, JsonNode.class)
+                .orElseGet(JsonNodeFactory.instance::objectNode);
+        long lastSequence = tree.path(SEQUENCE_FIELD).asLong(0);
+        if (tree.isObject()) {
+            ((ObjectNode) tree).remove(SEQUENCE_FIELD);
+        }
+
+        needsFullSnapshot = hasCompactingJournal;
+        journalBytes = 0;
+        for (Path journal : List.of(compactingJournalPath, journalPath)) {
+            if (!Files.exists(journal)) {
+                continue;
+            }
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+                journalBytes += Files.size(journal);
+            } catch (IOException e) {
+                throw new DataConversionException(e);
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = JsonUtil.fromJsonString(lines.get(i), JsonNode.class);
+                } catch (IOException e) {
+                    if (i < lines.size() - 1) {
+                        throw new DataConversionException(e);
+                    }
+                    logger.warning("Ignoring incomplete record at the end of " + journal);
+                    needsFullSnapshot = true;
+                    break;
+                }
+                long sequence = record.path(RECORD_SEQUENCE).asLong(0);
+                if (sequence > lastSequence) {
+                    tree = JsonTreeDiff.apply(tree, record);
+                    lastSequence = sequence;
+                }
+            }
+        }
+
+        savedTree = tree;
+        nextSequence = lastSequence + 1;
+        return Optional.of(tree);
+    }
+
+    /**
+     * Saves {@code tree}, which must not be modified afterwards.
+     * If the last saved tree is known, only the changes from it are appended to the journal. Otherwise a full
+     * snapshot is written and the journal is cleared.
+     *
+     * @throws IOException if there was any problem writing to the files.
+     */
+    public synchronized void save(JsonNode tree) throws IOException {
+        requireNonNull(tree);
+        if (savedTree == null || needsFullSnapshot) {
+            writeFullSnapshot(tree);
+            return;
+        }
+
+        List<ObjectNode> records = JsonTreeDiff.diff(savedTree, tree);
+        if (records.isEmpty()) {
+            savedTree = tree;
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (ObjectNode record : records) {
+            record.put(RECORD_SEQUENCE, nextSequence++);
+            lines.append(JsonUtil.toCompactJsonString(record)).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            createParentDirsOfFile(journalPath);
+            appendToJournal(bytes);
+        } catch (IOException e) {
+            // Part of the records may have been written, so the journal can no longer be appended to
+            needsFullSnapshot = true;
+            throw e;
+        }
+        journalBytes += bytes.length;
+        savedTree = tree;
+
+        if (journalBytes >= compactionThresholdBytes && !isCompacting) {
+            startCompaction();
+        }
+    }
+
+    /**
+     * Returns the number of bytes in the journal that have not been compacted into the snapshot yet.
+     */
+    public synchronized long getJournalBytes() {
+        return journalBytes;
+    }
+
+    /**
+     * Appends {@code bytes} to the journal and syncs them to the disk.
+     */
+    private void appendToJournal(byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private void writeFullSnapshot(JsonNode tree) throws IOException {
+        snapshotGeneration++;
+        // The snapshot is replaced atomically
+        writeSnapshot(tree, nextSequence - 1, snapshotPath);
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(compactingJournalPath);
+        journalBytes = 0;
+        needsFullSnapshot = false;
+        savedTree = tree;
+    }
+
+    /**
+     * Moves the journal aside and writes a snapshot of the saved tree in the background.
+     * Records saved in the meantime go to a new journal.
+     */
+    private void startCompaction() throws IOException {
+        moveIntoPlace(journalPath, compactingJournalPath);
+        journalBytes = 0;
+        isCompacting = true;
+        JsonNode tree = savedTree;
+        long sequence = nextSequence - 1;
+        int generation = snapshotGeneration;
+        compactor.execute(() -> compact(tree, sequence, generation));
+    }
+
+    private void compact(JsonNode tree, long sequence, int generation) {
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".compact.tmp");
+        try {
+            writeSnapshot(tree, sequence, temporaryPath);
+            synchronized (this) {
+                if (generation == snapshotGeneration) {
+                    moveIntoPlace(temporaryPath, snapshotPath);
+                    Files.deleteIfExists(compactingJournalPath);
+                } else {
+                    Files.deleteIfExists(temporaryPath);
+                }
+                isCompacting = false;
+            }
+            logger.fine("Compacted journal of " + snapshotPath);
+        } catch (IOException e) {
+            logger.warning("Failed to compact journal of " + snapshotPath + ": " + e);
+            synchronized (this) {
+                needsFullSnapshot = true;
+                isCompacting = false;
+            }
+        }
+    }
+
+    private static void writeSnapshot(JsonNode tree, long sequence, Path path) throws IOException {
+        JsonNode snapshot = tree;
+        if (tree.isObject()) {
+            ObjectNode root = JsonNodeFactory.instance.objectNode();
+            root.setAll((ObjectNode) tree);
+            root.put(SEQUENCE_FIELD, sequence);
+            snapshot = root;
+        }
+        createParentDirsOfFile(path);
+        JsonUtil.saveJsonFile(snapshot, path);
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        FileUtil.moveAtomically(source, target);
+    }
+}
@@ -2,40 +2,67 @@ package atas.storage;
 
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import atas.commons.exceptions.IllegalValueException;
 import atas.model.session.Attributes;
+import atas.model.session.Participation;
+import atas.model.session.Presence;
 import atas.model.session.Session;
 import atas.model.session.SessionDate;
 import atas.model.session.SessionName;
+import atas.model.session.SessionRoster;
 import atas.model.student.Name;
 
 /**
  * Jackson-friendly version of {@link Session}.
+ * The presence and participation of the students are saved as packed bit strings: the bits of a {@code BitSet}
+ * in roster order, in little-endian bytes encoded as Base64. The names of the students are saved once for the
+ * whole session list, see {@link JsonSerializableSessionList}.
+ * Sessions saved in the old format, with an {@code attributesList} holding one entry per student, can still be read.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonAdaptedSession {
 
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Session's %s field is missing!";
+    public static final String MESSAGE_INVALID_BITS = "Session's %s field is not a valid packed bit string!";
 
     private final String sessionName;
     private final String sessionDate;
-    private final List<JsonAdaptedAttributes> attributesList = new ArrayList<>();
+    private final String presence;
+    private final String participation;
+    // Only present in sessions saved in the old format
+    private final List<JsonAdaptedAttributes> attributesList;
 
     /**
-     * Constructs a {@code JsonAdaptedStudent} with the given student details.
+     * Constructs a {@code JsonAdaptedSession} in the old format with the given session details.
+     */
+    public JsonAdaptedSession(String sessionName, String sessionDate, List<JsonAdaptedAttributes> attributesList) {
+        this(sessionName, sessionDate, null, null, attributesList);
+    }
+
+    /**
+     * Constructs a {@code JsonAdaptedSession} with the given session details.
      */
     @JsonCreator
     public JsonAdaptedSession(@JsonProperty("sessionName") String sessionName,
                              @JsonProperty("sessionDate") String sessionDate,
+                             @JsonProperty("presence") String presence,
+                             @JsonProperty("participation") String participation,
                              @JsonProperty("attributesList") List<JsonAdaptedAttributes> attributesList) {
         this.sessionName = sessionName;
         this.sessionDate = sessionDate;
-        this.attributesList.addAll(attributesList);
+        this.presence = presence;
+        this.participation = participation;
+        this.attributesList = attributesList == null ? null : new ArrayList<>(attributesList);
     }
 
     /**
@@ -44,23 +71,124 @@ public class JsonAdaptedSession {
     public JsonAdaptedSession(Session source) {
         sessionName = source.getSessionName().value;
         sessionDate = source.getSessionDate().toString();
-        for (int i = 0; i < source.getAttributeList().size(); i++) {
-            try {
-                JsonAdaptedAttributes jsonAdaptedAttributes = new JsonAdaptedAttributes(
-                        i, source.getAttributeList(), source.returnStudentNameStringByIndex(i));
-                attributesList.add(jsonAdaptedAttributes);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+        int size = source.getNumberOfStudents();
+        BitSet presenceBits = new BitSet(size);
+        BitSet participationBits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            presenceBits.set(i, source.getPresenceStatus(i));
+            participationBits.set(i, source.getParticipationStatus(i));
         }
+        presence = Base64.getEncoder().encodeToString(presenceBits.toByteArray());
+        participation = Base64.getEncoder().encodeToString(participationBits.toByteArray());
+        attributesList = null;
     }
 
     /**
-     * Converts this Jackson-friendly adapted student object into the model's {@code Session} object.
+     * Converts this Jackson-friendly adapted session object into the model's {@code Session} object,
+     * with no student names to go with packed attendance.
      *
      * @throws IllegalValueException if there were any data constraints violated in the adapted session.
      */
     public Session toModelType() throws IllegalValueException {
+        return toModelType(Collections.emptyList());
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted session object into the model's {@code Session} object.
+     * Packed attendance is matched to {@code studentNames} by position.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted session.
+     */
+    public Session toModelType(List<Name> studentNames) throws IllegalValueException {
+        SessionRoster roster = new SessionRoster();
+        for (Name studentName : studentNames) {
+            roster.addRow(studentName);
+        }
+        return toModelType(roster);
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted session object into the model's {@code Session} object, keyed by
+     * {@code roster} and included in its attendance counts. Packed attendance is matched to the rows of
+     * {@code roster} and decoded straight into attendance columns.
+     * A session saved in the old format carries its own students, and is keyed by a roster of its own instead.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted session.
+     */
+    public Session toModelType(SessionRoster roster) throws IllegalValueException {
+        return decode(roster.size()).toModelType(roster);
+    }
+
+    /**
+     * Validates and decodes this session for a roster of {@code size} students, without touching the roster.
+     * Sessions of one session list can therefore be decoded in parallel. A session that fails to be decoded
+     * keeps the failure, to be thrown when it is converted.
+     */
+    DecodedSession decode(int size) {
+        try {
+            final SessionName name = toSessionName(sessionName);
+            final SessionDate date = toSessionDate(sessionDate);
+            if (attributesList != null) {
+                return new DecodedSession(new Session(name, date, toAttributes()));
+            }
+            BitSet presenceBits = unpack(presence, Presence.class.getSimpleName(), size);
+            BitSet participationBits = unpack(participation, Participation.class.getSimpleName(), size);
+            return new DecodedSession(name, date, presenceBits, participationBits);
+        } catch (IllegalValueException e) {
+            return new DecodedSession(e);
+        }
+    }
+
+    /**
+     * Returns the {@code SessionName} given by {@code sessionName}.
+     *
+     * @throws IllegalValueException if {@code sessionName} is missing or invalid.
+     */
+    static SessionName toSessionName(String sessionName) throws IllegalValueException {
+        if (sessionName == null) {
+            throw new IllegalValueException(SessionName.MESSAGE_CONSTRAINTS);
+        }
+        if (!SessionName.isValidSessionName(sessionName)) {
+            throw new IllegalValueException(SessionName.MESSAGE_CONSTRAINTS);
+        }
+        return new SessionName(sessionName);
+    }
+
+    /**
+     * Returns the {@code SessionDate} given by {@code sessionDate}.
+     *
+     * @throws IllegalValueException if {@code sessionDate} is missing or invalid.
+     */
+    static SessionDate toSessionDate(String sessionDate) throws IllegalValueException {
+        if (sessionDate == null) {
+            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        }
+        if (!SessionDate.isValidSessionDate(sessionDate)) {
+            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        }
+
+        try {
+            return new SessionDate(sessionDate);
+        } catch (DateTimeParseException e) {
+            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        }
+    }
+
+    /**
+     * Sets the bits of the packed attendance of this session in {@code presenceBits} and {@code participationBits},
+     * for a roster of {@code size} students.
+     *
+     * @throws IllegalValueException if the packed attendance is missing or does not fit the roster.
+     */
+    void readAttendance(int size, BitSet presenceBits, BitSet participationBits) throws IllegalValueException {
+        presenceBits.or(unpack(presence, Presence.class.getSimpleName(), size));
+        participationBits.or(unpack(participation, Participation.class.getSimpleName(), size));
+    }
+
+    /**
+     * Returns the attributes saved in the old format, one entry per student.
+     */
+    private List<Attributes> toAttributes() {
         final List<Attributes> studentList = new ArrayList<>();
 
         for (JsonAdaptedAttributes attr : attributesList) {
@@ -77,31 +205,80 @@ public class JsonAdaptedSession {
 
             studentList.add(Integer.parseInt(attr.getAttributeIndex()), attributes);
         }
+        return studentList;
+    }
 
-        if (sessionName == null) {
-            throw new IllegalValueException(SessionName.MESSAGE_CONSTRAINTS);
+    private static BitSet unpack(String bits, String fieldName, int size) throws IllegalValueException {
+        if (bits == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, fieldName));
         }
-        if (!SessionName.isValidSessionName(sessionName)) {
-            throw new IllegalValueException(SessionName.MESSAGE_CONSTRAINTS);
+        BitSet unpacked;
+        try {
+            unpacked = BitSet.valueOf(Base64.getDecoder().decode(bits));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_BITS, fieldName));
         }
-        final SessionName name = new SessionName(sessionName);
-
-        if (sessionDate == null) {
-            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        if (unpacked.length() > size) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_BITS, fieldName));
         }
-        if (!SessionDate.isValidSessionDate(sessionDate)) {
-            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        return unpacked;
+    }
+
+    /**
+     * A session that has been validated and decoded, but not yet keyed by the roster of its session list,
+     * or the failure that decoding it ended with.
+     */
+    static class DecodedSession {
+        private final SessionName name;
+        private final SessionDate date;
+        private final BitSet presence;
+        private final BitSet participation;
+        // A session saved in the old format, which is keyed by a roster of its own
+        private final Session legacySession;
+        private final IllegalValueException failure;
+
+        private DecodedSession(SessionName name, SessionDate date, BitSet presence, BitSet participation) {
+            this.name = name;
+            this.date = date;
+            this.presence = presence;
+            this.participation = participation;
+            this.legacySession = null;
+            this.failure = null;
         }
 
-        SessionDate date;
-        try {
-            date = new SessionDate(sessionDate);
-        } catch (DateTimeParseException e) {
-            throw new IllegalValueException(SessionDate.MESSAGE_CONSTRAINTS);
+        private DecodedSession(Session legacySession) {
+            this.name = null;
+            this.date = null;
+            this.presence = null;
+            this.participation = null;
+            this.legacySession = legacySession;
+            this.failure = null;
         }
 
+        private DecodedSession(IllegalValueException failure) {
+            this.name = null;
+            this.date = null;
+            this.presence = null;
+            this.participation = null;
+            this.legacySession = null;
+            this.failure = failure;
+        }
 
-        return new Session(name, date, studentList);
+        /**
+         * Converts this decoded session into the model's {@code Session} object, keyed by {@code roster} and
+         * included in its attendance counts.
+         *
+         * @throws IllegalValueException if the session failed to be decoded.
+         */
+        Session toModelType(SessionRoster roster) throws IllegalValueException {
+            if (failure != null) {
+                throw failure;
+            }
+            if (legacySession != null) {
+                return legacySession;
+            }
+            return new Session(name, date, roster, presence, participation);
+        }
     }
 
 }
@@ -0,0 +1,93 @@
+package atas.storage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import atas.commons.exceptions.IllegalValueException;
+import atas.model.session.AttendanceLoader;
+import atas.model.session.Session;
+import atas.model.session.SessionRoster;
+
+/**
+ * Jackson-friendly version of the entry of a {@link Session} in the index of a sharded session list.
+ * The entry holds the details and attendance counts of the session, and the name of the file that holds its
+ * attendance, so that the attendance only has to be read when it is needed.
+ */
+public class JsonAdaptedSessionIndexEntry {
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Session index entry's %s field is missing!";
+    public static final String MESSAGE_INVALID_FILE = "Session index entry's file must be a plain file name!";
+    public static final String MESSAGE_INVALID_COUNT = "Session index entry's %s field must be between 0 and %d!";
+
+    private final String sessionName;
+    private final String sessionDate;
+    private final String file;
+    private final Integer presenceCount;
+    private final Integer participationCount;
+
+    /**
+     * Constructs a {@code JsonAdaptedSessionIndexEntry} with the given session details.
+     */
+    @JsonCreator
+    public JsonAdaptedSessionIndexEntry(@JsonProperty("sessionName") String sessionName,
+                                        @JsonProperty("sessionDate") String sessionDate,
+                                        @JsonProperty("file") String file,
+                                        @JsonProperty("presenceCount") Integer presenceCount,
+                                        @JsonProperty("participationCount") Integer participationCount) {
+        this.sessionName = sessionName;
+        this.sessionDate = sessionDate;
+        this.file = file;
+        this.presenceCount = presenceCount;
+        this.participationCount = participationCount;
+    }
+
+    /**
+     * Converts a given {@code Session}, whose attendance is saved in {@code file}, into this class for Jackson use.
+     */
+    public JsonAdaptedSessionIndexEntry(Session source, String file) {
+        sessionName = source.getSessionName().value;
+        sessionDate = source.getSessionDate().toString();
+        this.file = file;
+        presenceCount = source.getPresenceCount();
+        participationCount = source.getParticipationCount();
+    }
+
+    /**
+     * Returns the name of the file that holds the attendance of the session.
+     *
+     * @throws IllegalValueException if the file name is missing, or is not a plain file name in the shard directory.
+     */
+    public String getFile() throws IllegalValueException {
+        if (file == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "file"));
+        }
+        if (!file.matches("[\\w.-]+") || file.startsWith(".")) {
+            throw new IllegalValueException(MESSAGE_INVALID_FILE);
+        }
+        return file;
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted entry into the model's {@code Session} object, keyed by {@code roster},
+     * whose attendance is read by {@code attendanceLoader} when it is first needed.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted entry.
+     */
+    public Session toModelType(SessionRoster roster, AttendanceLoader attendanceLoader) throws IllegalValueException {
+        return new Session(JsonAdaptedSession.toSessionName(sessionName),
+                JsonAdaptedSession.toSessionDate(sessionDate), roster,
+                checkCount(presenceCount, "presenceCount", roster.size()),
+                checkCount(participationCount, "participationCount", roster.size()),
+                attendanceLoader);
+    }
+
+    private static int checkCount(Integer count, String fieldName, int max) throws IllegalValueException {
+        if (count == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, fieldName));
+        }
+        if (count < 0 || count > max) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_COUNT, fieldName, max));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,156 @@
+package atas.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+
+import atas.commons.core.index.Index;
+import atas.commons.exceptions.IllegalValueException;
+import atas.model.session.AttendanceLoader;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.session.Session;
+import atas.model.session.SessionList;
+import atas.model.session.SessionRoster;
+import atas.model.session.exceptions.DuplicateSessionException;
+
+/**
+ * An Immutable index of a sharded SessionList that is serializable to JSON format.
+ * The index holds the matriculation numbers of the students in roster order, or their names in indexes saved before
+ * matriculation numbers were, with the number of sessions each of them attended
+ * and participated in, and an entry for each session. The attendance of each session is saved in a separate file.
+ */
+@JsonRootName(value = "sessionindex")
+class JsonSerializableSessionIndex {
+
+    public static final int FORMAT_VERSION = 3;
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Session index format version %d is not supported.";
+    public static final String MESSAGE_INVALID_COUNTS =
+            "Session index must have an attendance count between 0 and the number of sessions for every student.";
+
+    private final int formatVersion;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<String> studentIds = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<String> studentNames = new ArrayList<>();
+    private final List<Integer> presenceCounts = new ArrayList<>();
+    private final List<Integer> participationCounts = new ArrayList<>();
+    private final List<JsonAdaptedSessionIndexEntry> sessions = new ArrayList<>();
+
+    /**
+     * Constructs a {@code JsonSerializableSessionIndex} with the given students and sessions.
+     */
+    @JsonCreator
+    public JsonSerializableSessionIndex(@JsonProperty("formatVersion") Integer formatVersion,
+                                        @JsonProperty("studentIds") List<String> studentIds,
+                                        @JsonProperty("studentNames") List<String> studentNames,
+                                        @JsonProperty("presenceCounts") List<Integer> presenceCounts,
+                                        @JsonProperty("participationCounts") List<Integer> participationCounts,
+                                        @JsonProperty("sessions") List<JsonAdaptedSessionIndexEntry> sessions) {
+        this.formatVersion = formatVersion == null ? FORMAT_VERSION : formatVersion;
+        if (studentIds != null) {
+            this.studentIds.addAll(studentIds);
+        }
+        if (studentNames != null) {
+            this.studentNames.addAll(studentNames);
+        }
+        if (presenceCounts != null) {
+            this.presenceCounts.addAll(presenceCounts);
+        }
+        if (participationCounts != null) {
+            this.participationCounts.addAll(participationCounts);
+        }
+        if (sessions != null) {
+            this.sessions.addAll(sessions);
+        }
+    }
+
+    /**
+     * Converts a given {@code ReadOnlySessionList} into this class for Jackson use.
+     *
+     * @param files The name of the file holding the attendance of each session, in the order of the sessions.
+     */
+    public JsonSerializableSessionIndex(ReadOnlySessionList source, List<String> files) {
+        formatVersion = FORMAT_VERSION;
+        List<Session> sourceSessions = source.getSessions();
+        // All sessions of a session list share one roster
+        int studentCount = sourceSessions.isEmpty() ? 0 : sourceSessions.get(0).getNumberOfStudents();
+        if (studentCount > 0) {
+            JsonSerializableSessionList.writeStudents(sourceSessions.get(0), studentIds, studentNames);
+        }
+        for (int i = 0; i < studentCount; i++) {
+            presenceCounts.add(source.getStudentPresenceCount(Index.fromZeroBased(i)));
+            participationCounts.add(source.getStudentParticipationCount(Index.fromZeroBased(i)));
+        }
+        for (int i = 0; i < sourceSessions.size(); i++) {
+            sessions.add(new JsonAdaptedSessionIndexEntry(sourceSessions.get(i), files.get(i)));
+        }
+    }
+
+    /**
+     * Returns the number of students in the roster of the indexed sessions.
+     */
+    public int getStudentCount() {
+        return studentIds.isEmpty() ? studentNames.size() : studentIds.size();
+    }
+
+    /**
+     * Returns the names of the files holding the attendance of the indexed sessions.
+     *
+     * @throws IllegalValueException if the name of any file is missing or invalid.
+     */
+    public List<String> getFiles() throws IllegalValueException {
+        List<String> files = new ArrayList<>();
+        for (JsonAdaptedSessionIndexEntry entry : sessions) {
+            files.add(entry.getFile());
+        }
+        return files;
+    }
+
+    /**
+     * Converts this index into the model's {@code SessionList} object. The attendance of each session is read by
+     * the loader given by {@code shardLoaders} for its file, when it is first needed.
+     *
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    public SessionList toModelType(Function<String, AttendanceLoader> shardLoaders) throws IllegalValueException {
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, formatVersion));
+        }
+        int studentCount = getStudentCount();
+        if (presenceCounts.size() != studentCount || participationCounts.size() != studentCount) {
+            throw new IllegalValueException(MESSAGE_INVALID_COUNTS);
+        }
+
+        SessionRoster roster = new SessionRoster();
+        List<Integer> slots = JsonSerializableSessionList.readStudents(studentIds, studentNames, roster);
+        for (int i = 0; i < studentCount; i++) {
+            Integer presenceCount = presenceCounts.get(i);
+            Integer participationCount = participationCounts.get(i);
+            if (!isValidCount(presenceCount) || !isValidCount(participationCount)) {
+                throw new IllegalValueException(MESSAGE_INVALID_COUNTS);
+            }
+            int slot = slots.get(i);
+            roster.adjustPresenceCount(slot, presenceCount);
+            roster.adjustParticipationCount(slot, participationCount);
+        }
+
+        List<Session> sessionList = new ArrayList<>();
+        for (JsonAdaptedSessionIndexEntry entry : sessions) {
+            sessionList.add(entry.toModelType(roster, shardLoaders.apply(entry.getFile())));
+        }
+        try {
+            return new SessionList(roster, sessionList);
+        } catch (DuplicateSessionException e) {
+            throw new IllegalValueException(JsonSerializableSessionList.MESSAGE_DUPLICATE_SESSION);
+        }
+    }
+
+    private boolean isValidCount(Integer count) {
+        return count != null && count >= 0 && count <= sessions.size();
+    }
+}
@@ -1,10 +1,14 @@
 package atas.storage;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
@@ -12,23 +16,62 @@ import atas.commons.exceptions.IllegalValueException;
 import atas.model.session.ReadOnlySessionList;
 import atas.model.session.Session;
 import atas.model.session.SessionList;
+import atas.model.session.SessionRoster;
+import atas.model.session.exceptions.DuplicateSessionException;
+import atas.model.student.Matriculation;
+import atas.model.student.Name;
 
 /**
  * An Immutable SessionList that is serializable to JSON format.
+ * From format version 2, the students are saved once, in roster order, and each session refers to them by position.
+ * Students are saved by matriculation number, and rejoined with the student list when it is loaded. Files saved
+ * before that save the names of the students instead. Files without a format version are in the old format, where
+ * each session lists its students.
  */
 @JsonRootName(value = "sessionlist")
 class JsonSerializableSessionList {
 
+    public static final int FORMAT_VERSION = 2;
     public static final String MESSAGE_DUPLICATE_SESSION = "Session list contains duplicate session(s).";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Session list format version %d is not supported.";
+    public static final String MESSAGE_DUPLICATE_STUDENT = "Session list contains duplicate student(s).";
 
+    // Below this many sessions, decoding them in parallel costs more than it saves
+    static final int PARALLEL_DECODING_THRESHOLD = 32;
+
+    private final int formatVersion;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<String> studentIds = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<String> studentNames = new ArrayList<>();
     private final List<JsonAdaptedSession> sessions = new ArrayList<>();
 
     /**
-     * Constructs a {@code JsonSerializableSessionList} with the given sessions.
+     * Constructs a {@code JsonSerializableSessionList} in the old format with the given sessions.
+     */
+    public JsonSerializableSessionList(List<JsonAdaptedSession> sessions) {
+        this(null, null, null, sessions);
+    }
+
+    /**
+     * Constructs a {@code JsonSerializableSessionList} with the given format version, students and sessions.
+     * Students are given either by matriculation number or, in older files, by name.
      */
     @JsonCreator
-    public JsonSerializableSessionList(@JsonProperty("sessions") List<JsonAdaptedSession> sessions) {
-        this.sessions.addAll(sessions);
+    public JsonSerializableSessionList(@JsonProperty("formatVersion") Integer formatVersion,
+                                       @JsonProperty("studentIds") List<String> studentIds,
+                                       @JsonProperty("studentNames") List<String> studentNames,
+                                       @JsonProperty("sessions") List<JsonAdaptedSession> sessions) {
+        this.formatVersion = formatVersion == null ? 1 : formatVersion;
+        if (studentIds != null) {
+            this.studentIds.addAll(studentIds);
+        }
+        if (studentNames != null) {
+            this.studentNames.addAll(studentNames);
+        }
+        if (sessions != null) {
+            this.sessions.addAll(sessions);
+        }
     }
 
     /**
@@ -37,6 +80,11 @@ class JsonSerializableSessionList {
      * @param source future changes to this will not affect the created {@code JsonSerializableSessionList}.
      */
     public JsonSerializableSessionList(ReadOnlySessionList source) {
+        formatVersion = FORMAT_VERSION;
+        // All sessions of a session list share one roster
+        if (!source.getSessions().isEmpty()) {
+            writeStudents(source.getSessions().get(0), studentIds, studentNames);
+        }
         sessions.addAll(source.getSessions().stream().map(JsonAdaptedSession::new).collect(Collectors.toList()));
     }
 
@@ -46,16 +94,84 @@ class JsonSerializableSessionList {
      * @throws IllegalValueException if there were any data constraints violated.
      */
     public SessionList toModelType() throws IllegalValueException {
-        SessionList sessionList = new SessionList();
+        if (formatVersion > FORMAT_VERSION) {
+            throw new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, formatVersion));
+        }
+        SessionRoster roster = new SessionRoster();
+        readStudents(studentIds, studentNames, roster);
+
+        // Decoding is independent for each session, while keying the sessions by the shared roster is not
+        int studentCount = roster.size();
+        Stream<JsonAdaptedSession> adaptedSessions = sessions.size() >= PARALLEL_DECODING_THRESHOLD
+                ? sessions.parallelStream()
+                : sessions.stream();
+        List<JsonAdaptedSession.DecodedSession> decodedSessions = adaptedSessions
+                .map(session -> session.decode(studentCount))
+                .collect(Collectors.toList());
+
+        // Failures are thrown in file order, whichever session failed first while decoding
+        List<Session> sessionList = new ArrayList<>(sessions.size());
+        for (JsonAdaptedSession.DecodedSession decodedSession : decodedSessions) {
+            sessionList.add(decodedSession.toModelType(roster));
+        }
+        try {
+            return new SessionList(roster, sessionList);
+        } catch (DuplicateSessionException e) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_SESSION);
+        }
+    }
 
-        for (JsonAdaptedSession jas : sessions) {
-            Session session = jas.toModelType();
-            if (sessionList.contains(session)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_SESSION);
+    /**
+     * Adds the students in the roster of {@code session}, in roster order, to {@code studentIds} by matriculation
+     * number. If any of them is only known by name, they are all added to {@code studentNames} by name instead.
+     */
+    static void writeStudents(Session session, List<String> studentIds, List<String> studentNames) {
+        int studentCount = session.getNumberOfStudents();
+        List<String> ids = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Matriculation matriculation = session.getStudentMatriculation(i);
+            if (matriculation == null) {
+                for (int j = 0; j < studentCount; j++) {
+                    studentNames.add(session.getStudentName(j).fullName);
+                }
+                return;
+            }
+            ids.add(matriculation.value);
+        }
+        studentIds.addAll(ids);
+    }
+
+    /**
+     * Appends a row to {@code roster} for each student in {@code studentIds}, or in {@code studentNames} if there
+     * are no student ids.
+     *
+     * @return The slot given to each student, in order.
+     * @throws IllegalValueException if any student is invalid, or a matriculation number is repeated.
+     */
+    static List<Integer> readStudents(List<String> studentIds, List<String> studentNames, SessionRoster roster)
+            throws IllegalValueException {
+        List<Integer> slots = new ArrayList<>();
+        if (!studentIds.isEmpty()) {
+            Set<Matriculation> seen = new HashSet<>();
+            for (String studentId : studentIds) {
+                if (studentId == null || !Matriculation.isValidMatriculation(studentId)) {
+                    throw new IllegalValueException(Matriculation.MESSAGE_CONSTRAINTS);
+                }
+                Matriculation matriculation = new Matriculation(studentId);
+                if (!seen.add(matriculation)) {
+                    throw new IllegalValueException(MESSAGE_DUPLICATE_STUDENT);
+                }
+                slots.add(roster.addRow(matriculation));
+            }
+            return slots;
+        }
+        for (String studentName : studentNames) {
+            if (studentName == null || !Name.isValidName(studentName)) {
+                throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
             }
-            sessionList.addSession(session);
+            slots.add(roster.addRow(new Name(studentName)));
         }
-        return sessionList;
+        return slots;
     }
 
 }
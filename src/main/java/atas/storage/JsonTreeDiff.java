@@ -0,0 +1,200 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import atas.commons.exceptions.DataConversionException;
+
+/**
+ * Computes the differences between two trees of JSON nodes as a list of change records, and applies them.
+ * Each record is a JSON object with an {@code op}, and the {@code path} of field names and array indices it acts on:
+ * <ul>
+ *     <li>{@code set} replaces the node at {@code path} with {@code value}.</li>
+ *     <li>{@code unset} removes the field at {@code path}.</li>
+ *     <li>{@code splice} removes {@code remove} elements of the array at {@code path} starting from {@code from},
+ *     and inserts the elements of {@code insert} there.</li>
+ * </ul>
+ * Arrays are compared by trimming their common prefix and suffix, so appending, removing or changing a single element
+ * gives a record the size of that element. Elements that changed in place are compared field by field, so that
+ * toggling the attendance of one student only records that one field.
+ */
+class JsonTreeDiff {
+
+    static final String OP = "op";
+    static final String PATH = "path";
+    static final String VALUE = "value";
+    static final String FROM = "from";
+    static final String REMOVE = "remove";
+    static final String INSERT = "insert";
+
+    static final String OP_SET = "set";
+    static final String OP_UNSET = "unset";
+    static final String OP_SPLICE = "splice";
+
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+    private JsonTreeDiff() {}
+
+    /**
+     * Returns the records that turn {@code before} into {@code after}.
+     * Neither tree is modified, and the records may share nodes with {@code after}.
+     */
+    static List<ObjectNode> diff(JsonNode before, JsonNode after) {
+        requireNonNull(before);
+        requireNonNull(after);
+        List<ObjectNode> records = new ArrayList<>();
+        diffValue(before, after, nodes.arrayNode(), records);
+        return records;
+    }
+
+    private static void diffValue(JsonNode before, JsonNode after, ArrayNode path, List<ObjectNode> records) {
+        if (before.equals(after)) {
+            return;
+        }
+        if (before.isObject() && after.isObject()) {
+            diffObject(before, after, path, records);
+        } else if (before.isArray() && after.isArray()) {
+            diffArray(before, after, path, records);
+        } else {
+            ObjectNode record = record(OP_SET, path);
+            record.set(VALUE, after);
+            records.add(record);
+        }
+    }
+
+    private static void diffObject(JsonNode before, JsonNode after, ArrayNode path, List<ObjectNode> records) {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        before.fieldNames().forEachRemaining(fieldNames::add);
+        after.fieldNames().forEachRemaining(fieldNames::add);
+        for (String fieldName : fieldNames) {
+            ArrayNode fieldPath = path.deepCopy().add(fieldName);
+            if (!after.has(fieldName)) {
+                records.add(record(OP_UNSET, fieldPath));
+            } else if (!before.has(fieldName)) {
+                ObjectNode record = record(OP_SET, fieldPath);
+                record.set(VALUE, after.get(fieldName));
+                records.add(record);
+            } else {
+                diffValue(before.get(fieldName), after.get(fieldName), fieldPath, records);
+            }
+        }
+    }
+
+    private static void diffArray(JsonNode before, JsonNode after, ArrayNode path, List<ObjectNode> records) {
+        int minSize = Math.min(before.size(), after.size());
+        int prefix = 0;
+        while (prefix < minSize && before.get(prefix).equals(after.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minSize - prefix
+                && before.get(before.size() - 1 - suffix).equals(after.get(after.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        int removed = before.size() - prefix - suffix;
+        int inserted = after.size() - prefix - suffix;
+        if (removed == inserted) {
+            for (int i = prefix; i < prefix + removed; i++) {
+                diffValue(before.get(i), after.get(i), path.deepCopy().add(i), records);
+            }
+            return;
+        }
+
+        ArrayNode insert = nodes.arrayNode();
+        for (int i = prefix; i < prefix + inserted; i++) {
+            insert.add(after.get(i));
+        }
+        ObjectNode splice = record(OP_SPLICE, path);
+        splice.put(FROM, prefix);
+        splice.put(REMOVE, removed);
+        splice.set(INSERT, insert);
+        records.add(splice);
+    }
+
+    private static ObjectNode record(String op, ArrayNode path) {
+        ObjectNode record = nodes.objectNode();
+        record.put(OP, op);
+        record.set(PATH, path);
+        return record;
+    }
+
+    /**
+     * Applies {@code record} to {@code tree} in place, and returns the resulting tree.
+     * A new tree is only returned if the record replaces the whole tree.
+     *
+     * @throws DataConversionException if the record is malformed or does not fit the tree.
+     */
+    static JsonNode apply(JsonNode tree, JsonNode record) throws DataConversionException {
+        requireNonNull(tree);
+        requireNonNull(record);
+        String op = record.path(OP).asText();
+        JsonNode path = record.path(PATH);
+        if (!path.isArray()) {
+            throw invalidRecord(record);
+        }
+        if (path.size() == 0) {
+            if (!op.equals(OP_SET) || !record.has(VALUE)) {
+                throw invalidRecord(record);
+            }
+            return record.get(VALUE);
+        }
+
+        JsonNode parent = tree;
+        Iterator<JsonNode> steps = path.elements();
+        JsonNode step = steps.next();
+        while (steps.hasNext()) {
+            parent = step.isInt() ? parent.path(step.asInt()) : parent.path(step.asText());
+            step = steps.next();
+        }
+
+        if (op.equals(OP_SPLICE)) {
+            JsonNode target = step.isInt() ? parent.path(step.asInt()) : parent.path(step.asText());
+            splice(target, record);
+        } else if (parent.isObject() && step.isTextual()) {
+            if (op.equals(OP_SET) && record.has(VALUE)) {
+                ((ObjectNode) parent).set(step.asText(), record.get(VALUE));
+            } else if (op.equals(OP_UNSET)) {
+                ((ObjectNode) parent).remove(step.asText());
+            } else {
+                throw invalidRecord(record);
+            }
+        } else if (parent.isArray() && step.isInt() && step.asInt() >= 0 && step.asInt() < parent.size()
+                && op.equals(OP_SET) && record.has(VALUE)) {
+            ((ArrayNode) parent).set(step.asInt(), record.get(VALUE));
+        } else {
+            throw invalidRecord(record);
+        }
+        return tree;
+    }
+
+    private static void splice(JsonNode target, JsonNode record) throws DataConversionException {
+        int from = record.path(FROM).asInt(-1);
+        int remove = record.path(REMOVE).asInt(-1);
+        JsonNode insert = record.path(INSERT);
+        if (!target.isArray() || !insert.isArray() || from < 0 || remove < 0 || from + remove > target.size()) {
+            throw invalidRecord(record);
+        }
+        ArrayNode array = (ArrayNode) target;
+        for (int i = 0; i < remove; i++) {
+            array.remove(from);
+        }
+        for (int i = 0; i < insert.size(); i++) {
+            array.insert(from + i, insert.get(i));
+        }
+    }
+
+    private static DataConversionException invalidRecord(JsonNode record) {
+        return new DataConversionException(new IllegalArgumentException("Invalid journal record: " + record));
+    }
+}
@@ -0,0 +1,103 @@
+package atas.storage;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import atas.commons.exceptions.DataConversionException;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.student.ReadOnlyStudentList;
+
+/**
+ * The session list, student list and memo read together from a {@code Storage}.
+ * Each of them is read on its own, so a failure to read one of them does not affect the others. The getter of a
+ * source that failed to be read throws the exception it failed with.
+ */
+public class LoadedData {
+
+    private final Result<Optional<ReadOnlySessionList>> sessionList;
+    private final Result<Optional<ReadOnlyStudentList>> studentList;
+    private final Result<String> memo;
+
+    LoadedData(Result<Optional<ReadOnlySessionList>> sessionList, Result<Optional<ReadOnlyStudentList>> studentList,
+               Result<String> memo) {
+        this.sessionList = sessionList;
+        this.studentList = studentList;
+        this.memo = memo;
+    }
+
+    /**
+     * Returns the session list, as returned by {@link SessionListStorage#readSessionList()}.
+     *
+     * @throws DataConversionException if the data in storage is not in the expected format.
+     * @throws IOException if there was any problem when reading from the storage.
+     */
+    public Optional<ReadOnlySessionList> getSessionList() throws DataConversionException, IOException {
+        return sessionList.get();
+    }
+
+    /**
+     * Returns the student list, as returned by {@link AtasStorage#readStudentList()}.
+     *
+     * @throws DataConversionException if the data in storage is not in the expected format.
+     * @throws IOException if there was any problem when reading from the storage.
+     */
+    public Optional<ReadOnlyStudentList> getStudentList() throws DataConversionException, IOException {
+        return studentList.get();
+    }
+
+    /**
+     * Returns the memo content, as returned by {@link MemoStorage#readMemo()}.
+     *
+     * @throws DataConversionException if the data in storage is not in the expected format.
+     * @throws IOException if there was any problem when reading from the storage.
+     */
+    public String getMemo() throws DataConversionException, IOException {
+        return memo.get();
+    }
+
+    /**
+     * Reads a source of the data.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        T read() throws DataConversionException, IOException;
+    }
+
+    /**
+     * The outcome of reading one source: either the value read, or the exception that reading it failed with.
+     */
+    static class Result<T> {
+        private final T value;
+        private final DataConversionException dataConversionException;
+        private final IOException ioException;
+
+        private Result(T value, DataConversionException dataConversionException, IOException ioException) {
+            this.value = value;
+            this.dataConversionException = dataConversionException;
+            this.ioException = ioException;
+        }
+
+        /**
+         * Reads the source with {@code reader}, keeping any checked exception that it fails with.
+         */
+        static <T> Result<T> of(Reader<T> reader) {
+            try {
+                return new Result<>(reader.read(), null, null);
+            } catch (DataConversionException e) {
+                return new Result<>(null, e, null);
+            } catch (IOException e) {
+                return new Result<>(null, null, e);
+            }
+        }
+
+        T get() throws DataConversionException, IOException {
+            if (dataConversionException != null) {
+                throw dataConversionException;
+            }
+            if (ioException != null) {
+                throw ioException;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.IllegalValueException;
+import atas.commons.util.FileUtil;
+
+/**
+ * A binary snapshot file that is memory-mapped when read.
+ * Every save writes a new generation of the snapshot next to the file path, named {@code <file>.<generation>},
+ * and reading maps the newest generation. A generation is never changed once written, so buffers mapped from it
+ * stay valid after later saves, and older generations are deleted once a newer one is complete. A generation that
+ * cannot be deleted yet, as it is still mapped on some platforms, is deleted by a later save.
+ * Snapshots start with a magic number and a format version, and hold strings as a length followed by UTF-8 bytes.
+ * All numbers are big-endian.
+ */
+public class MappedSnapshotFile {
+
+    public static final String BINARY_EXTENSION = ".bin";
+    public static final String MESSAGE_CORRUPT_SNAPSHOT = "Snapshot is truncated or corrupt.";
+    public static final String MESSAGE_WRONG_FORMAT = "File is not a snapshot of the expected kind.";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Snapshot format version %d is not supported.";
+
+    private static final Logger logger = LogsCenter.getLogger(MappedSnapshotFile.class);
+
+    private final Path filePath;
+    private final int magic;
+    private final int version;
+
+    /**
+     * Writes the contents of a snapshot after its header.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Creates a {@code MappedSnapshotFile} at {@code filePath} for snapshots with the given {@code magic} number
+     * and format {@code version}.
+     */
+    MappedSnapshotFile(Path filePath, int magic, int version) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.magic = magic;
+        this.version = version;
+    }
+
+    /**
+     * Returns the path of the binary snapshot that goes with the JSON file at {@code jsonFilePath}.
+     */
+    public static Path toBinaryPath(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        String baseName = extension > 0 ? fileName.substring(0, extension) : fileName;
+        return jsonFilePath.resolveSibling(baseName + BINARY_EXTENSION);
+    }
+
+    /**
+     * Maps the newest generation of the snapshot, and returns it positioned after the header.
+     * Returns {@code Optional.empty()} if no snapshot has been saved.
+     *
+     * @throws IllegalValueException if the snapshot has the wrong magic number or format version.
+     * @throws IOException if there was any problem when reading from the file.
+     */
+    Optional<ByteBuffer> map() throws IllegalValueException, IOException {
+        Optional<Path> newest = getNewestGeneration();
+        if (newest.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(newest.get(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalValueException(MESSAGE_CORRUPT_SNAPSHOT);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != magic) {
+                throw new IllegalValueException(MESSAGE_WRONG_FORMAT);
+            }
+            int savedVersion = buffer.getInt();
+            if (savedVersion != version) {
+                throw new IllegalValueException(String.format(MESSAGE_UNSUPPORTED_VERSION, savedVersion));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalValueException(MESSAGE_CORRUPT_SNAPSHOT);
+        }
+        return Optional.of(buffer);
+    }
+
+    /**
+     * Saves a new generation of the snapshot with the contents written by {@code contentWriter}.
+     * The generation only becomes visible to {@link #map()} once it has been written in full.
+     *
+     * @throws IOException if there was any problem writing to the file.
+     */
+    void save(ContentWriter contentWriter) throws IOException {
+        requireNonNull(contentWriter);
+        long generation = getNewestGeneration().map(MappedSnapshotFile::getGeneration).orElse(0L) + 1;
+        Path generationPath = filePath.resolveSibling(filePath.getFileName() + "." + generation);
+        FileUtil.writeToFileAtomically(generationPath, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(magic);
+            out.writeInt(version);
+            contentWriter.write(out);
+            out.flush();
+        });
+        deleteGenerationsBefore(generation);
+    }
+
+    /**
+     * Writes {@code value} as its length in bytes followed by its UTF-8 bytes.
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)} at the position of {@code buffer}.
+     *
+     * @throws IllegalValueException if the string runs past the end of the buffer.
+     */
+    static String readString(ByteBuffer buffer) throws IllegalValueException {
+        int length = readCount(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalValueException(MESSAGE_CORRUPT_SNAPSHOT);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count at the position of {@code buffer}.
+     *
+     * @throws IllegalValueException if the count is negative or runs past the end of the buffer.
+     */
+    static int readCount(ByteBuffer buffer) throws IllegalValueException {
+        try {
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IllegalValueException(MESSAGE_CORRUPT_SNAPSHOT);
+            }
+            return count;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalValueException(MESSAGE_CORRUPT_SNAPSHOT);
+        }
+    }
+
+    private Optional<Path> getNewestGeneration() throws IOException {
+        Path directory = filePath.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+
+        Path newest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, filePath.getFileName() + ".*")) {
+            for (Path file : files) {
+                long generation = getGeneration(file);
+                if (generation > 0 && (newest == null || generation > getGeneration(newest))) {
+                    newest = file;
+                }
+            }
+        }
+        return Optional.ofNullable(newest);
+    }
+
+    /**
+     * Returns the generation of the snapshot at {@code file}, or 0 if it is not a generation of this snapshot.
+     */
+    private static long getGeneration(Path file) {
+        String fileName = file.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(fileName.lastIndexOf('.') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes the generations of the snapshot older than {@code generation}.
+     * Failing to delete one is not an error, as it is only left behind until a later save.
+     */
+    private void deleteGenerationsBefore(long generation) {
+        Path directory = filePath.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, filePath.getFileName() + ".*")) {
+            for (Path file : files) {
+                long fileGeneration = getGeneration(file);
+                if (fileGeneration > 0 && fileGeneration < generation) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to delete old snapshots of " + filePath + ": " + e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.fine("Old snapshot " + file + " is still in use: " + e);
+        }
+    }
+}
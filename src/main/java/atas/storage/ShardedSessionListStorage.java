@@ -0,0 +1,292 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.exceptions.IllegalValueException;
+import atas.commons.util.FileUtil;
+import atas.commons.util.JsonUtil;
+import atas.model.session.AttendanceLoader;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.session.Session;
+import atas.model.session.SessionList;
+import atas.model.session.exceptions.AttendanceLoadingException;
+
+/**
+ * A class to access the session list stored as an index file and one file per session on the hard disk.
+ * The index holds the details and attendance counts of every session, so reading the session list only reads the
+ * index. The attendance of a session is read from its own file the first time it is needed.
+ * Session files are named after a hash of their contents and never changed once written, so a session whose
+ * attendance is unchanged keeps its file, and a session that has not been read yet can always be read later.
+ * Reading the session list checks every session file against the hash in its name, without decoding it, so that a
+ * missing or damaged file fails the read rather than a later command that needs the attendance.
+ * Files no longer referenced by the index are deleted the next time the session list is read, and files written
+ * since the session list was read are deleted as soon as a saved index no longer refers to them, as no session
+ * loads its attendance from them.
+ * The index is kept as a {@link JournaledJsonFile}. A session list saved in a single file by an older version
+ * is read in full, and saved in the sharded layout from then on.
+ */
+public class ShardedSessionListStorage implements SessionListStorage {
+
+    public static final String SHARD_DIRECTORY_SUFFIX = ".sessions";
+
+    static final String FORMAT_VERSION_FIELD = "formatVersion";
+
+    private static final String SHARD_PREFIX = "session-";
+    private static final String SHARD_SUFFIX = ".json";
+    private static final String MESSAGE_DAMAGED_SHARD = "Session file %s does not hold what was saved to it";
+    private static final Logger logger = LogsCenter.getLogger(ShardedSessionListStorage.class);
+
+    private final Path filePath;
+    private final JournaledJsonFile index;
+
+    // Session files written by this storage, which no session read from the index loads its attendance from
+    private final Set<Path> writtenShards = new HashSet<>();
+
+    public ShardedSessionListStorage(Path filePath) {
+        this(new JournaledJsonFile(filePath));
+    }
+
+    /**
+     * Creates a {@code ShardedSessionListStorage} that keeps the index of the session list in {@code index}.
+     */
+    public ShardedSessionListStorage(JournaledJsonFile index) {
+        requireNonNull(index);
+        this.filePath = index.getSnapshotPath();
+        this.index = index;
+    }
+
+    @Override
+    public Path getSessionListFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the directory that holds the session files of the session list indexed at {@code filePath}.
+     */
+    public static Path getShardDirectory(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + SHARD_DIRECTORY_SUFFIX);
+    }
+
+    @Override
+    public Optional<ReadOnlySessionList> readSessionList() throws DataConversionException {
+        return readSessionList(filePath);
+    }
+
+    /**
+     * Similar to {@link #readSessionList()}.
+     * Sessions read before from the same file must no longer be in use, as the session files that they may still
+     * have to be loaded from are deleted if the index no longer refers to them.
+     */
+    @Override
+    public synchronized Optional<ReadOnlySessionList> readSessionList(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        Optional<JsonNode> tree = getIndex(filePath).read();
+        if (tree.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            if (tree.get().path(FORMAT_VERSION_FIELD).asInt(1) < JsonSerializableSessionIndex.FORMAT_VERSION) {
+                return Optional.of(JsonUtil.fromJsonTree(tree.get(), JsonSerializableSessionList.class)
+                        .toModelType());
+            }
+
+            JsonSerializableSessionIndex sessionIndex =
+                    JsonUtil.fromJsonTree(tree.get(), JsonSerializableSessionIndex.class);
+            Path shardDirectory = getShardDirectory(filePath);
+            Set<String> files = new HashSet<>(sessionIndex.getFiles());
+            checkShards(shardDirectory, files);
+            int studentCount = sessionIndex.getStudentCount();
+            SessionList sessionList = sessionIndex.toModelType(file ->
+                    new ShardLoader(shardDirectory.resolve(file), studentCount));
+            deleteUnreferencedShards(shardDirectory, files);
+            forgetWrittenShards(shardDirectory);
+            return Optional.of(sessionList);
+        } catch (IOException e) {
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveSessionList(ReadOnlySessionList sessionList) throws IOException {
+        saveSessionList(sessionList, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveSessionList(ReadOnlySessionList)}.
+     * Session files are written before the index, so the index only ever refers to complete session files.
+     * Once the index is saved, the session files written by this storage that it no longer refers to are deleted.
+     */
+    @Override
+    public synchronized void saveSessionList(ReadOnlySessionList sessionList, Path filePath) throws IOException {
+        requireNonNull(sessionList);
+        requireNonNull(filePath);
+
+        Path shardDirectory = getShardDirectory(filePath);
+        List<String> files = new ArrayList<>();
+        for (Session session : sessionList.getSessions()) {
+            files.add(saveShard(session, shardDirectory));
+        }
+        getIndex(filePath).save(JsonUtil.toJsonTree(new JsonSerializableSessionIndex(sessionList, files)));
+        deleteReplacedShards(shardDirectory, new HashSet<>(files));
+    }
+
+    /**
+     * Returns the name of the file that holds the attendance of {@code session}, writing the file if it does not
+     * exist yet. A session whose attendance was loaded from this directory and is unchanged is not read at all.
+     */
+    private String saveShard(Session session, Path shardDirectory) throws IOException {
+        Optional<AttendanceLoader> source = session.getAttendanceSource();
+        if (source.isPresent() && source.get() instanceof ShardLoader
+                && ((ShardLoader) source.get()).isIn(shardDirectory)) {
+            return ((ShardLoader) source.get()).getFileName();
+        }
+
+        byte[] bytes = JsonUtil.toCompactJsonString(new JsonAdaptedSession(session)).getBytes(StandardCharsets.UTF_8);
+        String file = getShardFileName(bytes);
+        Path shard = shardDirectory.resolve(file);
+        if (!Files.exists(shard)) {
+            FileUtil.writeToFileAtomically(shard, out -> out.write(bytes));
+            writtenShards.add(shard);
+        }
+        return file;
+    }
+
+    /**
+     * Deletes the session files in {@code shardDirectory} written by this storage that are not in {@code files}.
+     * Failing to delete a file is not an error, as it is deleted the next time the session list is read.
+     */
+    private void deleteReplacedShards(Path shardDirectory, Set<String> files) {
+        Iterator<Path> shards = writtenShards.iterator();
+        while (shards.hasNext()) {
+            Path shard = shards.next();
+            if (!shard.getParent().equals(shardDirectory) || files.contains(shard.getFileName().toString())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(shard);
+                shards.remove();
+            } catch (IOException e) {
+                logger.warning("Failed to delete unused session file " + shard + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Checks that each of {@code files} in {@code shardDirectory} still holds the bytes that its name was made from.
+     *
+     * @throws IOException if any of the files cannot be read.
+     * @throws IllegalValueException if any of the files holds anything else.
+     */
+    private static void checkShards(Path shardDirectory, Set<String> files) throws IOException, IllegalValueException {
+        for (String file : files) {
+            Path shard = shardDirectory.resolve(file);
+            if (!file.equals(getShardFileName(Files.readAllBytes(shard)))) {
+                throw new IllegalValueException(String.format(MESSAGE_DAMAGED_SHARD, shard));
+            }
+        }
+    }
+
+    private static String getShardFileName(byte[] bytes) {
+        return SHARD_PREFIX + hash(bytes) + SHARD_SUFFIX;
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Deletes the session files in {@code shardDirectory} that are not in {@code files}.
+     * Failing to delete a file is not an error, as it is only left behind.
+     */
+    private static void deleteUnreferencedShards(Path shardDirectory, Set<String> files) {
+        if (!Files.isDirectory(shardDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(shardDirectory, SHARD_PREFIX + "*")) {
+            for (Path shard : shards) {
+                if (!files.contains(shard.getFileName().toString())) {
+                    Files.deleteIfExists(shard);
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to delete unused session files in " + shardDirectory + ": " + e);
+        }
+    }
+
+    /**
+     * Stops tracking the session files in {@code shardDirectory} written by this storage, as the sessions just read
+     * may load their attendance from them.
+     */
+    private void forgetWrittenShards(Path shardDirectory) {
+        writtenShards.removeIf(shard -> shard.getParent().equals(shardDirectory));
+    }
+
+    private JournaledJsonFile getIndex(Path filePath) {
+        return filePath.equals(this.filePath) ? index : new JournaledJsonFile(filePath);
+    }
+
+    /**
+     * Reads the attendance of a session from its session file.
+     */
+    private static class ShardLoader implements AttendanceLoader {
+        private final Path shard;
+        private final int studentCount;
+
+        private ShardLoader(Path shard, int studentCount) {
+            this.shard = shard;
+            this.studentCount = studentCount;
+        }
+
+        private boolean isIn(Path shardDirectory) {
+            return shard.getParent().equals(shardDirectory);
+        }
+
+        private String getFileName() {
+            return shard.getFileName().toString();
+        }
+
+        @Override
+        public void load(BitSet presence, BitSet participation) {
+            try {
+                JsonAdaptedSession session = JsonUtil.readJsonFile(shard, JsonAdaptedSession.class)
+                        .orElseThrow(() -> new DataConversionException(new NoSuchFileException(shard.toString())));
+                session.readAttendance(studentCount, presence, participation);
+            } catch (DataConversionException | IllegalValueException e) {
+                throw new AttendanceLoadingException("Failed to load the attendance saved in " + shard, e);
+            }
+        }
+    }
+}
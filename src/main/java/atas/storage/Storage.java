@@ -49,4 +49,12 @@ public interface Storage extends SessionListStorage, AtasStorage, UserPrefsStora
     @Override
     void saveMemo(Memo memo) throws IOException;
 
+    /**
+     * Reads the session list, the student list and the memo concurrently, and returns once all of them are read.
+     * Failures to read each of them are kept in the returned {@code LoadedData}.
+     *
+     * @throws IOException if there was any problem preparing the storage for reading.
+     */
+    LoadedData readAll() throws IOException;
+
 }
@@ -0,0 +1,66 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.student.ReadOnlyStudentList;
+
+/**
+ * Converts the student list and session list between the storage formats.
+ * Only the source storage is read. Whatever the target storage holds is replaced, as the data saved in the format
+ * that was last in use is always the most recent.
+ */
+public class StorageFormatConverter {
+
+    private static final Logger logger = LogsCenter.getLogger(StorageFormatConverter.class);
+
+    private StorageFormatConverter() {}
+
+    /**
+     * Copies the student list in {@code source} to {@code target}, replacing any student list in {@code target}.
+     *
+     * @return true if the student list was copied, or false if {@code source} has no student list.
+     * @throws DataConversionException if the student list in {@code source} is not in the expected format.
+     * @throws IOException if there was any problem reading or writing the student lists.
+     */
+    public static boolean convertStudentList(AtasStorage source, AtasStorage target)
+            throws DataConversionException, IOException {
+        requireNonNull(source);
+        requireNonNull(target);
+        Optional<ReadOnlyStudentList> studentList = source.readStudentList();
+        if (studentList.isEmpty()) {
+            return false;
+        }
+        target.saveStudentList(studentList.get());
+        logger.info("Converted the student list in " + source.getStudentListFilePath() + " to "
+                + target.getStudentListFilePath());
+        return true;
+    }
+
+    /**
+     * Copies the session list in {@code source} to {@code target}, replacing any session list in {@code target}.
+     *
+     * @return true if the session list was copied, or false if {@code source} has no session list.
+     * @throws DataConversionException if the session list in {@code source} is not in the expected format.
+     * @throws IOException if there was any problem reading or writing the session lists.
+     */
+    public static boolean convertSessionList(SessionListStorage source, SessionListStorage target)
+            throws DataConversionException, IOException {
+        requireNonNull(source);
+        requireNonNull(target);
+        Optional<ReadOnlySessionList> sessionList = source.readSessionList();
+        if (sessionList.isEmpty()) {
+            return false;
+        }
+        target.saveSessionList(sessionList.get());
+        logger.info("Converted the session list in " + source.getSessionListFilePath() + " to "
+                + target.getSessionListFilePath());
+        return true;
+    }
+}
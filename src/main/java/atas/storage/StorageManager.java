@@ -3,6 +3,10 @@ package atas.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import atas.commons.core.LogsCenter;
@@ -19,6 +23,8 @@ import atas.model.student.ReadOnlyStudentList;
  */
 public class StorageManager implements Storage {
 
+    // One thread for each of the session list, the student list and the memo
+    private static final int LOAD_THREADS = 3;
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
     private SessionListStorage sessionListStorage;
     private AtasStorage atasStorage;
@@ -143,4 +149,47 @@ public class StorageManager implements Storage {
         memoStorage.saveMemo(memo, filePath);
     }
 
+    // ================ Bulk loading ==============================
+
+    /**
+     * Reads the session list, the student list and the memo in parallel, each on its own thread of a pool that is
+     * only kept for the duration of the call, and returns once all of them are read.
+     */
+    @Override
+    public LoadedData readAll() {
+        ExecutorService executor = Executors.newFixedThreadPool(LOAD_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "storage-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<LoadedData.Result<Optional<ReadOnlySessionList>>> sessionList =
+                    CompletableFuture.supplyAsync(() -> LoadedData.Result.of(this::readSessionList), executor);
+            CompletableFuture<LoadedData.Result<Optional<ReadOnlyStudentList>>> studentList =
+                    CompletableFuture.supplyAsync(() -> LoadedData.Result.of(this::readStudentList), executor);
+            CompletableFuture<LoadedData.Result<String>> memo =
+                    CompletableFuture.supplyAsync(() -> LoadedData.Result.of(this::readMemo), executor);
+            return new LoadedData(join(sessionList), join(studentList), join(memo));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Waits for {@code future}, rethrowing any unchecked exception that it failed with.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
 }
@@ -1,20 +1,27 @@
 package atas.storage;
 
-import static atas.commons.util.FileUtil.createIfMissing;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
 import atas.commons.core.LogsCenter;
+import atas.commons.util.FileUtil;
 import atas.model.memo.Memo;
+import atas.model.memo.Rope;
 
 /**
  * A class to access Memo's data stored as a txt file on the hard disk.
+ * The memo is saved in UTF-8, and the file is replaced atomically so that a crash never leaves it half written.
+ * When the memo has only grown at its end since it was last read or saved, only the new text is appended to the
+ * file instead, so that typing at the end of a long memo does not rewrite all of it. Whether it has is told by
+ * the offset of the first character changed in the memo, so the text that was already saved is not compared. The
+ * memo is written a piece of its text at a time, without building it into a single string.
  */
 public class TxtMemoStorage implements MemoStorage {
 
@@ -22,6 +29,10 @@ public class TxtMemoStorage implements MemoStorage {
 
     private Path filePath;
 
+    // The length of the content of the file at savedPath as last read or saved, or -1 if it is not known
+    private Path savedPath;
+    private int savedLength = -1;
+
     /**
      * Constructs a TxtMemoStorage with a specified file path.
      *
@@ -42,16 +53,17 @@ public class TxtMemoStorage implements MemoStorage {
     }
 
     @Override
-    public String readMemo(Path filePath) {
+    public synchronized String readMemo(Path filePath) {
         try {
             File file = new File(String.valueOf(filePath));
             if (file.createNewFile()) {
                 logger.info("Data file not found. Will be starting with a sample Memo");
                 return DEFAULT_MEMO_CONTENT;
             }
-            byte[] memoContentInByte = Files.readAllBytes(filePath);
-            String memoContent = new String(memoContentInByte);
-            return memoContent;
+            String content = FileUtil.readFromFile(filePath);
+            savedPath = filePath;
+            savedLength = content.length();
+            return content;
         } catch (IOException e) {
             return DEFAULT_MEMO_CONTENT;
         }
@@ -65,14 +77,39 @@ public class TxtMemoStorage implements MemoStorage {
     }
 
     @Override
-    public void saveMemo(Memo memo, Path filePath) throws IOException {
+    public synchronized void saveMemo(Memo memo, Path filePath) throws IOException {
         requireNonNull(memo);
         requireNonNull(filePath);
-        createIfMissing(filePath);
 
-        FileWriter fw = new FileWriter(String.valueOf(filePath));
-        String memoContent = memo.getContent();
-        fw.write(memoContent);
-        fw.close();
+        Rope content = memo.getText();
+        boolean isAppend = isAppendTo(filePath, memo);
+        int previousLength = savedLength;
+        // A failed write leaves the content of the file unknown
+        savedLength = -1;
+        if (isAppend) {
+            FileUtil.appendToFile(filePath, content.subSequence(previousLength, content.length()).toString());
+        } else {
+            FileUtil.writeToFileAtomically(filePath, out -> {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                content.writeTo(writer);
+                writer.flush();
+            });
+        }
+        savedPath = filePath;
+        savedLength = content.length();
+    }
+
+    /**
+     * Returns true if the content of {@code memo} is the content of the file at {@code filePath} with some text added
+     * at its end, as none of the characters saved in the file have been changed since.
+     * A surrogate pair split across the old end of the file is not an append, as its halves are encoded together.
+     */
+    private boolean isAppendTo(Path filePath, Memo memo) {
+        Rope content = memo.getText();
+        return filePath.equals(savedPath)
+                && savedLength >= 0
+                && content.length() > savedLength
+                && memo.getChangedFrom() >= savedLength
+                && (savedLength == 0 || !Character.isHighSurrogate(content.charAt(savedLength - 1)));
     }
 }
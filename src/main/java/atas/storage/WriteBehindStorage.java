@@ -0,0 +1,429 @@
+package atas.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import atas.commons.core.LogsCenter;
+import atas.commons.exceptions.DataConversionException;
+import atas.model.ReadOnlyUserPrefs;
+import atas.model.UserPrefs;
+import atas.model.memo.Memo;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.student.ReadOnlyStudentList;
+import atas.model.student.StudentList;
+
+/**
+ * A {@code Storage} that saves the session list, the student list and the memo on a background thread.
+ * Saving takes an immutable snapshot of the data and returns at once. The snapshots are written a short delay later,
+ * and a newer snapshot replaces one that is still waiting, so a burst of saves results in a single write.
+ * Failed writes are reported to the write failure handler, and kept to be written again unless a newer snapshot has
+ * replaced them. They are retried in the background after a delay that doubles with every failure in a row, as well
+ * as by the next save or flush. Everything else is passed straight to the wrapped storage.
+ * As every file is synced to the disk when it is written, a burst of saves also costs a single sync per file.
+ * The memo is saved on every keystroke, so its writes are debounced instead: the memo is written once it has not
+ * been saved for the memo save delay, and no later than the maximum memo save latency after the first unwritten
+ * save, however long the saves keep coming.
+ * The time taken by each batch of writes is logged, with a warning when it is over the write latency budget.
+ */
+public class WriteBehindStorage implements Storage {
+
+    public static final long DEFAULT_COALESCE_DELAY_MILLIS = 200;
+    public static final long WRITE_LATENCY_BUDGET_MILLIS = 250;
+    public static final long INITIAL_RETRY_DELAY_MILLIS = 1000;
+    public static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private static final Logger logger = LogsCenter.getLogger(WriteBehindStorage.class);
+
+    private final Storage storage;
+    private final long coalesceDelayMillis;
+    private final long memoSaveDelayMillis;
+    private final long memoMaxSaveLatencyMillis;
+    private final ScheduledExecutorService writer;
+    // Held while writing, so that background writes and flushes never overlap.
+    private final Object writeLock = new Object();
+
+    private ReadOnlySessionList pendingSessionList;
+    private ReadOnlyStudentList pendingStudentList;
+    private Memo pendingMemo;
+    private boolean isWriteScheduled;
+    private ScheduledFuture<?> memoWrite;
+    private long memoWriteDeadlineNanos;
+    private boolean isRetryScheduled;
+    private long retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+    private Consumer<IOException> writeFailureHandler = e -> {};
+
+    /**
+     * Creates a {@code WriteBehindStorage} that writes to {@code storage} on its own background thread.
+     */
+    public WriteBehindStorage(Storage storage) {
+        this(storage, DEFAULT_COALESCE_DELAY_MILLIS, DEFAULT_COALESCE_DELAY_MILLIS);
+    }
+
+    /**
+     * Creates a {@code WriteBehindStorage} that writes to {@code storage} on its own background thread,
+     * debouncing the writes of the memo by {@code memoSaveDelayMillis} up to {@code memoMaxSaveLatencyMillis}.
+     */
+    public WriteBehindStorage(Storage storage, long memoSaveDelayMillis, long memoMaxSaveLatencyMillis) {
+        this(storage, DEFAULT_COALESCE_DELAY_MILLIS, memoSaveDelayMillis, memoMaxSaveLatencyMillis,
+                createWriter());
+    }
+
+    /**
+     * Creates a {@code WriteBehindStorage} that writes to {@code storage} using {@code writer},
+     * {@code coalesceDelayMillis} after the first of a burst of saves.
+     */
+    public WriteBehindStorage(Storage storage, long coalesceDelayMillis, ScheduledExecutorService writer) {
+        this(storage, coalesceDelayMillis, coalesceDelayMillis, coalesceDelayMillis, writer);
+    }
+
+    /**
+     * Creates a {@code WriteBehindStorage} that writes to {@code storage} using {@code writer},
+     * {@code coalesceDelayMillis} after the first of a burst of saves. The memo is written once it has not been
+     * saved for {@code memoSaveDelayMillis}, and at most {@code memoMaxSaveLatencyMillis} after it was first saved.
+     */
+    public WriteBehindStorage(Storage storage, long coalesceDelayMillis, long memoSaveDelayMillis,
+                              long memoMaxSaveLatencyMillis, ScheduledExecutorService writer) {
+        requireNonNull(storage);
+        requireNonNull(writer);
+        this.storage = storage;
+        this.coalesceDelayMillis = coalesceDelayMillis;
+        this.memoSaveDelayMillis = memoSaveDelayMillis;
+        this.memoMaxSaveLatencyMillis = memoMaxSaveLatencyMillis;
+        this.writer = writer;
+    }
+
+    private static ScheduledExecutorService createWriter() {
+        ScheduledThreadPoolExecutor writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The memo write is rescheduled on every keystroke
+        writer.setRemoveOnCancelPolicy(true);
+        return writer;
+    }
+
+    /**
+     * Sets the handler that is given every error from writing in the background.
+     * The handler is called on the background thread.
+     */
+    public synchronized void setWriteFailureHandler(Consumer<IOException> writeFailureHandler) {
+        requireNonNull(writeFailureHandler);
+        this.writeFailureHandler = writeFailureHandler;
+    }
+
+    /**
+     * Writes all pending snapshots on the calling thread, waiting for any write in progress to finish first.
+     *
+     * @throws IOException if there was any problem writing to the storage.
+     */
+    public void flush() throws IOException {
+        writePending();
+    }
+
+    /**
+     * Flushes all pending snapshots and stops the background thread.
+     *
+     * @throws IOException if there was any problem writing to the storage.
+     */
+    public void shutdown() throws IOException {
+        try {
+            flush();
+        } finally {
+            // Writes that are still scheduled have nothing left to write
+            synchronized (this) {
+                writer.shutdownNow();
+            }
+        }
+    }
+
+    private synchronized void scheduleWrite() {
+        if (!isWriteScheduled) {
+            isWriteScheduled = true;
+            writer.schedule(this::writeInBackground, coalesceDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Schedules the pending memo to be written after the memo save delay, replacing the write scheduled for an
+     * earlier save, but no later than the maximum memo save latency after the first save since the last write.
+     */
+    private synchronized void scheduleMemoWrite() {
+        long nowNanos = System.nanoTime();
+        if (memoWrite == null) {
+            memoWriteDeadlineNanos = nowNanos + TimeUnit.MILLISECONDS.toNanos(memoMaxSaveLatencyMillis);
+        } else {
+            memoWrite.cancel(false);
+        }
+        long millisToDeadline = TimeUnit.NANOSECONDS.toMillis(Math.max(0, memoWriteDeadlineNanos - nowNanos));
+        memoWrite = writer.schedule(this::writeInBackground, Math.min(memoSaveDelayMillis, millisToDeadline),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void writeInBackground() {
+        try {
+            writePending();
+        } catch (IOException e) {
+            logger.warning("Failed to write data in the background: " + e);
+            Consumer<IOException> handler;
+            synchronized (this) {
+                handler = writeFailureHandler;
+            }
+            handler.accept(e);
+            scheduleRetry();
+        }
+    }
+
+    /**
+     * Schedules the snapshots left pending by a failed write to be written again, unless a retry is already scheduled.
+     * The delay doubles with every retry, up to the maximum retry delay, until a write succeeds.
+     */
+    private synchronized void scheduleRetry() {
+        boolean hasPending = pendingSessionList != null || pendingStudentList != null || pendingMemo != null;
+        if (isRetryScheduled || !hasPending || writer.isShutdown()) {
+            return;
+        }
+        isRetryScheduled = true;
+        writer.schedule(this::retryInBackground, retryDelayMillis, TimeUnit.MILLISECONDS);
+        retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private void retryInBackground() {
+        synchronized (this) {
+            isRetryScheduled = false;
+        }
+        writeInBackground();
+    }
+
+    /**
+     * Writes the snapshots that are pending. A snapshot that fails to be written is kept pending,
+     * unless it has been replaced in the meantime.
+     */
+    private void writePending() throws IOException {
+        synchronized (writeLock) {
+            ReadOnlySessionList sessionList;
+            ReadOnlyStudentList studentList;
+            Memo memo;
+            synchronized (this) {
+                sessionList = pendingSessionList;
+                studentList = pendingStudentList;
+                memo = pendingMemo;
+                pendingSessionList = null;
+                pendingStudentList = null;
+                pendingMemo = null;
+                isWriteScheduled = false;
+                if (memo != null && memoWrite != null) {
+                    // The memo is written now, whichever write took it
+                    memoWrite.cancel(false);
+                    memoWrite = null;
+                }
+            }
+
+            long startNanos = System.nanoTime();
+            IOException failure = null;
+            if (sessionList != null) {
+                try {
+                    storage.saveSessionList(sessionList);
+                } catch (IOException e) {
+                    failure = e;
+                    synchronized (this) {
+                        pendingSessionList = pendingSessionList == null ? sessionList : pendingSessionList;
+                    }
+                }
+            }
+            if (studentList != null) {
+                try {
+                    storage.saveStudentList(studentList);
+                } catch (IOException e) {
+                    failure = e;
+                    synchronized (this) {
+                        pendingStudentList = pendingStudentList == null ? studentList : pendingStudentList;
+                    }
+                }
+            }
+            if (memo != null) {
+                try {
+                    storage.saveMemo(memo);
+                } catch (IOException e) {
+                    failure = e;
+                    synchronized (this) {
+                        pendingMemo = pendingMemo == null ? memo : pendingMemo;
+                    }
+                }
+            }
+            logWriteLatency(startNanos, sessionList, studentList, memo);
+            if (failure != null) {
+                throw failure;
+            }
+            synchronized (this) {
+                retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+            }
+        }
+    }
+
+    private static void logWriteLatency(long startNanos, Object... snapshots) {
+        long writes = Arrays.stream(snapshots).filter(Objects::nonNull).count();
+        if (writes == 0) {
+            return;
+        }
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        String message = String.format("Wrote %d data file(s) in %d ms (budget %d ms)", writes, latencyMillis,
+                WRITE_LATENCY_BUDGET_MILLIS);
+        if (latencyMillis > WRITE_LATENCY_BUDGET_MILLIS) {
+            logger.warning(message);
+        } else {
+            logger.fine(message);
+        }
+    }
+
+    /**
+     * Flushes all pending snapshots, then reads everything from the wrapped storage.
+     */
+    @Override
+    public LoadedData readAll() throws IOException {
+        flush();
+        return storage.readAll();
+    }
+
+    // ================ UserPrefs methods ==============================
+
+    @Override
+    public Path getUserPrefsFilePath() {
+        return storage.getUserPrefsFilePath();
+    }
+
+    @Override
+    public Optional<UserPrefs> readUserPrefs() throws DataConversionException, IOException {
+        return storage.readUserPrefs();
+    }
+
+    @Override
+    public void saveUserPrefs(ReadOnlyUserPrefs userPrefs) throws IOException {
+        storage.saveUserPrefs(userPrefs);
+    }
+
+    // ================ StudentList methods ==============================
+
+    @Override
+    public Path getStudentListFilePath() {
+        return storage.getStudentListFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList() throws DataConversionException, IOException {
+        flush();
+        return storage.readStudentList();
+    }
+
+    @Override
+    public Optional<ReadOnlyStudentList> readStudentList(Path filePath) throws DataConversionException, IOException {
+        flush();
+        return storage.readStudentList(filePath);
+    }
+
+    /**
+     * Takes a snapshot of {@code studentList} to be written in the background.
+     */
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList) {
+        requireNonNull(studentList);
+        StudentList snapshot = new StudentList(studentList);
+        synchronized (this) {
+            pendingStudentList = snapshot;
+        }
+        scheduleWrite();
+    }
+
+    @Override
+    public void saveStudentList(ReadOnlyStudentList studentList, Path filePath) throws IOException {
+        storage.saveStudentList(studentList, filePath);
+    }
+
+    // ================ SessionList methods ==============================
+
+    @Override
+    public Path getSessionListFilePath() {
+        return storage.getSessionListFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlySessionList> readSessionList() throws DataConversionException, IOException {
+        flush();
+        return storage.readSessionList();
+    }
+
+    @Override
+    public Optional<ReadOnlySessionList> readSessionList(Path filePath) throws DataConversionException, IOException {
+        flush();
+        return storage.readSessionList(filePath);
+    }
+
+    /**
+     * Takes a copy-on-write snapshot of {@code sessionList} to be written in the background.
+     */
+    @Override
+    public void saveSessionList(ReadOnlySessionList sessionList) {
+        requireNonNull(sessionList);
+        ReadOnlySessionList snapshot = sessionList.getCopy();
+        synchronized (this) {
+            pendingSessionList = snapshot;
+        }
+        scheduleWrite();
+    }
+
+    @Override
+    public void saveSessionList(ReadOnlySessionList sessionList, Path filePath) throws IOException {
+        storage.saveSessionList(sessionList, filePath);
+    }
+
+    // ================ Memo methods ==============================
+
+    @Override
+    public Path getMemoFilePath() {
+        return storage.getMemoFilePath();
+    }
+
+    @Override
+    public String readMemo() throws IOException, DataConversionException {
+        flush();
+        return storage.readMemo();
+    }
+
+    @Override
+    public String readMemo(Path filePath) throws DataConversionException, IOException {
+        flush();
+        return storage.readMemo(filePath);
+    }
+
+    /**
+     * Takes a snapshot of {@code memo} to be written in the background once the memo stops being saved for a while.
+     * A snapshot that replaces one not yet written keeps the changes of both.
+     */
+    @Override
+    public void saveMemo(Memo memo) {
+        requireNonNull(memo);
+        synchronized (this) {
+            int changedFrom = pendingMemo == null
+                    ? memo.getChangedFrom()
+                    : Math.min(memo.getChangedFrom(), pendingMemo.getChangedFrom());
+            pendingMemo = new Memo(memo.getText(), changedFrom);
+        }
+        scheduleMemoWrite();
+    }
+
+    @Override
+    public void saveMemo(Memo memo, Path filePath) throws IOException {
+        storage.saveMemo(memo, filePath);
+    }
+}
@@ -15,8 +15,6 @@ import atas.ui.sessionlist.SessionListPanel;
 import atas.ui.sessionlist.session.SessionStudentListPanel;
 import atas.ui.studentlist.StudentListPanel;
 import javafx.application.Platform;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
 import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -172,7 +170,7 @@ public class MainWindow extends UiPart<Stage> {
         CommandBox commandBox = new CommandBox(this::executeCommand);
         commandBoxPlaceholder.getChildren().add(commandBox.getRoot());
 
-        memoBox = new MemoBox(logic.getMemoContent());
+        memoBox = new MemoBox(logic.getMemoText(), this::handleMemoEdit);
         memoBoxPlaceholder.getChildren().add(memoBox.getRoot());
     }
 
@@ -182,7 +180,6 @@ public class MainWindow extends UiPart<Stage> {
     public void setMemoListener() {
         memoTextBox = memoBox.getMemoTextBox();
         setSaveMemoCommandListener(memoTextBox);
-        setAutoSaveMemo(memoTextBox);
     }
 
     /**
@@ -200,22 +197,16 @@ public class MainWindow extends UiPart<Stage> {
     }
 
     /**
-     * Sets up listener to save any changes in Memo.
-     *
-     * @param textBox TextArea to listen to.
+     * Saves an edit made in the MemoBox.
+     * Saving only hands the memo to the storage, which writes it in the background once typing pauses.
      */
-    private void setAutoSaveMemo(TextArea textBox) {
-        textBox.textProperty().addListener(new ChangeListener<String>() {
-            @Override
-            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
-                try {
-                    logic.saveMemoContent(memoTextBox.getText());
-                } catch (CommandException e) {
-                    logger.info("Error in creating memo.txt");
-                    resultDisplay.setFeedbackToUser("Memo.txt cannot be created.");
-                }
-            }
-        });
+    private void handleMemoEdit(int start, int end, String text) {
+        try {
+            logic.replaceMemoText(start, end, text);
+        } catch (CommandException e) {
+            logger.info("Error in creating memo.txt");
+            resultDisplay.setFeedbackToUser("Memo.txt cannot be created.");
+        }
     }
 
     /**
@@ -275,8 +266,7 @@ public class MainWindow extends UiPart<Stage> {
      */
     @FXML
     private void handleEditMemo() {
-        String newContent = logic.getMemoContent();
-        memoBox.setTextContent(newContent);
+        memoBox.showText(logic.getMemoText());
     }
 
     @FXML
@@ -316,6 +306,13 @@ public class MainWindow extends UiPart<Stage> {
         resultDisplay.setFeedbackToUser(commandResult.getFeedbackToUser());
     }
 
+    /**
+     * Displays {@code feedback} to the user without running a command.
+     */
+    public void showFeedback(String feedback) {
+        resultDisplay.setFeedbackToUser(feedback);
+    }
+
     /**
      * Executes the command and returns the result.
      *
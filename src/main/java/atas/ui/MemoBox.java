@@ -2,38 +2,81 @@ package atas.ui;
 
 import static java.util.Objects.requireNonNull;
 
+import atas.model.memo.Rope;
 import javafx.fxml.FXML;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.control.TextFormatter.Change;
 import javafx.scene.layout.Region;
 
 /**
  * Contains a TextArea that is displayed at the middle of the Memo tab.
+ * Changes to the Memo are shown by appending the new text where possible, and edits made in the TextArea are passed
+ * on by a text formatter as the range of text they replace, so that neither side copies the whole Memo for every
+ * change.
  */
 public class MemoBox extends UiPart<Region> {
 
     private static final String FXML = "MemoBox.fxml";
 
+    private final EditHandler editHandler;
+
     @FXML
     private TextArea memoTextBox;
 
+    // The text in the text box, as last shown or edited
+    private Rope shownText = Rope.EMPTY;
+    private boolean isShowingText;
+    // Whether the next change of the text has already been passed on by the text formatter
+    private boolean isEditPassedOn;
+
     /**
      * Constructs a MemoBox to be displayed.
      *
-     * @param content String content of the Memo of ATAS.
+     * @param text Text of the Memo of ATAS.
+     * @param editHandler Handler given every edit made in the MemoBox.
      */
-    public MemoBox(String content) {
+    public MemoBox(Rope text, EditHandler editHandler) {
         super(FXML);
-        memoTextBox.setText(content);
+        requireNonNull(editHandler);
+        this.editHandler = editHandler;
+        memoTextBox.setTextFormatter(new TextFormatter<String>(this::handleEdit));
+        memoTextBox.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (isEditPassedOn) {
+                isEditPassedOn = false;
+            } else if (!isShowingText) {
+                handleUnfilteredEdit(oldValue, newValue);
+            }
+        });
+        showText(text);
     }
 
     /**
-     * Writes text into the MemoBox.
+     * Shows {@code text} in the MemoBox. If it only adds to the end of the text shown, only the new text is added.
      *
-     * @param content String content to be displayed in the MemoBox.
+     * @param text Text to be displayed in the MemoBox.
      */
-    public void setTextContent(String content) {
-        requireNonNull(content);
-        memoTextBox.setText(content);
+    public void showText(Rope text) {
+        requireNonNull(text);
+        isShowingText = true;
+        try {
+            if (text.length() > shownText.length() && text.startsWith(shownText)) {
+                memoTextBox.appendText(text.subSequence(shownText.length(), text.length()).toString());
+            } else if (!text.equals(shownText)) {
+                memoTextBox.setText(text.toString());
+            }
+        } finally {
+            isShowingText = false;
+        }
+        shownText = text;
+
+        // The text box drops characters it does not show, such as carriage returns, so the Memo is made to match it
+        if (memoTextBox.getLength() != shownText.length()) {
+            int shownLength = shownText.length();
+            String boxText = memoTextBox.getText();
+            shownText = Rope.of(boxText);
+            editHandler.replace(0, shownLength, boxText);
+        }
     }
 
     /**
@@ -55,4 +98,76 @@ public class MemoBox extends UiPart<Region> {
     public TextArea getMemoTextBox() {
         return memoTextBox;
     }
+
+    /**
+     * Passes on the text replaced by {@code change}, as it is about to be made in the text box.
+     * The characters that the text box drops are removed from the change first, so that the Memo matches it.
+     */
+    private Change handleEdit(Change change) {
+        if (isShowingText || !change.isContentChange()) {
+            return change;
+        }
+
+        change.setText(removeDroppedCharacters(change.getText()));
+        int start = change.getRangeStart();
+        int end = change.getRangeEnd();
+        String text = change.getText();
+        if (end - start == text.length() && text.contentEquals(shownText.subSequence(start, end))) {
+            // The text is unchanged, so the text box does not report a change either
+            return change;
+        }
+
+        shownText = shownText.replace(start, end, text);
+        editHandler.replace(start, end, text);
+        isEditPassedOn = true;
+        return change;
+    }
+
+    /**
+     * Passes on a change from {@code oldValue} to {@code newValue} that skipped the text formatter, such as an undo,
+     * as the single range of text that it replaced.
+     */
+    private void handleUnfilteredEdit(String oldValue, String newValue) {
+        int maxCommonLength = Math.min(oldValue.length(), newValue.length());
+        int prefix = 0;
+        while (prefix < maxCommonLength && oldValue.charAt(prefix) == newValue.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommonLength - prefix
+                && oldValue.charAt(oldValue.length() - 1 - suffix) == newValue.charAt(newValue.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        int end = oldValue.length() - suffix;
+        String text = newValue.substring(prefix, newValue.length() - suffix);
+        shownText = shownText.replace(prefix, end, text);
+        editHandler.replace(prefix, end, text);
+    }
+
+    /**
+     * Returns {@code text} without the control characters that a text area drops, which are all but new lines and
+     * tabs.
+     */
+    private static String removeDroppedCharacters(String text) {
+        StringBuilder kept = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\t' || (c >= ' ' && c != '\u007f')) {
+                kept.append(c);
+            }
+        }
+        return kept.length() == text.length() ? text : kept.toString();
+    }
+
+    /**
+     * Represents a function that applies an edit made in the MemoBox to the Memo.
+     */
+    @FunctionalInterface
+    public interface EditHandler {
+        /**
+         * Replaces the text of the Memo from {@code start} to {@code end} with {@code text}.
+         */
+        void replace(int start, int end, String text);
+    }
 }
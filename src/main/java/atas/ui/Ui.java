@@ -10,4 +10,7 @@ public interface Ui {
     /** Starts the UI (and the App).  */
     void start(Stage primaryStage);
 
+    /** Tells the user that saving data failed with {@code e}. May be called from any thread. */
+    void showSaveFailure(Exception e);
+
 }
@@ -6,6 +6,7 @@ import atas.MainApp;
 import atas.commons.core.LogsCenter;
 import atas.commons.util.StringUtil;
 import atas.logic.Logic;
+import atas.logic.LogicManager;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -52,6 +53,15 @@ public class UiManager implements Ui {
         }
     }
 
+    @Override
+    public void showSaveFailure(Exception e) {
+        Platform.runLater(() -> {
+            if (mainWindow != null) {
+                mainWindow.showFeedback(LogicManager.FILE_OPS_ERROR_MESSAGE + e);
+            }
+        });
+    }
+
     private Image getImage(String imagePath) {
         return new Image(MainApp.class.getResourceAsStream(imagePath));
     }
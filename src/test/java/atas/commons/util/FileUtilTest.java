@@ -1,13 +1,22 @@
 package atas.commons.util;
 
 import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FileUtilTest {
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void isValidPath() {
         // valid path
@@ -20,4 +29,24 @@ public class FileUtilTest {
         assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void writeToFile_existingFile_replaced() throws Exception {
+        Path file = testFolder.resolve("dir").resolve("file.txt");
+        FileUtil.writeToFile(file, "old");
+        FileUtil.writeToFile(file, "new content");
+        assertEquals("new content", FileUtil.readFromFile(file));
+        assertFalse(Files.exists(testFolder.resolve("dir").resolve("file.txt" + FileUtil.TEMPORARY_SUFFIX)));
+    }
+
+    @Test
+    public void writeToFileAtomically_writeFails_fileUnchanged() throws Exception {
+        Path file = testFolder.resolve("file.txt");
+        FileUtil.writeToFile(file, "old");
+        assertThrows(IOException.class, () -> FileUtil.writeToFileAtomically(file, out -> {
+            out.write("partial".getBytes());
+            throw new IOException("dummy exception");
+        }));
+        assertEquals("old", FileUtil.readFromFile(file));
+    }
+
 }
@@ -40,6 +40,19 @@ public class JsonUtilTest {
         assertEquals(serializableTestClass.getMapOfIntegerToString(), SerializableTestClass.getHashMapTestValues());
     }
 
+    @Test
+    public void serializeObjectToJsonFile_notPrettyPrinted_singleLine() throws IOException {
+        SerializableTestClass serializableTestClass = new SerializableTestClass();
+        serializableTestClass.setTestValues();
+
+        JsonUtil.serializeObjectToJsonFile(SERIALIZATION_FILE, serializableTestClass, false);
+
+        assertEquals(FileUtil.readFromFile(SERIALIZATION_FILE), JsonUtil.toCompactJsonString(serializableTestClass));
+        SerializableTestClass fromFile = JsonUtil
+                .deserializeObjectFromJsonFile(SERIALIZATION_FILE, SerializableTestClass.class);
+        assertEquals(fromFile.getListOfLocalDateTimes(), SerializableTestClass.getListTestValues());
+    }
+
     //TODO: @Test jsonUtil_readJsonStringToObjectInstance_correctObject()
 
     //TODO: @Test jsonUtil_writeThenReadObjectToJson_correctObject()
@@ -122,6 +122,23 @@ public class LogicManagerTest {
         assertCommandFailure(addStudentCommand, CommandException.class, expectedMessage, expectedModel);
     }
 
+    @Test
+    public void execute_readOnlyCommand_storageNotAccessed() throws Exception {
+        // Any save would throw, so the command only succeeds if nothing is saved
+        JsonSessionListStorage jsonSessionListStorage =
+                new JsonSessionListIoExceptionThrowingStub(temporaryFolder.resolve("ioExceptionSessionList.json"));
+        JsonAtasStorage studentListStorage =
+                new JsonAtasIoExceptionThrowingStub(temporaryFolder.resolve("ioExceptionStudentList.json"));
+        JsonUserPrefsStorage userPrefsStorage =
+                new JsonUserPrefsStorage(temporaryFolder.resolve("ioExceptionUserPrefs.json"));
+        TxtMemoStorage memoStorage = new TxtMemoIoExceptionThrowingStub(temporaryFolder.resolve("ioExceptionMemo.txt"));
+        StorageManager storage = new StorageManager(
+                jsonSessionListStorage, studentListStorage, userPrefsStorage, memoStorage);
+        logic = new LogicManager(model, storage);
+
+        assertCommandSuccess(ListStudentsCommand.COMMAND_WORD, ListStudentsCommand.MESSAGE_SUCCESS, model);
+    }
+
     @Test
     public void getFilteredStudentList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> logic.getFilteredStudentList().remove(0));
@@ -152,9 +169,9 @@ public class LogicManagerTest {
     }
 
     @Test
-    public void testSaveMemoContent() throws CommandException {
+    public void testReplaceMemoText() throws CommandException {
         Memo memo = model.getMemo();
-        logic.saveMemoContent(SAMPLE_MEMO_CONTENT_ONE);
+        logic.replaceMemoText(0, memo.getContent().length(), SAMPLE_MEMO_CONTENT_ONE);
         assertEquals(SAMPLE_MEMO_CONTENT_ONE, memo.getContent());
     }
 
@@ -40,7 +40,7 @@ public class ConfirmationAcceptCommandTest {
 
         ModelManager expectedModel = new ModelManager(getTypicalSessionList(model.getStudentList().getStudentList()),
                 model.getStudentList(), new UserPrefs(), EMPTY_MEMO_CONTENT);
-        expectedModel.deleteStudent(studentToDelete, INDEX_FIRST_STUDENT);
+        expectedModel.deleteStudent(studentToDelete);
 
         ConfirmationAcceptCommand confirmationAcceptCommand = new ConfirmationAcceptCommand(deleteStudentCommand);
         assertCommandSuccess(confirmationAcceptCommand, model, expectedMessage, expectedModel);
@@ -136,13 +136,18 @@ public class AddNoteCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getStudentListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasStudent(Student student) {
             throw new AssertionError("This method should not be called.");
         }
 
         @Override
-        public void deleteStudent(Student target, Index id) {
+        public void deleteStudent(Student target) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -171,6 +176,11 @@ public class AddNoteCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getSessionListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasSession(Session session) {
             throw new AssertionError("This method should not be called.");
@@ -302,7 +312,7 @@ public class AddNoteCommandTest {
         }
 
         @Override
-        public void saveMemoContent(String content) {
+        public void replaceMemoText(int start, int end, String text) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -366,6 +376,11 @@ public class AddNoteCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public long getHistoryMemoryUsage() {
+            throw new AssertionError("This method should not be called.");
+        }
+
     }
 
     /**
@@ -133,13 +133,18 @@ public class AddSessionCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getStudentListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasStudent(Student student) {
             throw new AssertionError("This method should not be called.");
         }
 
         @Override
-        public void deleteStudent(Student target, Index id) {
+        public void deleteStudent(Student target) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -168,6 +173,11 @@ public class AddSessionCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getSessionListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasSession(Session session) {
             throw new AssertionError("This method should not be called.");
@@ -299,7 +309,7 @@ public class AddSessionCommandTest {
         }
 
         @Override
-        public void saveMemoContent(String content) {
+        public void replaceMemoText(int start, int end, String text) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -346,6 +356,11 @@ public class AddSessionCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public long getHistoryMemoryUsage() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public void refreshSessionStatistics() {
             throw new AssertionError("This method should not be called.");
@@ -132,13 +132,18 @@ public class AddStudentCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getStudentListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasStudent(Student student) {
             throw new AssertionError("This method should not be called.");
         }
 
         @Override
-        public void deleteStudent(Student target, Index id) {
+        public void deleteStudent(Student target) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -167,6 +172,11 @@ public class AddStudentCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public int getSessionListVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasSession(Session session) {
             throw new AssertionError("This method should not be called.");
@@ -298,7 +308,7 @@ public class AddStudentCommandTest {
         }
 
         @Override
-        public void saveMemoContent(String content) {
+        public void replaceMemoText(int start, int end, String text) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -345,6 +355,11 @@ public class AddStudentCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public long getHistoryMemoryUsage() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public void refreshSessionStatistics() {
             throw new AssertionError("This method should not be called.");
@@ -38,7 +38,7 @@ public class DeleteStudentCommandTest {
 
         ModelManager expectedModel = new ModelManager(getTypicalSessionList(model.getStudentList().getStudentList()),
                 model.getStudentList(), new UserPrefs(), EMPTY_MEMO_CONTENT);
-        expectedModel.deleteStudent(studentToDelete, INDEX_FIRST_STUDENT);
+        expectedModel.deleteStudent(studentToDelete);
 
         assertCommandSuccess(deleteStudentCommand, model, expectedMessage, expectedModel);
     }
@@ -62,7 +62,7 @@ public class DeleteStudentCommandTest {
 
         Model expectedModel = new ModelManager(getTypicalSessionList(model.getStudentList().getStudentList()),
                 model.getStudentList(), new UserPrefs(), EMPTY_MEMO_CONTENT);
-        expectedModel.deleteStudent(studentToDelete, INDEX_FIRST_STUDENT);
+        expectedModel.deleteStudent(studentToDelete);
 
         assertCommandSuccess(deleteStudentCommand, model, expectedMessage, expectedModel);
     }
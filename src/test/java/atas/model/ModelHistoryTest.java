@@ -0,0 +1,117 @@
+package atas.model;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.HOON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import atas.model.exceptions.UnableToRedoException;
+import atas.model.exceptions.UnableToUndoException;
+import atas.model.history.HistoryLimits;
+import atas.model.session.SessionList;
+import atas.model.session.VersionedAttributesList;
+import atas.model.session.VersionedSessionList;
+import atas.model.student.StudentList;
+import atas.model.student.VersionedStudentList;
+import atas.testutil.TypicalSessions;
+import atas.testutil.TypicalStudents;
+
+public class ModelHistoryTest {
+
+    private final VersionedStudentList studentList = new VersionedStudentList(TypicalStudents.getTypicalStudentList());
+    private final VersionedSessionList sessionList = new VersionedSessionList(new SessionList());
+    private final VersionedAttributesList attributesList = new VersionedAttributesList();
+    private final ModelHistory history = new ModelHistory(studentList, sessionList, attributesList);
+
+    @Test
+    public void constructor_nullEntity_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new ModelHistory(studentList, null));
+    }
+
+    @Test
+    public void commit_recordsOneTransaction() {
+        assertFalse(history.canUndo());
+        studentList.addStudent(HOON);
+        sessionList.addSession(TypicalSessions.duplicateSession(TypicalSessions.TUT1));
+        history.commit();
+
+        assertEquals(1, history.getUndoCount());
+        assertTrue(history.getEstimatedBytes() > 0);
+        assertTrue(history.canUndo());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    public void undoRedo_allEntitiesMovedTogether() {
+        studentList.addStudent(HOON);
+        sessionList.addSession(TypicalSessions.duplicateSession(TypicalSessions.TUT1));
+        history.commit();
+
+        history.undo();
+        assertFalse(studentList.hasStudent(HOON));
+        assertEquals(0, sessionList.returnSize());
+        assertEquals(0, history.getUndoCount());
+        assertEquals(1, history.getRedoCount());
+
+        history.redo();
+        assertTrue(studentList.hasStudent(HOON));
+        assertEquals(1, sessionList.returnSize());
+    }
+
+    @Test
+    public void undo_uncommittedChanges_revertedFirst() {
+        studentList.addStudent(HOON);
+        history.commit();
+
+        studentList.removeStudent(ALICE);
+        sessionList.addSession(TypicalSessions.duplicateSession(TypicalSessions.TUT1));
+        history.undo();
+
+        assertTrue(studentList.hasStudent(ALICE));
+        assertFalse(studentList.hasStudent(HOON));
+        assertEquals(0, sessionList.returnSize());
+    }
+
+    @Test
+    public void undoRedo_emptyHistory_throwsException() {
+        assertThrows(UnableToUndoException.class, history::undo);
+        assertThrows(UnableToRedoException.class, history::redo);
+    }
+
+    @Test
+    public void getVersion_changesOnCommitUndoAndRedo() {
+        long version = history.getVersion();
+        history.commit();
+        assertTrue(history.getVersion() > version);
+
+        version = history.getVersion();
+        history.undo();
+        assertTrue(history.getVersion() > version);
+
+        version = history.getVersion();
+        history.redo();
+        assertTrue(history.getVersion() > version);
+    }
+
+    @Test
+    public void setLimits_fewerEntries_oldestTransactionsEvicted() {
+        for (int i = 0; i < 4; i++) {
+            history.commit();
+        }
+        history.setLimits(new HistoryLimits(2, HistoryLimits.DEFAULT_MAX_BYTES));
+        assertEquals(2, history.getUndoCount());
+    }
+
+    @Test
+    public void undo_afterStudentListReset_restoresStudents() {
+        studentList.resetData(new StudentList());
+        history.commit();
+
+        history.undo();
+        assertEquals(TypicalStudents.getTypicalStudents(), studentList.getStudentList());
+    }
+}
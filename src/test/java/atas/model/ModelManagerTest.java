@@ -28,12 +28,12 @@ import org.junit.jupiter.api.Test;
 
 import atas.commons.core.GuiSettings;
 import atas.commons.core.index.Index;
+import atas.model.exceptions.UnableToUndoException;
+import atas.model.history.HistoryLimits;
 import atas.model.memo.Memo;
-import atas.model.session.VersionedSessionList;
 import atas.model.session.exceptions.SameSessionException;
 import atas.model.student.NameContainsKeywordsPredicate;
 import atas.model.student.StudentList;
-import atas.model.student.VersionedStudentList;
 import atas.testutil.ModelManagerBuilder;
 import atas.testutil.StudentListBuilder;
 
@@ -143,10 +143,10 @@ public class ModelManagerTest {
     }
 
     @Test
-    public void initialStateListIsSizeOne() {
+    public void initialHistoryIsEmpty() {
         modelManager = ModelManagerBuilder.buildTypicalModelManager();
-        assertEquals(1, ((VersionedStudentList) modelManager.getStudentList()).getStudentStateList().size());
-        assertEquals(1, ((VersionedSessionList) modelManager.getSessionList()).getSessionStateList().size());
+        assertFalse(modelManager.canUndo());
+        assertEquals(0, modelManager.getHistoryMemoryUsage());
     }
     @Test
     public void testInitialAbilityToUndo() {
@@ -160,11 +160,28 @@ public class ModelManagerTest {
     }
 
     @Test
-    public void stateListIncreasesSizeAfterCommit() {
+    public void historyIncreasesSizeAfterCommit() {
         modelManager = ModelManagerBuilder.buildTypicalModelManager();
         modelManager.commit();
-        assertEquals(2, ((VersionedStudentList) modelManager.getStudentList()).getStudentStateList().size());
-        assertEquals(2, ((VersionedSessionList) modelManager.getSessionList()).getSessionStateList().size());
+        assertTrue(modelManager.canUndo());
+        assertTrue(modelManager.getHistoryMemoryUsage() > 0);
+    }
+
+    @Test
+    public void commit_beyondHistoryLimit_oldestCommitsEvicted() {
+        modelManager = ModelManagerBuilder.buildTypicalModelManager();
+        UserPrefs userPrefs = new UserPrefs();
+        userPrefs.setUndoHistoryLimits(new HistoryLimits(2, HistoryLimits.DEFAULT_MAX_BYTES));
+        modelManager.setUserPrefs(userPrefs);
+
+        for (int i = 0; i < 5; i++) {
+            modelManager.commit();
+        }
+        modelManager.undo();
+        modelManager.undo();
+        assertFalse(modelManager.canUndo());
+        assertThrows(UnableToUndoException.class, modelManager::undo);
+        assertTrue(modelManager.canRedo());
     }
 
     public void testGetMemoContent() {
@@ -178,14 +195,14 @@ public class ModelManagerTest {
     }
 
     @Test
-    public void testSaveMemoContent() {
+    public void testReplaceMemoText() {
         StudentList studentList = new StudentListBuilder().withStudent(ALICE).withStudent(BENSON).build();
         UserPrefs userPrefs = new UserPrefs();
 
         ModelManager modelManagerWithNewMemoContent = new ModelManager(
                 getTypicalSessionList(studentList.getStudentList()), studentList, userPrefs, SAMPLE_MEMO_CONTENT_ONE);
 
-        modelManagerWithNewMemoContent.saveMemoContent(SAMPLE_MEMO_CONTENT_TWO);
+        modelManagerWithNewMemoContent.replaceMemoText(0, SAMPLE_MEMO_CONTENT_ONE.length(), SAMPLE_MEMO_CONTENT_TWO);
 
         assertEquals(SAMPLE_MEMO_CONTENT_TWO, modelManagerWithNewMemoContent.getMemoContent());
     }
@@ -0,0 +1,129 @@
+package atas.model.history;
+
+import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import atas.model.exceptions.UnableToRedoException;
+import atas.model.exceptions.UnableToUndoException;
+
+public class UndoJournalTest {
+
+    private final List<String> log = new ArrayList<>();
+
+    @Test
+    public void undoRedo_emptyJournal_throwsException() {
+        UndoJournal journal = new UndoJournal();
+        assertThrows(UnableToUndoException.class, journal::undo);
+        assertThrows(UnableToRedoException.class, journal::redo);
+    }
+
+    @Test
+    public void undoRedo_entriesAppliedInOrder() {
+        UndoJournal journal = new UndoJournal();
+        journal.record(new LoggingEntry("a", 10));
+        journal.record(new LoggingEntry("b", 10));
+
+        journal.undo();
+        journal.undo();
+        journal.redo();
+        assertEquals(List.of("undo b", "undo a", "redo a"), log);
+        assertTrue(journal.canUndo());
+        assertTrue(journal.canRedo());
+        assertEquals(20, journal.getEstimatedBytes());
+    }
+
+    @Test
+    public void record_afterUndo_discardsRedoEntries() {
+        UndoJournal journal = new UndoJournal();
+        journal.record(new LoggingEntry("a", 10));
+        journal.undo();
+        journal.record(new LoggingEntry("b", 5));
+
+        assertFalse(journal.canRedo());
+        assertEquals(1, journal.getUndoCount());
+        assertEquals(5, journal.getEstimatedBytes());
+    }
+
+    @Test
+    public void record_beyondMaxEntries_evictsOldest() {
+        UndoJournal journal = new UndoJournal(new HistoryLimits(2, 1000));
+        journal.record(new LoggingEntry("a", 10));
+        journal.record(new LoggingEntry("b", 10));
+        journal.record(new LoggingEntry("c", 10));
+
+        assertEquals(2, journal.getUndoCount());
+        journal.undo();
+        journal.undo();
+        assertFalse(journal.canUndo());
+        assertEquals(List.of("undo c", "undo b"), log);
+    }
+
+    @Test
+    public void record_beyondMaxBytes_evictsOldest() {
+        UndoJournal journal = new UndoJournal(new HistoryLimits(100, 25));
+        journal.record(new LoggingEntry("a", 10));
+        journal.record(new LoggingEntry("b", 10));
+        journal.record(new LoggingEntry("c", 10));
+
+        assertEquals(2, journal.getUndoCount());
+        assertEquals(20, journal.getEstimatedBytes());
+    }
+
+    @Test
+    public void setLimits_smallerLimits_evictsOldest() {
+        UndoJournal journal = new UndoJournal();
+        journal.record(new LoggingEntry("a", 10));
+        journal.record(new LoggingEntry("b", 10));
+        journal.setLimits(new HistoryLimits(1, 1000));
+
+        assertEquals(1, journal.getUndoCount());
+        assertEquals(10, journal.getEstimatedBytes());
+    }
+
+    @Test
+    public void compoundEntry_undoesInReverseOrder() {
+        UndoJournal journal = new UndoJournal();
+        journal.record(new CompoundEntry(List.of(new LoggingEntry("a", 1), new LoggingEntry("b", 1))));
+        journal.undo();
+        journal.redo();
+        assertEquals(List.of("undo b", "undo a", "redo a", "redo b"), log);
+    }
+
+    @Test
+    public void historyLimits_nonPositive_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new HistoryLimits(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new HistoryLimits(10, 0));
+    }
+
+    private class LoggingEntry implements JournalEntry {
+        private final String name;
+        private final long bytes;
+
+        private LoggingEntry(String name, long bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void undo() {
+            log.add("undo " + name);
+        }
+
+        @Override
+        public void redo() {
+            log.add("redo " + name);
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return bytes;
+        }
+    }
+}
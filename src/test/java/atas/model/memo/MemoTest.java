@@ -7,6 +7,7 @@ import static atas.testutil.TypicalMemos.SAMPLE_MEMO_ONE;
 import static atas.testutil.TypicalMemos.SAMPLE_MEMO_TWO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,56 @@ public class MemoTest {
         assertEquals(SAMPLE_MEMO_CONTENT_ONE.concat("\n").concat(SAMPLE_MEMO_NOTE_ONE), memo.getContent());
     }
 
+    @Test
+    public void testReplaceText() {
+        Memo memo = new Memo("first note");
+        Rope before = memo.getText();
+        int version = memo.getVersion();
+
+        memo.replaceText(0, 5, "second");
+        assertEquals("second note", memo.getContent());
+        assertNotEquals(version, memo.getVersion());
+        // The text taken before the edit is unchanged
+        assertEquals("first note", before.toString());
+    }
+
+    @Test
+    public void testGetChangedFrom() {
+        Memo memo = new Memo("first note");
+        // never saved -> whole content changed
+        assertEquals(0, memo.getChangedFrom());
+
+        memo.markSaved();
+        assertEquals(10, memo.getChangedFrom());
+
+        // appended note -> changed from the old end
+        memo.addNote("second note");
+        assertEquals(10, memo.getChangedFrom());
+
+        // earlier replacement -> changed from its start
+        memo.replaceText(6, 10, "entry");
+        assertEquals(6, memo.getChangedFrom());
+
+        // different content set -> whole content changed
+        memo.markSaved();
+        memo.setContent("other note");
+        assertEquals(0, memo.getChangedFrom());
+    }
+
+    @Test
+    public void testGetVersion() {
+        Memo memo = new Memo(SAMPLE_MEMO_CONTENT_ONE);
+        int version = memo.getVersion();
+
+        // same content -> version unchanged
+        memo.setContent(SAMPLE_MEMO_CONTENT_ONE);
+        assertEquals(version, memo.getVersion());
+
+        // different content -> version changed
+        memo.setContent(SAMPLE_MEMO_CONTENT_TWO);
+        assertNotEquals(version, memo.getVersion());
+    }
+
     @Test
     public void equals() {
         // same object -> returns true
@@ -0,0 +1,108 @@
+package atas.model.memo;
+
+import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RopeTest {
+
+    @Test
+    public void of_longText_splitIntoShortLeaves() {
+        String text = "x".repeat(10 * Rope.MAX_LEAF_LENGTH + 7);
+        Rope rope = Rope.of(text);
+        assertEquals(text, rope.toString());
+        assertEquals(text.length(), rope.length());
+
+        List<String> chunks = new ArrayList<>();
+        rope.forEachChunk(chunks::add);
+        assertTrue(chunks.size() > 1);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= Rope.MAX_LEAF_LENGTH));
+    }
+
+    @Test
+    public void append_manySmallAppends_balancedAndLeavesMerged() {
+        Rope rope = Rope.EMPTY;
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            String note = "note " + i + "\n";
+            rope = rope.append(note);
+            expected.append(note);
+        }
+        assertEquals(expected.toString(), rope.toString());
+        assertEquals(expected.charAt(123456), rope.charAt(123456));
+
+        int[] leaves = {0};
+        rope.forEachChunk(chunk -> leaves[0]++);
+        assertTrue(leaves[0] <= 2 * expected.length() / Rope.MAX_LEAF_LENGTH + 1);
+        // A balanced tree of this many leaves is at most about 1.44 log2(leaves) deep
+        assertTrue(rope.depth() <= 2 * (32 - Integer.numberOfLeadingZeros(leaves[0])));
+    }
+
+    @Test
+    public void replace_randomEdits_matchesStringBuilder() {
+        Random random = new Random(42);
+        Rope rope = Rope.of("a".repeat(3000));
+        StringBuilder expected = new StringBuilder("a".repeat(3000));
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(expected.length() + 1);
+            int end = start + random.nextInt(Math.min(4, expected.length() - start) + 1);
+            String text = Integer.toString(random.nextInt(100000));
+            rope = rope.replace(start, end, text);
+            expected.replace(start, end, text);
+        }
+        assertEquals(expected.toString(), rope.toString());
+        assertEquals(expected.substring(100, 2100), rope.subSequence(100, 2100).toString());
+    }
+
+    @Test
+    public void insert_original_unchanged() {
+        Rope original = Rope.of("hello world");
+        Rope inserted = original.insert(5, ",");
+        assertEquals("hello, world", inserted.toString());
+        assertEquals("hello world", original.toString());
+    }
+
+    @Test
+    public void subSequence_wholeRope_sameRope() {
+        Rope rope = Rope.of("x".repeat(3 * Rope.MAX_LEAF_LENGTH));
+        assertSame(rope, rope.subSequence(0, rope.length()));
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.subSequence(1, rope.length() + 1));
+    }
+
+    @Test
+    public void startsWith() {
+        Rope rope = Rope.of("abc".repeat(1000));
+        assertTrue(rope.startsWith(Rope.EMPTY));
+        assertTrue(rope.startsWith(rope));
+        assertTrue(rope.startsWith(Rope.of("abc".repeat(500))));
+        assertFalse(rope.startsWith(Rope.of("abc".repeat(500) + "x")));
+        assertFalse(Rope.of("abc").startsWith(rope));
+    }
+
+    @Test
+    public void writeTo_writesWholeText() throws Exception {
+        String text = "memo ".repeat(2000);
+        StringWriter writer = new StringWriter();
+        Rope.of(text).writeTo(writer);
+        assertEquals(text, writer.toString());
+    }
+
+    @Test
+    public void equals() {
+        Rope rope = Rope.EMPTY.append("abc").append("def");
+        assertEquals(Rope.of("abcdef"), rope);
+        assertEquals(Rope.of("abcdef").hashCode(), rope.hashCode());
+        assertNotEquals(Rope.of("abcdeg"), rope);
+        assertNotEquals("abcdef", rope);
+    }
+}
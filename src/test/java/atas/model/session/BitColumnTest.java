@@ -0,0 +1,206 @@
+package atas.model.session;
+
+import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BitColumnTest {
+
+    @Test
+    public void constructor_negativeSize_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BitColumn(-1));
+    }
+
+    @Test
+    public void get_outOfBounds_throwsIndexOutOfBoundsException() {
+        BitColumn column = new BitColumn(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(-1));
+    }
+
+    @Test
+    public void setAndFlip_acrossWordBoundary_success() {
+        BitColumn column = new BitColumn(130);
+        column.set(63, true);
+        column.set(64, true);
+        column.flip(129);
+        assertTrue(column.get(63));
+        assertTrue(column.get(64));
+        assertTrue(column.get(129));
+        assertFalse(column.get(0));
+        assertEquals(3, column.cardinality());
+
+        column.flip(64);
+        column.set(63, false);
+        assertEquals(1, column.cardinality());
+    }
+
+    @Test
+    public void flipRange_spanningWords_returnsCardinalityChange() {
+        BitColumn column = new BitColumn(200);
+        column.set(3, true);
+        column.set(70, true);
+
+        assertEquals(134, column.flip(2, 140));
+        assertFalse(column.get(3));
+        assertFalse(column.get(70));
+        assertTrue(column.get(2));
+        assertTrue(column.get(139));
+        assertFalse(column.get(140));
+        assertEquals(136, column.cardinality());
+
+        assertEquals(-134, column.flip(2, 140));
+        assertEquals(0, column.flip(5, 5));
+        assertEquals(62, column.flip(64, 128));
+        assertEquals(64, column.cardinality());
+    }
+
+    @Test
+    public void flipRange_invalidRange_throwsIndexOutOfBoundsException() {
+        BitColumn column = new BitColumn(10);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.flip(0, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.flip(5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.flip(-1, 4));
+    }
+
+    @Test
+    public void flipMaskedRange_onlyMaskedFlagsFlipped() {
+        BitColumn column = new BitColumn(130);
+        BitColumn mask = new BitColumn(130);
+        mask.flip(0, 130);
+        mask.set(5, false);
+        mask.set(100, false);
+
+        assertEquals(128, column.flip(0, 130, mask));
+        assertFalse(column.get(5));
+        assertFalse(column.get(100));
+        assertTrue(column.get(129));
+        assertEquals(-3, column.flip(3, 7, mask));
+    }
+
+    @Test
+    public void ensureSize_growsWithClearedFlags() {
+        BitColumn column = new BitColumn(3);
+        column.set(2, true);
+        column.ensureSize(100);
+        assertEquals(100, column.size());
+        assertEquals(1, column.cardinality());
+        column.ensureSize(10);
+        assertEquals(100, column.size());
+    }
+
+    @Test
+    public void gather_selectsFlagsInOrder() {
+        BitColumn column = new BitColumn(70);
+        column.set(1, true);
+        column.set(69, true);
+
+        BitColumn gathered = column.gather(new int[] {69, 2, 1, 200});
+        assertEquals("1010", gathered.toString());
+    }
+
+    @Test
+    public void nextSetBit_skipsEmptyWords() {
+        BitColumn column = new BitColumn(300);
+        column.set(3, true);
+        column.set(250, true);
+
+        assertEquals(3, column.nextSetBit(0));
+        assertEquals(3, column.nextSetBit(3));
+        assertEquals(250, column.nextSetBit(4));
+        assertEquals(-1, column.nextSetBit(251));
+        assertEquals(-1, column.nextSetBit(300));
+    }
+
+    @Test
+    public void add_appendsPastWordBoundary_success() {
+        BitColumn column = new BitColumn();
+        for (int i = 0; i < 200; i++) {
+            column.add(i % 3 == 0);
+        }
+        assertEquals(200, column.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 3 == 0, column.get(i));
+        }
+    }
+
+    @Test
+    public void addAtIndex_shiftsLaterBitsUp_success() {
+        BitColumn column = new BitColumn(128);
+        column.set(63, true);
+        column.set(127, true);
+        column.add(10, true);
+        assertEquals(129, column.size());
+        assertTrue(column.get(10));
+        assertTrue(column.get(64));
+        assertTrue(column.get(128));
+        assertFalse(column.get(63));
+        assertEquals(3, column.cardinality());
+    }
+
+    @Test
+    public void remove_shiftsLaterBitsDown_success() {
+        BitColumn column = new BitColumn(130);
+        column.set(5, true);
+        column.set(64, true);
+        column.set(129, true);
+        column.remove(5);
+        assertEquals(129, column.size());
+        assertTrue(column.get(63));
+        assertTrue(column.get(128));
+        assertEquals(2, column.cardinality());
+
+        column.remove(0);
+        assertTrue(column.get(62));
+        assertTrue(column.get(127));
+    }
+
+    @Test
+    public void getCopy_independentOfOriginal() {
+        BitColumn column = new BitColumn(70);
+        column.set(69, true);
+        BitColumn copy = column.getCopy();
+        assertEquals(column, copy);
+
+        copy.flip(0);
+        assertNotEquals(column, copy);
+        assertFalse(column.get(0));
+    }
+
+    @Test
+    public void getCopy_writesToEitherNotSeenByOther() {
+        BitColumn column = new BitColumn(70);
+        BitColumn copy = column.getCopy();
+
+        column.set(1, true);
+        copy.flip(2, 70);
+        assertEquals(1, column.cardinality());
+        assertFalse(copy.get(1));
+        assertEquals(68, copy.cardinality());
+
+        copy.remove(0);
+        assertFalse(column.get(2));
+        assertTrue(column.get(1));
+    }
+
+    @Test
+    public void equals() {
+        BitColumn column = new BitColumn(3);
+        column.set(1, true);
+
+        assertTrue(column.equals(column));
+        assertFalse(column.equals(null));
+        assertEquals("010", column.toString());
+
+        BitColumn other = new BitColumn(4);
+        other.set(1, true);
+        assertFalse(column.equals(other));
+        other.remove(3);
+        assertTrue(column.equals(other));
+    }
+
+}
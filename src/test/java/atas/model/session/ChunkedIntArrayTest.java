@@ -0,0 +1,73 @@
+package atas.model.session;
+
+import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedIntArrayTest {
+
+    @Test
+    public void ensureSize_growsWithZeroes() {
+        ChunkedIntArray array = new ChunkedIntArray();
+        array.ensureSize(600);
+        assertEquals(600, array.size());
+        assertEquals(0, array.get(599));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(600));
+    }
+
+    @Test
+    public void add_acrossChunks_success() {
+        ChunkedIntArray array = new ChunkedIntArray();
+        array.ensureSize(600);
+        array.add(255, 2);
+        array.add(256, 3);
+        array.add(256, -1);
+        assertEquals(2, array.get(255));
+        assertEquals(2, array.get(256));
+        assertEquals(0, array.get(257));
+    }
+
+    @Test
+    public void getCopy_writesNotSeenByOther() {
+        ChunkedIntArray array = new ChunkedIntArray();
+        array.ensureSize(600);
+        array.add(10, 1);
+        ChunkedIntArray copy = array.getCopy();
+
+        copy.add(10, 1);
+        array.add(500, 4);
+        assertEquals(1, array.get(10));
+        assertEquals(2, copy.get(10));
+        assertEquals(4, array.get(500));
+        assertEquals(0, copy.get(500));
+    }
+
+    @Test
+    public void clearValues_keepsSize() {
+        ChunkedIntArray array = new ChunkedIntArray();
+        array.ensureSize(300);
+        array.add(299, 5);
+        ChunkedIntArray copy = array.getCopy();
+        array.clearValues();
+        assertEquals(300, array.size());
+        assertEquals(0, array.get(299));
+        assertEquals(5, copy.get(299));
+        array.add(299, 1);
+        assertEquals(1, array.get(299));
+    }
+
+    @Test
+    public void gather_selectsValuesInOrder() {
+        ChunkedIntArray array = new ChunkedIntArray();
+        array.ensureSize(400);
+        array.add(3, 7);
+        array.add(399, 9);
+
+        ChunkedIntArray gathered = array.gather(new int[] {399, 0, 3});
+        assertEquals(3, gathered.size());
+        assertEquals(9, gathered.get(0));
+        assertEquals(0, gathered.get(1));
+        assertEquals(7, gathered.get(2));
+    }
+}
@@ -2,6 +2,7 @@ package atas.model.session;
 
 import static atas.testutil.Assert.assertThrows;
 import static atas.testutil.TypicalSessions.CONSULTATION;
+import static atas.testutil.TypicalSessions.EMPTY_SESSION_1;
 import static atas.testutil.TypicalSessions.LAB2;
 import static atas.testutil.TypicalSessions.TUT1;
 import static atas.testutil.TypicalSessions.TUT2;
@@ -11,15 +12,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import atas.commons.core.index.Index;
 import atas.model.session.exceptions.DuplicateSessionException;
+import atas.model.session.exceptions.SessionNotFoundException;
 import atas.model.student.Student;
 import atas.testutil.Assert;
 import atas.testutil.SessionBuilder;
+import atas.testutil.StudentBuilder;
 import atas.testutil.TypicalSessions;
 import atas.testutil.TypicalStudents;
 
@@ -44,7 +49,7 @@ public class SessionListTest {
     }
 
     @Test
-    public void updateAfterDeletingStudent_validId_success() {
+    public void deleteStudentFromSessions_validStudent_success() {
         // Set up expected result. Alice already removed
         List<Student> expectedMasterList = TypicalStudents.getTypicalStudentsMinusAlice();
         SessionList expectedSessionList = new SessionList(expectedMasterList);
@@ -60,15 +65,161 @@ public class SessionListTest {
         actualSessionList.addSession(TUT3);
 
         typicalMasterList.remove(ALICE);
-        actualSessionList.updateAllSessionsAfterDelete(Index.fromOneBased(1));
+        actualSessionList.deleteStudentFromSessions(ALICE);
 
         assertEquals(expectedSessionList, actualSessionList);
     }
 
     @Test
-    public void updateAfterDeletingStudent_nullId_throwsNullPointerException() {
-        assertThrows(NullPointerException.class, () -> emptySessionList.updateAllSessionsAfterDelete(null));
-        assertThrows(NullPointerException.class, () -> typicalSessionList.updateAllSessionsAfterDelete(null));
+    public void deleteStudentFromSessions_attendanceOfOtherStudentsKept() {
+        List<Student> masterList = TypicalStudents.getTypicalStudents();
+        SessionList sessionList = new SessionList(masterList);
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-3"));
+
+        masterList.remove(ALICE);
+        sessionList.deleteStudentFromSessions(ALICE);
+        sessionList.updateStudentList(masterList);
+        masterList.add(ALICE);
+        sessionList.updateStudentList(masterList);
+
+        Session session = sessionList.getSessionBasedOnId(Index.fromOneBased(1));
+        assertEquals(masterList.size(), session.getNumberOfStudents());
+        assertEquals(2, session.getPresenceCount());
+        assertTrue(session.getPresenceStatus(0));
+        assertTrue(session.getPresenceStatus(1));
+        assertFalse(session.getPresenceStatus(2));
+        assertFalse(session.getPresenceStatus(masterList.size() - 1));
+        assertEquals(ALICE.getName(), session.getAttributeList().get(masterList.size() - 1).getStudentName());
+    }
+
+    @Test
+    public void deleteStudentFromSessions_studentInRoster_rowRemoved() {
+        List<Student> masterList = TypicalStudents.getTypicalStudents();
+        SessionList sessionList = new SessionList(masterList);
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("2-3"));
+
+        Student removed = masterList.remove(1);
+        sessionList.deleteStudentFromSessions(removed);
+        sessionList.updateStudentList(masterList);
+
+        Session session = sessionList.getSessionBasedOnId(Index.fromOneBased(1));
+        assertEquals(masterList.size(), session.getNumberOfStudents());
+        assertEquals(1, session.getPresenceCount());
+        assertFalse(session.getPresenceStatus(0));
+        assertTrue(session.getPresenceStatus(1));
+    }
+
+    @Test
+    public void deleteStudentFromSessions_studentNotInRoster_noChange() {
+        SessionList sessionList = TypicalSessions.getTypicalSessionList(TypicalStudents.getTypicalStudents());
+        SessionList expected = TypicalSessions.getTypicalSessionList(TypicalStudents.getTypicalStudents());
+        sessionList.deleteStudentFromSessions(TypicalStudents.HOON);
+        assertEquals(expected, sessionList);
+    }
+
+    @Test
+    public void updateStudent_renamedStudent_allSessionsSeeNewName() {
+        SessionList sessionList = TypicalSessions.getTypicalSessionList(TypicalStudents.getTypicalStudents());
+        Student renamedAlice = new StudentBuilder(ALICE).withName("Alice Renamed").build();
+        sessionList.updateStudent(ALICE, renamedAlice);
+
+        for (Session session : sessionList) {
+            assertEquals(renamedAlice.getName(), session.getAttributeList().get(0).getStudentName());
+        }
+        assertEquals(renamedAlice, sessionList.getInternalStudentList().get(0));
+    }
+
+    @Test
+    public void getStudentPresenceCount_sessionsAddedAndRemoved_countsKeptInStep() {
+        List<Student> masterList = TypicalStudents.getTypicalStudents();
+        SessionList sessionList = new SessionList(masterList);
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT2));
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-3"));
+        sessionList.updateStudentPresence(TUT2.getSessionName(), new IndexRange("2-4"));
+        sessionList.updateStudentPresence(TUT2.getSessionName(), new IndexRange("4"));
+        sessionList.updateStudentParticipation(TUT2.getSessionName(), new IndexRange("2"));
+
+        assertEquals(1, sessionList.getStudentPresenceCount(Index.fromOneBased(1)));
+        assertEquals(2, sessionList.getStudentPresenceCount(Index.fromOneBased(2)));
+        assertEquals(0, sessionList.getStudentPresenceCount(Index.fromOneBased(4)));
+        assertEquals(1, sessionList.getStudentParticipationCount(Index.fromOneBased(2)));
+
+        sessionList.deleteSession(sessionList.getSessionByName(TUT2.getSessionName()));
+        assertEquals(1, sessionList.getStudentPresenceCount(Index.fromOneBased(2)));
+        assertEquals(0, sessionList.getStudentParticipationCount(Index.fromOneBased(2)));
+
+        masterList.remove(ALICE);
+        sessionList.deleteStudentFromSessions(ALICE);
+        sessionList.updateStudentList(masterList);
+        assertEquals(1, sessionList.getStudentPresenceCount(Index.fromOneBased(1)));
+        assertEquals(0, sessionList.getStudentPresenceCount(Index.fromOneBased(3)));
+    }
+
+    @Test
+    public void getStudentPresenceCount_afterCompaction_countsFollowStudents() {
+        List<Student> masterList = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            masterList.add(new StudentBuilder().withMatriculation(String.format("A%07dX", i))
+                    .withEmail("student" + i + "@u.nus.edu").build());
+        }
+        SessionList sessionList = new SessionList(masterList);
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("150-200"));
+
+        for (int i = 0; i < 150; i++) {
+            sessionList.deleteStudentFromSessions(masterList.get(i));
+        }
+        masterList.subList(0, 150).clear();
+        sessionList.updateStudentList(masterList);
+
+        Session session = sessionList.getSessionByName(TUT1.getSessionName());
+        assertEquals(50, session.getNumberOfStudents());
+        assertEquals(50, session.getPresenceCount());
+        assertTrue(session.getPresenceStatus(49));
+        assertEquals(1, sessionList.getStudentPresenceCount(Index.fromOneBased(50)));
+
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-50"));
+        assertEquals(0, session.getPresenceCount());
+        assertEquals(0, sessionList.getStudentPresenceCount(Index.fromOneBased(1)));
+    }
+
+    @Test
+    public void constructor_bulkSessions_sortedAndCounted() {
+        SessionRoster roster = new SessionRoster(TypicalStudents.getTypicalStudents());
+        BitSet presence = new BitSet();
+        presence.set(1);
+        presence.set(3);
+        BitSet participation = new BitSet();
+        participation.set(3);
+        List<Session> sessions = List.of(
+                new Session(TUT2.getSessionName(), TUT2.getSessionDate(), roster, presence, participation),
+                new Session(TUT1.getSessionName(), TUT1.getSessionDate(), roster, presence, new BitSet()));
+
+        // Sessions are kept with the latest first
+        SessionList sessionList = new SessionList(roster, sessions);
+        assertEquals(TUT2.getSessionName(), sessionList.getSessions().get(0).getSessionName());
+        assertEquals(2, sessionList.getStudentPresenceCount(Index.fromZeroBased(3)));
+        assertEquals(1, sessionList.getStudentParticipationCount(Index.fromZeroBased(3)));
+        assertEquals(0, sessionList.getStudentPresenceCount(Index.fromZeroBased(0)));
+        assertTrue(sessionList.getSessions().get(0).getParticipationStatus(3));
+    }
+
+    @Test
+    public void constructor_bulkDuplicateSessions_throwsDuplicateSessionException() {
+        SessionRoster roster = new SessionRoster();
+        List<Session> sessions = List.of(
+                new Session(TUT1.getSessionName(), TUT1.getSessionDate(), roster, new BitSet(), new BitSet()),
+                new Session(TUT1.getSessionName(), TUT2.getSessionDate(), roster, new BitSet(), new BitSet()));
+        assertThrows(DuplicateSessionException.class, () -> new SessionList(roster, sessions));
+    }
+
+    @Test
+    public void deleteStudentFromSessions_nullStudent_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> emptySessionList.deleteStudentFromSessions(null));
+        assertThrows(NullPointerException.class, () -> typicalSessionList.deleteStudentFromSessions(null));
     }
 
     @Test
@@ -85,6 +236,46 @@ public class SessionListTest {
         assertTrue(typicalSessionList.contains(LAB2));
     }
 
+    @Test
+    public void addSession_keptInDateOrder() {
+        typicalSessionList.addSession(TypicalSessions.duplicateSession(CONSULTATION));
+        typicalSessionList.addSession(TypicalSessions.duplicateSession(EMPTY_SESSION_1));
+
+        List<Session> sessions = typicalSessionList.getSessions();
+        assertEquals(CONSULTATION, sessions.get(0));
+        assertEquals(LAB2, sessions.get(1));
+        assertEquals(TUT1, sessions.get(sessions.size() - 2));
+        assertEquals(EMPTY_SESSION_1, sessions.get(sessions.size() - 1));
+    }
+
+    @Test
+    public void deleteSession_removesFromIndex() {
+        Session lab2 = typicalSessionList.getSessionByName(LAB2.getSessionName());
+        typicalSessionList.deleteSession(lab2);
+
+        assertFalse(typicalSessionList.contains(LAB2));
+        assertEquals(4, typicalSessionList.returnSize());
+        assertThrows(SessionNotFoundException.class, () -> typicalSessionList.deleteSession(lab2));
+    }
+
+    @Test
+    public void setSession_newDate_movedToDateOrder() {
+        Session tut1 = typicalSessionList.getSessionByName(TUT1.getSessionName());
+        Session editedTut1 = new SessionBuilder(TUT1).withSessionDate("7/5/2020").build();
+        typicalSessionList.setSession(tut1, editedTut1);
+
+        assertEquals(editedTut1, typicalSessionList.getSessions().get(0));
+        assertEquals(editedTut1, typicalSessionList.getSessionByName(TUT1.getSessionName()));
+        assertEquals(5, typicalSessionList.returnSize());
+    }
+
+    @Test
+    public void setSession_nameOfOtherSession_throwsDuplicateSessionException() {
+        Session tut1 = typicalSessionList.getSessionByName(TUT1.getSessionName());
+        Session renamedTut1 = new SessionBuilder(TUT1).withSessionName("tut2").build();
+        assertThrows(DuplicateSessionException.class, () -> typicalSessionList.setSession(tut1, renamedTut1));
+    }
+
     @Test
     public void returnListSize() {
         SessionList emptyList = new SessionList();
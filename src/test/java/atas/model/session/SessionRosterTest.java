@@ -0,0 +1,134 @@
+package atas.model.session;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.BENSON;
+import static atas.testutil.TypicalStudents.CARL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import atas.model.student.Name;
+import atas.model.student.Student;
+import atas.testutil.StudentBuilder;
+
+public class SessionRosterTest {
+
+    @Test
+    public void addRow_givesIncreasingSlots() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON));
+        assertEquals(2, roster.addRow(CARL.getName()));
+        assertEquals(3, roster.size());
+        assertEquals(CARL.getName(), roster.getName(2));
+    }
+
+    @Test
+    public void removeRow_keepsSlotsOfLaterRows() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON, CARL));
+        assertEquals(0, roster.removeRow(0));
+
+        assertEquals(2, roster.size());
+        assertEquals(1, roster.getSlot(0));
+        assertEquals(2, roster.getSlot(1));
+        assertEquals(BENSON.getName(), roster.getName(0));
+        assertEquals(1, roster.getTombstoneCount());
+        assertFalse(roster.getLiveSlots().get(0));
+        assertTrue(roster.getLiveSlots().get(1));
+    }
+
+    @Test
+    public void setStudent_renamedStudent_nameSeenThroughSlot() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON, CARL));
+        roster.removeRow(0);
+        Student renamedCarl = new StudentBuilder(CARL).withName("Carl Renamed").build();
+        roster.setStudent(roster.getRowOf(CARL), renamedCarl);
+
+        assertEquals(2, roster.getSlot(1));
+        assertEquals(renamedCarl.getName(), roster.getNameOfSlot(2));
+        assertTrue(roster.isStudentAt(1, renamedCarl));
+        assertEquals(-1, roster.getRowOf(ALICE));
+    }
+
+    @Test
+    public void getRowOf_matriculationOnlyRow_foundBeforeAndAfterBinding() {
+        SessionRoster roster = new SessionRoster();
+        roster.addRow(ALICE.getMatriculation());
+        roster.addRow(BENSON.getMatriculation());
+        assertEquals(1, roster.getRowOf(BENSON));
+
+        roster.setStudent(1, BENSON);
+        assertEquals(1, roster.getRowOf(BENSON));
+        roster.removeRow(0);
+        assertEquals(-1, roster.getRowOf(ALICE));
+        assertEquals(0, roster.getRowOf(BENSON));
+    }
+
+    @Test
+    public void setStudent_nameOnlyRow_boundToStudent() {
+        SessionRoster roster = new SessionRoster();
+        roster.addRow(ALICE.getName());
+        assertEquals(-1, roster.getRowOf(ALICE));
+        assertNull(roster.getStudent(0));
+
+        roster.setStudent(0, ALICE);
+        assertEquals(0, roster.getRowOf(ALICE));
+        assertEquals(ALICE, roster.getStudent(0));
+    }
+
+    @Test
+    public void getSlot_outOfBounds_throwsIndexOutOfBoundsException() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON));
+        assertThrows(IndexOutOfBoundsException.class, () -> roster.getSlot(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> roster.getSlot(-1));
+        roster.removeRow(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> roster.getSlot(1));
+    }
+
+    @Test
+    public void compact_manyTombstones_slotsMatchRows() {
+        SessionRoster roster = new SessionRoster();
+        for (int i = 0; i < 200; i++) {
+            roster.addRow(new Name("Student " + i));
+        }
+        for (int i = 0; i < 150; i++) {
+            roster.removeRow(0);
+        }
+        assertTrue(roster.needsCompaction());
+
+        int[] oldSlots = roster.compact();
+        assertEquals(50, oldSlots.length);
+        assertEquals(150, oldSlots[0]);
+        assertEquals(199, oldSlots[49]);
+        assertEquals(0, roster.getTombstoneCount());
+        assertEquals(49, roster.getSlot(49));
+        assertEquals(new Name("Student 199"), roster.getName(49));
+        assertFalse(roster.needsCompaction());
+    }
+
+    @Test
+    public void needsCompaction_fewTombstones_returnsFalse() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON, CARL));
+        roster.removeRow(0);
+        roster.removeRow(0);
+        assertFalse(roster.needsCompaction());
+    }
+
+    @Test
+    public void getCopy_independentOfOriginal() {
+        SessionRoster roster = new SessionRoster(Arrays.asList(ALICE, BENSON));
+        SessionRoster copy = roster.getCopy();
+        copy.removeRow(0);
+        copy.setStudent(0, CARL);
+
+        assertEquals(2, roster.size());
+        assertEquals(BENSON.getName(), roster.getName(1));
+        assertEquals(1, roster.getRowOf(BENSON));
+        assertEquals(1, copy.getSlot(0));
+    }
+
+}
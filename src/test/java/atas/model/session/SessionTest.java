@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import atas.commons.core.index.Index;
 import atas.testutil.TypicalSessions;
+import javafx.collections.ListChangeListener;
 
 class SessionTest {
 
@@ -101,6 +102,37 @@ class SessionTest {
         assertEquals(PRESENT_AND_HAS_PARTICIPATED, sessionWeekThree.getAttributeList().get(index.getZeroBased()));
     }
 
+    @Test
+    public void updatePresence_validRange_singleChangeAndCountUpdated() {
+        int[] changeCount = {0};
+        sessionWeekOne.getAttributeList().addListener((ListChangeListener<Attributes>) c -> changeCount[0]++);
+        sessionWeekOne.toggleStudentPresence(Index.fromOneBased(2));
+        changeCount[0] = 0;
+
+        sessionWeekOne.updatePresence(new IndexRange("1-5"));
+        assertEquals(1, changeCount[0]);
+        assertEquals(4, sessionWeekOne.getPresenceCount());
+        assertFalse(sessionWeekOne.getPresenceStatus(1));
+        assertTrue(sessionWeekOne.getPresenceStatus(4));
+        assertFalse(sessionWeekOne.getPresenceStatus(5));
+        assertEquals(0, sessionWeekOne.getParticipationCount());
+    }
+
+    @Test
+    public void updateParticipation_validRange_countUpdated() {
+        sessionWeekTwo.updateParticipation(new IndexRange("2-7"));
+        assertEquals(6, sessionWeekTwo.getParticipationCount());
+        sessionWeekTwo.updateParticipation(new IndexRange("1-2"));
+        assertEquals(6, sessionWeekTwo.getParticipationCount());
+        assertTrue(sessionWeekTwo.getParticipationStatus(0));
+        assertFalse(sessionWeekTwo.getParticipationStatus(1));
+    }
+
+    @Test
+    public void updatePresence_rangeOutOfBounds_throwsIndexOutOfBoundsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> sessionWeekOne.updatePresence(new IndexRange("1-8")));
+    }
+
     @Test
     public void compareTo() {
         Session actual = TypicalSessions.TUT1;
@@ -1,91 +1,41 @@
 package atas.model.session;
 
-import static atas.testutil.Assert.assertThrows;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedAttributesListEarliest;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedAttributesListLatest;
+import static atas.testutil.TypicalAttributes.getTypicalAttributes;
+import static atas.testutil.TypicalAttributes.getTypicalAttributesList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
+import atas.commons.core.index.Index;
+import atas.model.ModelHistory;
 
 public class VersionedAttributesListTest {
 
-    // Initialized attributes list
-    private final VersionedAttributesList emptyAttributesList = new VersionedAttributesList();
-    // Attributes list with one commit and at the latest state
-    private final VersionedAttributesList typicalAttributesListLatest = getTypicalVersionedAttributesListLatest();
-    // Attributes list with one commit and at the earliest state
-    private final VersionedAttributesList typicalAttributesListEarliest = getTypicalVersionedAttributesListEarliest();
+    private final VersionedAttributesList attributesList = new VersionedAttributesList();
+    private final ModelHistory history = new ModelHistory(attributesList);
 
     @Test
-    public void commit() {
-        assertEquals(1, getInitialAttributesStateListSize());
-        emptyAttributesList.commit();
-        assertEquals(2, getInitialAttributesStateListSize());
-    }
-
-    @Test
-    public void canUndo() {
-        // empty attributes list check
-        assertFalse(emptyAttributesList.canUndo());
-        emptyAttributesList.commit();
-        assertTrue(emptyAttributesList.canUndo());
-
-        // typical attributes list (latest state) check -> returns true
-        assertTrue(typicalAttributesListLatest.canUndo());
-
-        // typical attributes list (earliest state) check -> returns false
-        assertFalse(typicalAttributesListEarliest.canUndo());
-    }
-
-    @Test
-    public void undo() {
-        // empty attributes list check -> throws exception
-        assertThrows(UnableToUndoException.class, emptyAttributesList::undo);
+    public void commit_unchanged_returnsNoSnapshot() {
+        long emptyBytes = attributesList.commit().getEstimatedBytes();
 
-        // typical attributes list (latest state) check -> success
-        assertEquals(1, typicalAttributesListLatest.getCurrentStatePointer());
-        typicalAttributesListLatest.undo();
-        assertEquals(0, typicalAttributesListLatest.getCurrentStatePointer());
-
-        // typical attributes list (earliest state) check -> throws exception
-        assertThrows(UnableToUndoException.class, typicalAttributesListEarliest::undo);
-    }
-
-    @Test
-    public void canRedo() {
-        // empty attributes list check
-        assertFalse(emptyAttributesList.canRedo());
-        emptyAttributesList.commit();
-        assertFalse(emptyAttributesList.canRedo()); // still unable to redo after committing when at latest state
-
-        // typical attributes list (latest state) check -> returns false
-        assertFalse(typicalAttributesListLatest.canRedo());
-
-        // typical attributes list (earliest state) check -> returns true
-        assertTrue(typicalAttributesListEarliest.canRedo());
+        attributesList.resetData(getTypicalAttributesList());
+        assertTrue(attributesList.commit().getEstimatedBytes() > emptyBytes);
+        assertEquals(emptyBytes, attributesList.commit().getEstimatedBytes());
     }
 
     @Test
-    public void redo() {
-        // empty attributes list check -> throws exception
-        assertThrows(UnableToRedoException.class, emptyAttributesList::redo);
+    public void undoRedo_sessionEntered_restoresAttributes() {
+        attributesList.setCurrentAttributeList(Index.fromOneBased(1), getTypicalAttributes());
+        history.commit();
 
-        // typical attributes list (latest state) check -> throws exception
-        assertThrows(UnableToRedoException.class, typicalAttributesListLatest::redo);
-
-        // typical attributes list (earliest state) check -> success
-        assertEquals(0, typicalAttributesListEarliest.getCurrentStatePointer());
-        typicalAttributesListEarliest.redo();
-        assertEquals(1, typicalAttributesListEarliest.getCurrentStatePointer());
-    }
+        history.undo();
+        assertTrue(attributesList.getAttributesList().isEmpty());
+        assertTrue(attributesList.getCurrentSessionIndex().isEmpty());
 
-    private int getInitialAttributesStateListSize() {
-        return emptyAttributesList.getAttributeStateList().size();
+        history.redo();
+        assertEquals(getTypicalAttributes(), attributesList.getAttributesList());
+        assertEquals(Index.fromOneBased(1), attributesList.getCurrentSessionIndexValue());
     }
 
 }
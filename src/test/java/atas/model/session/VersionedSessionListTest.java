@@ -1,73 +1,89 @@
 package atas.model.session;
 
-import static atas.testutil.Assert.assertThrows;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedSessionListEarliest;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedSessionListLatest;
+import static atas.testutil.TypicalSessions.TUT1;
+import static atas.testutil.TypicalSessions.TUT2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
+import atas.commons.core.index.Index;
+import atas.model.ModelHistory;
+import atas.model.history.JournalEntry;
+import atas.testutil.TypicalSessions;
+import atas.testutil.TypicalStudents;
 
 public class VersionedSessionListTest {
 
-    // Session list with one commit and at the latest state
-    private final VersionedSessionList typicalVersionedSessionListLatest = getTypicalVersionedSessionListLatest();
-    // Session list with one commit and at the earliest state
-    private final VersionedSessionList typicalVersionedSessionListEarliest = getTypicalVersionedSessionListEarliest();
+    private final VersionedSessionList sessionList =
+            new VersionedSessionList(new SessionList(TypicalStudents.getTypicalStudents()));
+    private final ModelHistory history = new ModelHistory(sessionList);
 
     @Test
-    public void commit() {
-        assertEquals(2, typicalVersionedSessionListLatest.getSessionStateList().size());
-        typicalVersionedSessionListLatest.commit();
-        assertEquals(3, typicalVersionedSessionListLatest.getSessionStateList().size());
-
-        assertEquals(2, typicalVersionedSessionListEarliest.getSessionStateList().size());
-        typicalVersionedSessionListEarliest.commit();
-        assertEquals(2, typicalVersionedSessionListEarliest.getSessionStateList().size());
+    public void commit_attendanceOnly_noSnapshotTaken() {
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        long snapshotBytes = sessionList.commit().getEstimatedBytes();
+
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-3"));
+        JournalEntry flips = sessionList.commit();
+        assertTrue(flips.getEstimatedBytes() < snapshotBytes);
+
+        flips.undo();
+        assertEquals(0, sessionList.getSessionByName(TUT1.getSessionName()).getPresenceCount());
     }
 
     @Test
-    public void canUndo() {
-        // typical session list (latest state) check -> returns true
-        assertTrue(typicalVersionedSessionListLatest.canUndo());
+    public void commit_noChanges_returnsNothingToUndo() {
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        sessionList.commit();
 
-        // typical session list (earliest state) check -> returns false
-        assertFalse(typicalVersionedSessionListEarliest.canUndo());
+        sessionList.commit().undo();
+        assertEquals(1, sessionList.returnSize());
     }
 
     @Test
-    public void undo() {
-        // typical session list (latest state) check -> success
-        assertEquals(1, typicalVersionedSessionListLatest.getCurrentStatePointer());
-        typicalVersionedSessionListLatest.undo();
-        assertEquals(0, typicalVersionedSessionListLatest.getCurrentStatePointer());
-
-        // typical session list (earliest state) check -> throws exception
-        assertThrows(UnableToUndoException.class, typicalVersionedSessionListEarliest::undo);
+    public void undo_afterAttendanceChanged_restoresCommittedAttendance() {
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        history.commit();
+
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-3"));
+        history.commit();
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("2-2"));
+        history.commit();
+
+        history.undo();
+        Session session = sessionList.getSessionByName(TUT1.getSessionName());
+        assertEquals(3, session.getPresenceCount());
+        assertEquals(1, sessionList.getStudentPresenceCount(Index.fromOneBased(2)));
+
+        history.undo();
+        session = sessionList.getSessionByName(TUT1.getSessionName());
+        assertEquals(0, session.getPresenceCount());
+
+        history.redo();
+        history.redo();
+        session = sessionList.getSessionByName(TUT1.getSessionName());
+        assertEquals(2, session.getPresenceCount());
+        assertFalse(session.getPresenceStatus(1));
     }
 
     @Test
-    public void canRedo() {
-        // typical session list (latest state) check -> returns false
-        assertFalse(typicalVersionedSessionListLatest.canRedo());
+    public void undo_attendanceChangedBeforeSessionAdded_restoresBoth() {
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT1));
+        history.commit();
 
-        // typical session list (earliest state) check -> returns true
-        assertTrue(typicalVersionedSessionListEarliest.canRedo());
-    }
+        sessionList.updateStudentPresence(TUT1.getSessionName(), new IndexRange("1-2"));
+        sessionList.addSession(TypicalSessions.duplicateSession(TUT2));
+        history.commit();
 
-    @Test
-    public void redo() {
-        // typical session list (latest state) check -> throws exception
-        assertThrows(UnableToRedoException.class, typicalVersionedSessionListLatest::redo);
-
-        // typical session list (earliest state) check -> success
-        assertEquals(0, typicalVersionedSessionListEarliest.getCurrentStatePointer());
-        typicalVersionedSessionListEarliest.redo();
-        assertEquals(1, typicalVersionedSessionListEarliest.getCurrentStatePointer());
+        history.undo();
+        assertEquals(1, sessionList.returnSize());
+        assertEquals(0, sessionList.getSessionByName(TUT1.getSessionName()).getPresenceCount());
+
+        history.redo();
+        assertEquals(2, sessionList.returnSize());
+        assertEquals(2, sessionList.getSessionByName(TUT1.getSessionName()).getPresenceCount());
     }
 
 }
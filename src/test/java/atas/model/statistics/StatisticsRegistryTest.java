@@ -0,0 +1,49 @@
+package atas.model.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import atas.testutil.RandomStatistics;
+
+public class StatisticsRegistryTest {
+
+    @Test
+    public void getSlot_builtInStatistics_fixedSlots() {
+        assertEquals(StatisticsRegistry.PRESENCE_SLOT, StatisticsRegistry.getSlot(PresenceStatistics.class));
+        assertEquals(StatisticsRegistry.PARTICIPATION_SLOT, StatisticsRegistry.getSlot(ParticipationStatistics.class));
+    }
+
+    @Test
+    public void getSlot_unknownStatistics_sameSlotEveryTime() {
+        int slot = StatisticsRegistry.getSlot(RandomStatistics.class);
+        assertTrue(slot > StatisticsRegistry.PARTICIPATION_SLOT);
+        assertEquals(slot, StatisticsRegistry.getSlot(RandomStatistics.class));
+    }
+
+    @Test
+    public void aggregate_computesEveryRegisteredStatistics() {
+        Statistics[] results = StatisticsRegistry.aggregate(new AttendanceTally(3, 2, 5));
+
+        assertEquals(new PresenceStatistics(3, 5), results[StatisticsRegistry.PRESENCE_SLOT]);
+        assertEquals(new ParticipationStatistics(2, 5), results[StatisticsRegistry.PARTICIPATION_SLOT]);
+        for (int slot = StatisticsRegistry.PARTICIPATION_SLOT + 1; slot < results.length; slot++) {
+            assertNull(results[slot]);
+        }
+    }
+
+    @Test
+    public void replaceAll_keepsStatisticsOfUncomputedSlots() {
+        StudentStatistics stats = new StudentStatistics();
+        RandomStatistics randomStatistics = new RandomStatistics();
+        stats.addStatistics(randomStatistics);
+
+        stats.replaceAll(StatisticsRegistry.aggregate(new AttendanceTally(1, 0, 4)));
+
+        assertEquals(new PresenceStatistics(1, 4), stats.getPresenceStatistics());
+        assertEquals(new ParticipationStatistics(0, 4), stats.getParticipationStatistics());
+        assertTrue(stats.getStats().contains(randomStatistics));
+    }
+}
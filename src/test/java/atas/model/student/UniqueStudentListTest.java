@@ -8,6 +8,7 @@ import static atas.testutil.TypicalStudents.UNUSED_VALID_EMAIL;
 import static atas.testutil.TypicalStudents.UNUSED_VALID_MATRICULATION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -134,6 +135,27 @@ public class UniqueStudentListTest {
         assertThrows(DuplicateStudentException.class, () -> uniqueStudentList.setStudent(ALICE, BOB));
     }
 
+    @Test
+    public void setStudent_editedStudentTakesOtherStudentsEmail_throwsDuplicateStudentException() {
+        uniqueStudentList.add(ALICE);
+        uniqueStudentList.add(BOB);
+        Student editedAlice = new StudentBuilder(ALICE).withEmail(BOB.getEmail().value).build();
+        assertThrows(DuplicateStudentException.class, () -> uniqueStudentList.setStudent(ALICE, editedAlice));
+    }
+
+    @Test
+    public void setStudent_identityChanged_oldIdentityFreed() {
+        uniqueStudentList.add(ALICE);
+        Student editedAlice = new StudentBuilder(ALICE).withMatriculation(UNUSED_VALID_MATRICULATION)
+                .withEmail(UNUSED_VALID_EMAIL).build();
+        uniqueStudentList.setStudent(ALICE, editedAlice);
+
+        assertFalse(uniqueStudentList.contains(ALICE));
+        assertEquals(editedAlice, uniqueStudentList.getStudentByMatriculation(editedAlice.getMatriculation()));
+        uniqueStudentList.add(ALICE);
+        assertEquals(2, uniqueStudentList.size());
+    }
+
     @Test
     public void remove_nullStudent_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueStudentList.remove(null));
@@ -152,6 +174,16 @@ public class UniqueStudentListTest {
         assertEquals(expectedUniqueStudentList, uniqueStudentList);
     }
 
+    @Test
+    public void remove_existingStudent_identityFreed() {
+        uniqueStudentList.add(ALICE);
+        uniqueStudentList.remove(ALICE);
+        assertFalse(uniqueStudentList.contains(ALICE));
+        assertNull(uniqueStudentList.getStudentByMatriculation(ALICE.getMatriculation()));
+        uniqueStudentList.add(ALICE);
+        assertTrue(uniqueStudentList.contains(ALICE));
+    }
+
     @Test
     public void setStudent_nullUniqueStudentList_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueStudentList.setStudents((UniqueStudentList) null));
@@ -187,6 +219,23 @@ public class UniqueStudentListTest {
         assertThrows(DuplicateStudentException.class, () -> uniqueStudentList.setStudents(listWithDuplicateStudents));
     }
 
+    @Test
+    public void setStudents_listWithSharedEmail_throwsDuplicateStudentException() {
+        Student bobWithAliceEmail = new StudentBuilder(BOB).withEmail(ALICE.getEmail().value).build();
+        List<Student> students = Arrays.asList(ALICE, bobWithAliceEmail);
+        assertThrows(DuplicateStudentException.class, () -> uniqueStudentList.setStudents(students));
+        assertEquals(0, uniqueStudentList.size());
+    }
+
+    @Test
+    public void setStudents_list_indexesReplaced() {
+        uniqueStudentList.add(ALICE);
+        uniqueStudentList.setStudents(Collections.singletonList(BOB));
+        assertFalse(uniqueStudentList.contains(ALICE));
+        assertEquals(BOB, uniqueStudentList.getStudentByMatriculation(BOB.getMatriculation()));
+        assertThrows(DuplicateStudentException.class, () -> uniqueStudentList.add(BOB));
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, ()
@@ -1,73 +1,68 @@
 package atas.model.student;
 
-import static atas.testutil.Assert.assertThrows;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedStudentListEarliest;
-import static atas.testutil.TypicalVersionedEntities.getTypicalVersionedStudentListLatest;
+import static atas.testutil.TypicalStudents.HOON;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
-import atas.model.exceptions.UnableToRedoException;
-import atas.model.exceptions.UnableToUndoException;
+import atas.model.ModelHistory;
+import atas.model.history.JournalEntry;
+import atas.testutil.StudentBuilder;
+import atas.testutil.TypicalStudents;
 
 public class VersionedStudentListTest {
 
-    // Student list with one commit and at the latest state
-    private final VersionedStudentList typicalVersionedStudentListLatest = getTypicalVersionedStudentListLatest();
-    // Student list with one commit and at the earliest state
-    private final VersionedStudentList typicalVersionedStudentListEarliest = getTypicalVersionedStudentListEarliest();
-
     @Test
-    public void commit() {
-        assertEquals(2, typicalVersionedStudentListLatest.getStudentStateList().size());
-        typicalVersionedStudentListLatest.commit();
-        assertEquals(3, typicalVersionedStudentListLatest.getStudentStateList().size());
-
-        assertEquals(2, typicalVersionedStudentListEarliest.getStudentStateList().size());
-        typicalVersionedStudentListEarliest.commit();
-        assertEquals(2, typicalVersionedStudentListEarliest.getStudentStateList().size());
+    public void commit_returnsChangesSinceLastCommit() {
+        VersionedStudentList studentList = new VersionedStudentList(TypicalStudents.getTypicalStudentList());
+        studentList.addStudent(HOON);
+        JournalEntry changes = studentList.commit();
+
+        changes.undo();
+        assertFalse(studentList.hasStudent(HOON));
+        studentList.commit().undo();
+        assertEquals(TypicalStudents.getTypicalStudents(), studentList.getStudentList());
     }
 
     @Test
-    public void canUndo() {
-        // typical student list (latest state) check -> returns true
-        assertTrue(typicalVersionedStudentListLatest.canUndo());
-
-        // typical student list (earliest state) check -> returns false
-        assertFalse(typicalVersionedStudentListEarliest.canUndo());
+    public void undoRedo_singleStudentChanges_restoresOrder() {
+        VersionedStudentList studentList = new VersionedStudentList(new StudentList());
+        ModelHistory history = new ModelHistory(studentList);
+        for (Student student : TypicalStudents.getTypicalStudents()) {
+            studentList.addStudent(student);
+        }
+        history.commit();
+        List<Student> committed = new ArrayList<>(studentList.getStudentList());
+
+        studentList.removeStudent(TypicalStudents.CARL);
+        studentList.addStudent(HOON);
+        studentList.setStudent(TypicalStudents.ALICE, new StudentBuilder(TypicalStudents.ALICE).withName("A").build());
+        history.commit();
+        assertTrue(history.getEstimatedBytes() > 0);
+
+        history.undo();
+        assertEquals(committed, studentList.getStudentList());
+        history.redo();
+        assertEquals(HOON, studentList.getStudentList().get(studentList.getStudentList().size() - 1));
+        assertFalse(studentList.hasStudent(TypicalStudents.CARL));
     }
 
     @Test
-    public void undo() {
-        // typical student list (latest state) check -> success
-        assertEquals(1, typicalVersionedStudentListLatest.getCurrentStatePointer());
-        typicalVersionedStudentListLatest.undo();
-        assertEquals(0, typicalVersionedStudentListLatest.getCurrentStatePointer());
-
-        // typical student list (earliest state) check -> throws exception
-        assertThrows(UnableToUndoException.class, typicalVersionedStudentListEarliest::undo);
-    }
-
-    @Test
-    public void canRedo() {
-        // typical student list (latest state) check -> returns false
-        assertFalse(typicalVersionedStudentListLatest.canRedo());
-
-        // typical student list (earliest state) check -> returns true
-        assertTrue(typicalVersionedStudentListEarliest.canRedo());
-    }
-
-    @Test
-    public void redo() {
-        // typical student list (latest state) check -> throws exception
-        assertThrows(UnableToRedoException.class, typicalVersionedStudentListLatest::redo);
-
-        // typical student list (earliest state) check -> success
-        assertEquals(0, typicalVersionedStudentListEarliest.getCurrentStatePointer());
-        typicalVersionedStudentListEarliest.redo();
-        assertEquals(1, typicalVersionedStudentListEarliest.getCurrentStatePointer());
+    public void undoRedo_studentListReset_restoresStudents() {
+        VersionedStudentList studentList = new VersionedStudentList(TypicalStudents.getTypicalStudentList());
+        ModelHistory history = new ModelHistory(studentList);
+        studentList.resetData(new StudentList());
+        history.commit();
+
+        history.undo();
+        assertEquals(TypicalStudents.getTypicalStudents(), studentList.getStudentList());
+        history.redo();
+        assertTrue(studentList.getStudentList().isEmpty());
     }
 
 }
@@ -0,0 +1,81 @@
+package atas.storage;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.HOON;
+import static atas.testutil.TypicalStudents.getTypicalStudentList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.commons.exceptions.DataConversionException;
+import atas.model.session.SessionList;
+import atas.model.student.StudentList;
+
+public class BinaryAtasStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("studentlist.bin");
+    }
+
+    @Test
+    public void readStudentList_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryAtasStorage(filePath).readStudentList().isPresent());
+    }
+
+    @Test
+    public void readAndSaveStudentList_allInOrder_success() throws Exception {
+        BinaryAtasStorage storage = new BinaryAtasStorage(filePath);
+        StudentList original = getTypicalStudentList();
+        storage.saveStudentList(original);
+        assertEquals(original, new StudentList(storage.readStudentList().get()));
+
+        // Only the newest snapshot is kept
+        original.addStudent(HOON);
+        storage.saveStudentList(original);
+        assertEquals(original, new StudentList(storage.readStudentList().get()));
+        try (Stream<Path> files = Files.list(testFolder)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void readStudentList_invalidStudent_throwsDataConversionException() throws Exception {
+        new MappedSnapshotFile(filePath, BinaryAtasStorage.MAGIC, BinaryAtasStorage.FORMAT_VERSION).save(out -> {
+            out.writeInt(1);
+            MappedSnapshotFile.writeString(out, ALICE.getName().fullName);
+            MappedSnapshotFile.writeString(out, ALICE.getMatriculation().value);
+            MappedSnapshotFile.writeString(out, "not an email");
+            out.writeInt(0);
+        });
+        assertThrows(DataConversionException.class, () -> new BinaryAtasStorage(filePath).readStudentList());
+    }
+
+    @Test
+    public void readStudentList_truncatedSnapshot_throwsDataConversionException() throws Exception {
+        new MappedSnapshotFile(filePath, BinaryAtasStorage.MAGIC, BinaryAtasStorage.FORMAT_VERSION).save(out -> {
+            out.writeInt(1);
+            out.writeInt(100);
+        });
+        assertThrows(DataConversionException.class, () -> new BinaryAtasStorage(filePath).readStudentList());
+    }
+
+    @Test
+    public void readStudentList_sessionListSnapshot_throwsDataConversionException() throws Exception {
+        new BinarySessionListStorage(filePath).saveSessionList(new SessionList());
+        assertThrows(DataConversionException.class, () -> new BinaryAtasStorage(filePath).readStudentList());
+    }
+}
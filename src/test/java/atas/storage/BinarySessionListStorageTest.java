@@ -0,0 +1,123 @@
+package atas.storage;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalSessions.TUT1;
+import static atas.testutil.TypicalSessions.TUT2;
+import static atas.testutil.TypicalSessions.getTypicalSessionList;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.getTypicalStudents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.commons.core.index.Index;
+import atas.commons.exceptions.DataConversionException;
+import atas.model.session.IndexRange;
+import atas.model.session.Session;
+import atas.model.session.SessionList;
+
+public class BinarySessionListStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private SessionList original;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("sessionlist.bin");
+        original = getTypicalSessionList(getTypicalStudents());
+        original.updateStudentPresence(TUT1.getSessionName(), new IndexRange("2-4"));
+        original.updateStudentParticipation(TUT1.getSessionName(), new IndexRange("3-3"));
+        original.updateStudentPresence(TUT2.getSessionName(), new IndexRange("3-3"));
+    }
+
+    @Test
+    public void readSessionList_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinarySessionListStorage(filePath).readSessionList().isPresent());
+    }
+
+    @Test
+    public void readSessionList_savedSessions_attendanceReadOnDemand() throws Exception {
+        new BinarySessionListStorage(filePath).saveSessionList(original);
+
+        SessionList readBack = new SessionList(new BinarySessionListStorage(filePath).readSessionList().get());
+        assertEquals(original, readBack);
+        Session tut1 = readBack.getSessionByName(TUT1.getSessionName());
+        assertFalse(tut1.isAttendanceLoaded());
+
+        // Statistics are known without reading the attendance columns
+        assertEquals(3, tut1.getPresenceCount());
+        assertEquals(1, tut1.getParticipationCount());
+        assertEquals(2, readBack.getStudentPresenceCount(Index.fromZeroBased(2)));
+        assertEquals(original.getSessions().get(0).getStudentMatriculation(6), tut1.getStudentMatriculation(6));
+        assertFalse(tut1.isAttendanceLoaded());
+
+        assertEquals(original.getSessionByName(TUT1.getSessionName()).getAttributeList(), tut1.getAttributeList());
+        assertTrue(tut1.isAttendanceLoaded());
+        assertFalse(readBack.getSessionByName(TUT2.getSessionName()).isAttendanceLoaded());
+    }
+
+    @Test
+    public void saveSessionList_unloadedSessions_attendanceKept() throws Exception {
+        BinarySessionListStorage storage = new BinarySessionListStorage(filePath);
+        storage.saveSessionList(original);
+        SessionList readBack = new SessionList(storage.readSessionList().get());
+        readBack.updateStudentPresence(TUT2.getSessionName(), new IndexRange("1-1"));
+
+        // The unloaded sessions are copied from the previous snapshot, which is still mapped
+        storage.saveSessionList(readBack);
+        SessionList readAgain = new SessionList(storage.readSessionList().get());
+        assertEquals(readBack, readAgain);
+        assertTrue(readAgain.getSessionByName(TUT1.getSessionName()).getPresenceStatus(1));
+        assertTrue(readAgain.getSessionByName(TUT2.getSessionName()).getPresenceStatus(0));
+        assertEquals(2, readAgain.getSessionByName(TUT2.getSessionName()).getPresenceCount());
+    }
+
+    @Test
+    public void deleteStudentFromSessions_unloadedSessions_attendanceKeptInLine() throws Exception {
+        new BinarySessionListStorage(filePath).saveSessionList(original);
+        SessionList readBack = new SessionList(new BinarySessionListStorage(filePath).readSessionList().get());
+
+        readBack.deleteStudentFromSessions(ALICE);
+        Session tut1 = readBack.getSessionByName(TUT1.getSessionName());
+        assertEquals(6, tut1.getNumberOfStudents());
+        assertTrue(tut1.getPresenceStatus(0));
+        assertTrue(tut1.getParticipationStatus(1));
+        assertFalse(tut1.getPresenceStatus(3));
+    }
+
+    @Test
+    public void readSessionList_truncatedSnapshot_throwsDataConversionException() throws Exception {
+        new BinarySessionListStorage(filePath).saveSessionList(original);
+        try (Stream<Path> files = Files.list(testFolder)) {
+            Path snapshot = files.findFirst().get();
+            byte[] bytes = Files.readAllBytes(snapshot);
+            Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 1));
+        }
+        assertThrows(DataConversionException.class, () -> new BinarySessionListStorage(filePath).readSessionList());
+    }
+
+    @Test
+    public void readSessionList_columnDisagreesWithCounts_throwsDataConversionException() throws Exception {
+        new BinarySessionListStorage(filePath).saveSessionList(original);
+        try (Stream<Path> files = Files.list(testFolder)) {
+            // The snapshot ends with the participation column of the last session, whose last byte holds student 1
+            Path snapshot = files.findFirst().get();
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(snapshot, bytes);
+        }
+        assertThrows(DataConversionException.class, () -> new BinarySessionListStorage(filePath).readSessionList());
+    }
+}
@@ -0,0 +1,127 @@
+package atas.storage;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.HOON;
+import static atas.testutil.TypicalStudents.IDA;
+import static atas.testutil.TypicalStudents.getTypicalStudentList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.commons.exceptions.DataConversionException;
+import atas.model.student.StudentList;
+import atas.testutil.StudentBuilder;
+
+public class JournalAtasStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readStudentList_missingFile_emptyResult() throws Exception {
+        assertFalse(new JournalAtasStorage(testFolder.resolve("missing.json")).readStudentList().isPresent());
+    }
+
+    @Test
+    public void readAndSaveStudentList_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("TempStudentList.json");
+        StudentList original = getTypicalStudentList();
+        JournalAtasStorage storage = new JournalAtasStorage(filePath);
+
+        // First save writes a snapshot
+        storage.saveStudentList(original);
+        assertFalse(Files.exists(filePath.resolveSibling("TempStudentList.json" + JournaledJsonFile.JOURNAL_SUFFIX)));
+        assertEquals(original, new StudentList(storage.readStudentList().get()));
+
+        // Later saves are appended to the journal and replayed when read
+        original.addStudent(HOON);
+        original.removeStudent(ALICE);
+        storage.saveStudentList(original);
+        assertEquals(original, new StudentList(new JournalAtasStorage(filePath).readStudentList().get()));
+    }
+
+    @Test
+    public void saveStudentList_studentEdited_onlyChangeAppended() throws Exception {
+        Path filePath = testFolder.resolve("edited.json");
+        StudentList original = getTypicalStudentList();
+        JournaledJsonFile file = new JournaledJsonFile(filePath, JournaledJsonFile.DEFAULT_COMPACTION_THRESHOLD_BYTES,
+                Runnable::run);
+        JournalAtasStorage storage = new JournalAtasStorage(file);
+        storage.saveStudentList(original);
+        long snapshotBytes = Files.size(filePath);
+
+        original.setStudent(ALICE, new StudentBuilder(ALICE).withEmail("alice.pauline@u.nus.edu").build());
+        storage.saveStudentList(original);
+        long journalBytes = file.getJournalBytes();
+        assertTrue(journalBytes > 0 && journalBytes < snapshotBytes / 4);
+
+        // Saving unchanged data appends nothing
+        storage.saveStudentList(original);
+        assertEquals(journalBytes, file.getJournalBytes());
+
+        assertEquals(original, new StudentList(new JournalAtasStorage(filePath).readStudentList().get()));
+    }
+
+    @Test
+    public void saveStudentList_pastCompactionThreshold_journalCompacted() throws Exception {
+        Path filePath = testFolder.resolve("compacted.json");
+        JournaledJsonFile file = new JournaledJsonFile(filePath, 1, Runnable::run);
+        JournalAtasStorage storage = new JournalAtasStorage(file);
+        StudentList original = getTypicalStudentList();
+        storage.saveStudentList(original);
+
+        original.addStudent(HOON);
+        storage.saveStudentList(original);
+        assertEquals(0, file.getJournalBytes());
+        assertFalse(Files.exists(file.getJournalPath()));
+        assertEquals(original, new StudentList(new JsonAtasStorage(filePath).readStudentList().get()));
+        assertEquals(original, new StudentList(new JournalAtasStorage(filePath).readStudentList().get()));
+    }
+
+    @Test
+    public void readStudentList_incompleteLastRecord_ignored() throws Exception {
+        Path filePath = testFolder.resolve("torn.json");
+        JournalAtasStorage storage = new JournalAtasStorage(filePath);
+        StudentList original = getTypicalStudentList();
+        storage.saveStudentList(original);
+        StudentList changed = getTypicalStudentList();
+        changed.addStudent(IDA);
+        storage.saveStudentList(changed);
+
+        Path journalPath = filePath.resolveSibling("torn.json" + JournaledJsonFile.JOURNAL_SUFFIX);
+        Files.write(journalPath, "{\"op\":\"set\",\"pa".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        JournalAtasStorage reopened = new JournalAtasStorage(filePath);
+        assertEquals(changed, new StudentList(reopened.readStudentList().get()));
+
+        // The next save starts from a clean snapshot
+        reopened.saveStudentList(original);
+        assertFalse(Files.exists(journalPath));
+        assertEquals(original, new StudentList(reopened.readStudentList().get()));
+    }
+
+    @Test
+    public void readStudentList_corruptRecord_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("corrupt.json");
+        new JournalAtasStorage(filePath).saveStudentList(getTypicalStudentList());
+        Path journalPath = filePath.resolveSibling("corrupt.json" + JournaledJsonFile.JOURNAL_SUFFIX);
+        Files.write(journalPath, "not json\n{\"op\":\"set\",\"path\":[],\"seq\":9}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(DataConversionException.class, () -> new JournalAtasStorage(filePath).readStudentList());
+    }
+
+    @Test
+    public void saveStudentList_nullStudentList_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () ->
+                new JournalAtasStorage(testFolder.resolve("null.json")).saveStudentList(null));
+    }
+}
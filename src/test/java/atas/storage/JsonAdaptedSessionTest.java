@@ -7,15 +7,21 @@ import static atas.logic.commands.CommandTestUtil.VALID_SESSIONDATE_REC;
 import static atas.logic.commands.CommandTestUtil.VALID_SESSIONNAME_REC;
 import static atas.testutil.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import atas.commons.core.index.Index;
 import atas.commons.exceptions.IllegalValueException;
+import atas.model.session.Session;
 import atas.model.session.SessionDate;
 import atas.model.session.SessionName;
+import atas.model.student.Name;
 
 public class JsonAdaptedSessionTest {
 
@@ -26,6 +32,8 @@ public class JsonAdaptedSessionTest {
     private static final String VALID_NAME = VALID_SESSIONNAME_REC;
     private static final String VALID_DATE = VALID_SESSIONDATE_REC;
     private static final List<JsonAdaptedAttributes> studentList = new ArrayList<>();
+    private static final List<Name> studentNames = List.of(new Name("Alice"), new Name("Bob"), new Name("Carol"));
+    private static final String NO_BITS = Base64.getEncoder().encodeToString(new byte[0]);
 
     @Test
     public void toModelType_validSessionDetails_returnsSession() throws Exception {
@@ -61,4 +69,43 @@ public class JsonAdaptedSessionTest {
         assertThrows(IllegalValueException.class, expectedMessage, session::toModelType);
     }
 
+    @Test
+    public void toModelType_packedAttendance_roundTrips() throws Exception {
+        Session source = new JsonAdaptedSession(VALID_NAME, VALID_DATE, NO_BITS, NO_BITS, null)
+                .toModelType(studentNames);
+        source.toggleStudentPresence(Index.fromZeroBased(0));
+        source.toggleStudentPresence(Index.fromZeroBased(2));
+        source.toggleStudentParticipation(Index.fromZeroBased(1));
+
+        Session session = new JsonAdaptedSession(source).toModelType(studentNames);
+        assertEquals(source, session);
+        assertEquals(3, session.getNumberOfStudents());
+        assertTrue(session.getPresenceStatus(0));
+        assertFalse(session.getPresenceStatus(1));
+        assertTrue(session.getPresenceStatus(2));
+        assertTrue(session.getParticipationStatus(1));
+        assertEquals(1, session.getParticipationCount());
+        assertEquals(new Name("Carol"), session.getAttributeList().get(2).getStudentName());
+    }
+
+    @Test
+    public void toModelType_missingPackedAttendance_throwsIllegalValueException() {
+        JsonAdaptedSession session = new JsonAdaptedSession(VALID_NAME, VALID_DATE, null, NO_BITS, null);
+        String expectedMessage = String.format(JsonAdaptedSession.MISSING_FIELD_MESSAGE_FORMAT, "Presence");
+        assertThrows(IllegalValueException.class, expectedMessage, () -> session.toModelType(studentNames));
+    }
+
+    @Test
+    public void toModelType_invalidPackedAttendance_throwsIllegalValueException() {
+        String expectedMessage = String.format(JsonAdaptedSession.MESSAGE_INVALID_BITS, "Participation");
+
+        JsonAdaptedSession notBase64 = new JsonAdaptedSession(VALID_NAME, VALID_DATE, NO_BITS, "not base64!", null);
+        assertThrows(IllegalValueException.class, expectedMessage, () -> notBase64.toModelType(studentNames));
+
+        // The fourth bit is set, but there are only three students
+        String tooLong = Base64.getEncoder().encodeToString(new byte[] {8});
+        JsonAdaptedSession session = new JsonAdaptedSession(VALID_NAME, VALID_DATE, NO_BITS, tooLong, null);
+        assertThrows(IllegalValueException.class, expectedMessage, () -> session.toModelType(studentNames));
+    }
+
 }
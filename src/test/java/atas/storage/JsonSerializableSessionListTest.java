@@ -1,16 +1,27 @@
 package atas.storage;
 
 import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalStudents.getTypicalStudents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import atas.commons.core.index.Index;
 import atas.commons.exceptions.IllegalValueException;
 import atas.commons.util.JsonUtil;
+import atas.model.session.Session;
+import atas.model.session.SessionDate;
 import atas.model.session.SessionList;
+import atas.model.session.SessionName;
+import atas.model.student.Student;
 import atas.testutil.TypicalSessions;
 
 public class JsonSerializableSessionListTest {
@@ -44,4 +55,95 @@ public class JsonSerializableSessionListTest {
                 dataFromFile::toModelType);
     }
 
+    @Test
+    public void toModelType_packedFormat_roundTrips() throws Exception {
+        SessionList sessionList = TypicalSessions.getTypicalSessionList(getTypicalStudents());
+        Session first = sessionList.getSessions().get(0);
+        first.toggleStudentPresence(Index.fromZeroBased(1));
+        first.toggleStudentParticipation(Index.fromZeroBased(3));
+
+        String json = JsonUtil.toJsonString(new JsonSerializableSessionList(sessionList));
+        SessionList fromJson = JsonUtil.fromJsonString(json, JsonSerializableSessionList.class).toModelType();
+        assertEquals(sessionList, fromJson);
+
+        Session firstFromJson = fromJson.getSessions().get(0);
+        assertEquals(first.getAttributeList(), firstFromJson.getAttributeList());
+        assertEquals(sessionList.getSessions().get(1).getAttributeList(),
+                fromJson.getSessions().get(1).getAttributeList());
+    }
+
+    @Test
+    public void toModelType_manySessions_decodedInParallelAndOrdered() throws Exception {
+        SessionList sessionList = new SessionList(getTypicalStudents());
+        for (int i = 0; i < 2 * JsonSerializableSessionList.PARALLEL_DECODING_THRESHOLD; i++) {
+            sessionList.addSession(new Session(new SessionName("s" + i), new SessionDate((i % 28 + 1) + "/1/2020")));
+            sessionList.getSessions().get(0).toggleStudentPresence(Index.fromZeroBased(i % 7));
+        }
+
+        String json = JsonUtil.toJsonString(new JsonSerializableSessionList(sessionList));
+        SessionList fromJson = JsonUtil.fromJsonString(json, JsonSerializableSessionList.class).toModelType();
+        assertEquals(sessionList, fromJson);
+        for (int i = 0; i < sessionList.getSessions().size(); i++) {
+            assertEquals(sessionList.getSessions().get(i).getAttributeList(),
+                    fromJson.getSessions().get(i).getAttributeList());
+        }
+    }
+
+    @Test
+    public void toModelType_manyInvalidSessions_firstFailureInFileOrderThrown() {
+        List<JsonAdaptedSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 2 * JsonSerializableSessionList.PARALLEL_DECODING_THRESHOLD; i++) {
+            sessions.add(new JsonAdaptedSession("s" + i, "1/1/2020", "", "", null));
+        }
+        sessions.set(5, new JsonAdaptedSession("s5", "not a date", "", "", null));
+        sessions.set(40, new JsonAdaptedSession("", "1/1/2020", "", "", null));
+        JsonSerializableSessionList dataFromFile = new JsonSerializableSessionList(
+                JsonSerializableSessionList.FORMAT_VERSION, List.of(), List.of(), sessions);
+        assertThrows(IllegalValueException.class, SessionDate.MESSAGE_CONSTRAINTS, dataFromFile::toModelType);
+    }
+
+    @Test
+    public void toModelType_studentsSavedByMatriculation_rejoinedAfterReorderAndDeletion() throws Exception {
+        List<Student> students = getTypicalStudents();
+        SessionList sessionList = TypicalSessions.getTypicalSessionList(students);
+        Session first = sessionList.getSessions().get(0);
+        first.toggleStudentPresence(Index.fromZeroBased(1));
+        first.toggleStudentParticipation(Index.fromZeroBased(3));
+
+        String json = JsonUtil.toJsonString(new JsonSerializableSessionList(sessionList));
+        assertTrue(json.contains(students.get(1).getMatriculation().value));
+        assertFalse(json.contains(students.get(1).getName().fullName));
+
+        // The student list on disk has dropped the first student and swapped the next two
+        List<Student> reordered = new ArrayList<>(students.subList(1, students.size()));
+        Collections.swap(reordered, 0, 2);
+        SessionList fromJson = JsonUtil.fromJsonString(json, JsonSerializableSessionList.class).toModelType();
+        fromJson.updateStudentList(reordered);
+
+        Session firstFromJson = fromJson.getSessions().get(0);
+        assertEquals(reordered.size(), firstFromJson.getNumberOfStudents());
+        assertTrue(firstFromJson.getPresenceStatus(reordered.indexOf(students.get(1))));
+        assertTrue(firstFromJson.getParticipationStatus(reordered.indexOf(students.get(3))));
+        assertEquals(1, firstFromJson.getPresenceCount());
+        assertEquals(1, fromJson.getStudentPresenceCount(Index.fromZeroBased(reordered.indexOf(students.get(1)))));
+        assertEquals(reordered.get(0).getName(), firstFromJson.getStudentName(0));
+    }
+
+    @Test
+    public void toModelType_duplicateStudentIds_throwsIllegalValueException() {
+        String id = getTypicalStudents().get(0).getMatriculation().value;
+        JsonSerializableSessionList dataFromFile = new JsonSerializableSessionList(
+                JsonSerializableSessionList.FORMAT_VERSION, List.of(id, id), List.of(), List.of());
+        assertThrows(IllegalValueException.class, JsonSerializableSessionList.MESSAGE_DUPLICATE_STUDENT,
+                dataFromFile::toModelType);
+    }
+
+    @Test
+    public void toModelType_newerFormatVersion_throwsIllegalValueException() {
+        JsonSerializableSessionList dataFromFile = new JsonSerializableSessionList(
+                JsonSerializableSessionList.FORMAT_VERSION + 1, List.of(), List.of(), List.of());
+        assertThrows(IllegalValueException.class, String.format(JsonSerializableSessionList.MESSAGE_UNSUPPORTED_VERSION,
+                JsonSerializableSessionList.FORMAT_VERSION + 1), dataFromFile::toModelType);
+    }
+
 }
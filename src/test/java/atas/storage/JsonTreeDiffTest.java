@@ -0,0 +1,71 @@
+package atas.storage;
+
+import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import atas.commons.exceptions.DataConversionException;
+import atas.commons.util.JsonUtil;
+
+public class JsonTreeDiffTest {
+
+    private static JsonNode parse(String json) throws Exception {
+        return JsonUtil.fromJsonString(json.replace('\'', '"'), JsonNode.class);
+    }
+
+    private static void assertRoundTrip(String before, String after) throws Exception {
+        JsonNode tree = parse(before);
+        for (ObjectNode record : JsonTreeDiff.diff(parse(before), parse(after))) {
+            tree = JsonTreeDiff.apply(tree, record);
+        }
+        assertEquals(parse(after), tree);
+    }
+
+    @Test
+    public void diff_equalTrees_noRecords() throws Exception {
+        assertTrue(JsonTreeDiff.diff(parse("{'a':[1,2]}"), parse("{'a':[1,2]}")).isEmpty());
+    }
+
+    @Test
+    public void diff_fieldChangedInArrayElement_singleSetRecord() throws Exception {
+        List<ObjectNode> records = JsonTreeDiff.diff(
+                parse("{'s':[{'n':'a','p':'false'},{'n':'b','p':'false'}]}"),
+                parse("{'s':[{'n':'a','p':'false'},{'n':'b','p':'true'}]}"));
+        assertEquals(1, records.size());
+        assertEquals(parse("{'op':'set','path':['s',1,'p'],'value':'true'}"), records.get(0));
+    }
+
+    @Test
+    public void diff_elementAppended_singleSpliceRecord() throws Exception {
+        List<ObjectNode> records = JsonTreeDiff.diff(parse("{'s':[1,2,3]}"), parse("{'s':[1,2,3,4]}"));
+        assertEquals(1, records.size());
+        assertEquals(parse("{'op':'splice','path':['s'],'from':3,'remove':0,'insert':[4]}"), records.get(0));
+    }
+
+    @Test
+    public void diffAndApply_variousChanges_roundTrip() throws Exception {
+        assertRoundTrip("{'s':[1,2,3,4]}", "{'s':[1,4]}");
+        assertRoundTrip("{'s':[1,2,3]}", "{'s':[0,1,2,3]}");
+        assertRoundTrip("{'s':[1,2,3]}", "{'s':[]}");
+        assertRoundTrip("{'a':1,'b':2}", "{'b':3,'c':4}");
+        assertRoundTrip("{'s':[{'x':[1]},{'x':[2]}]}", "{'s':[{'x':[1,5]},{'x':[]}]}");
+        assertRoundTrip("{'s':[1]}", "{'s':'text'}");
+    }
+
+    @Test
+    public void apply_invalidRecord_throwsDataConversionException() throws Exception {
+        JsonNode tree = parse("{'s':[1,2]}");
+        assertThrows(DataConversionException.class, () -> JsonTreeDiff.apply(tree, parse("{'op':'set'}")));
+        assertThrows(DataConversionException.class, () ->
+                JsonTreeDiff.apply(tree, parse("{'op':'set','path':['s',5],'value':1}")));
+        assertThrows(DataConversionException.class, () ->
+                JsonTreeDiff.apply(tree, parse("{'op':'splice','path':['s'],'from':1,'remove':3,'insert':[]}")));
+    }
+}
@@ -0,0 +1,201 @@
+package atas.storage;
+
+import static atas.testutil.Assert.assertThrows;
+import static atas.testutil.TypicalSessions.TUT1;
+import static atas.testutil.TypicalSessions.TUT2;
+import static atas.testutil.TypicalSessions.getTypicalSessionList;
+import static atas.testutil.TypicalStudents.ALICE;
+import static atas.testutil.TypicalStudents.getTypicalStudentList;
+import static atas.testutil.TypicalStudents.getTypicalStudents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.commons.core.index.Index;
+import atas.commons.exceptions.DataConversionException;
+import atas.model.Model;
+import atas.model.ModelManager;
+import atas.model.UserPrefs;
+import atas.model.session.IndexRange;
+import atas.model.session.Session;
+import atas.model.session.SessionList;
+import atas.model.session.exceptions.AttendanceLoadingException;
+
+public class ShardedSessionListStorageTest {
+
+    private static final Path TYPICAL_SESSIONS_FILE = Paths.get("src", "test", "data",
+            "JsonSerializableSessionListTest", "typicalSessionSessionList.json");
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private SessionList original;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("sessionlist.json");
+        original = getTypicalSessionList(getTypicalStudents());
+        original.updateStudentPresence(TUT1.getSessionName(), new IndexRange("2-4"));
+        original.updateStudentParticipation(TUT1.getSessionName(), new IndexRange("3-3"));
+        original.updateStudentPresence(TUT2.getSessionName(), new IndexRange("3-3"));
+    }
+
+    @Test
+    public void readSessionList_missingFile_emptyResult() throws Exception {
+        assertFalse(new ShardedSessionListStorage(filePath).readSessionList().isPresent());
+    }
+
+    @Test
+    public void readSessionList_savedSessions_attendanceLoadedOnDemand() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        assertEquals(original.getSessions().size(), countShards());
+
+        SessionList readBack = new SessionList(new ShardedSessionListStorage(filePath).readSessionList().get());
+        assertEquals(original, readBack);
+        Session tut1 = readBack.getSessionByName(TUT1.getSessionName());
+        assertFalse(tut1.isAttendanceLoaded());
+
+        // Statistics are known from the index alone
+        assertEquals(3, tut1.getPresenceCount());
+        assertEquals(1, tut1.getParticipationCount());
+        assertEquals(2, readBack.getStudentPresenceCount(Index.fromZeroBased(2)));
+        assertEquals(1, readBack.getStudentParticipationCount(Index.fromZeroBased(2)));
+        assertEquals(original.getSessions().get(0).getStudentMatriculation(6), tut1.getStudentMatriculation(6));
+        assertFalse(tut1.isAttendanceLoaded());
+
+        assertEquals(original.getSessionByName(TUT1.getSessionName()).getAttributeList(), tut1.getAttributeList());
+        assertTrue(tut1.isAttendanceLoaded());
+        assertFalse(readBack.getSessionByName(TUT2.getSessionName()).isAttendanceLoaded());
+    }
+
+    @Test
+    public void saveSessionList_unchangedSessions_sessionFilesKept() throws Exception {
+        ShardedSessionListStorage storage = new ShardedSessionListStorage(filePath);
+        storage.saveSessionList(original);
+        SessionList readBack = new SessionList(storage.readSessionList().get());
+
+        // A loaded but unchanged session is saved to the same file
+        readBack.getSessionByName(TUT2.getSessionName()).getAttributeList().get(0);
+        storage.saveSessionList(readBack);
+        assertEquals(original.getSessions().size(), countShards());
+
+        // A changed session gets a new file, and the old one is only deleted by the next read
+        readBack.updateStudentPresence(TUT2.getSessionName(), new IndexRange("1-1"));
+        storage.saveSessionList(readBack);
+        assertEquals(original.getSessions().size() + 1, countShards());
+
+        SessionList readAgain = new SessionList(storage.readSessionList().get());
+        assertEquals(original.getSessions().size(), countShards());
+        assertEquals(2, readAgain.getSessionByName(TUT2.getSessionName()).getPresenceCount());
+        assertTrue(readAgain.getSessionByName(TUT2.getSessionName()).getPresenceStatus(0));
+    }
+
+    @Test
+    public void saveSessionList_sessionChangedRepeatedly_replacedFilesDeleted() throws Exception {
+        ShardedSessionListStorage storage = new ShardedSessionListStorage(filePath);
+        storage.saveSessionList(original);
+        assertEquals(original.getSessions().size(), countShards());
+
+        // Files written since the last read are deleted as soon as the index no longer refers to them
+        original.updateStudentPresence(TUT2.getSessionName(), new IndexRange("1-1"));
+        storage.saveSessionList(original);
+        original.updateStudentPresence(TUT2.getSessionName(), new IndexRange("2-2"));
+        storage.saveSessionList(original);
+        assertEquals(original.getSessions().size(), countShards());
+        assertEquals(original, new ShardedSessionListStorage(filePath).readSessionList().get());
+    }
+
+    @Test
+    public void deleteStudentFromSessions_unloadedSessions_attendanceKeptInLine() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        SessionList readBack = new SessionList(new ShardedSessionListStorage(filePath).readSessionList().get());
+
+        readBack.deleteStudentFromSessions(ALICE);
+        Session tut1 = readBack.getSessionByName(TUT1.getSessionName());
+        assertEquals(6, tut1.getNumberOfStudents());
+        assertTrue(tut1.getPresenceStatus(0));
+        assertTrue(tut1.getParticipationStatus(1));
+        assertFalse(tut1.getPresenceStatus(3));
+        assertEquals(2, readBack.getStudentPresenceCount(Index.fromZeroBased(1)));
+    }
+
+    @Test
+    public void readSessionList_singleFileFormat_readInFull() throws Exception {
+        Files.copy(TYPICAL_SESSIONS_FILE, filePath);
+        ShardedSessionListStorage storage = new ShardedSessionListStorage(filePath);
+        SessionList readBack = new SessionList(storage.readSessionList().get());
+        assertTrue(readBack.getSessions().get(0).isAttendanceLoaded());
+
+        storage.saveSessionList(readBack);
+        assertEquals(readBack, new ShardedSessionListStorage(filePath).readSessionList().get());
+        assertEquals(readBack.getSessions().size(), countShards());
+    }
+
+    @Test
+    public void readSessionList_missingSessionFile_throwsDataConversionException() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        Files.delete(getAnyShard());
+
+        assertThrows(DataConversionException.class, () -> new ShardedSessionListStorage(filePath).readSessionList());
+    }
+
+    @Test
+    public void readSessionList_truncatedSessionFile_throwsDataConversionException() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        Path shard = getAnyShard();
+        byte[] bytes = Files.readAllBytes(shard);
+        Files.write(shard, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(DataConversionException.class, () -> new ShardedSessionListStorage(filePath).readSessionList());
+    }
+
+    @Test
+    public void deleteStudent_sessionFileDeletedAfterRead_modelUnchanged() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        SessionList readBack = new SessionList(new ShardedSessionListStorage(filePath).readSessionList().get());
+        Model model = new ModelManager(readBack, getTypicalStudentList(), new UserPrefs(), "");
+        Files.delete(getAnyShard());
+
+        assertThrows(AttendanceLoadingException.class, () -> model.deleteStudent(ALICE));
+        assertTrue(model.hasStudent(ALICE));
+        assertEquals(getTypicalStudents().size(), model.getSessionList().getSessions().get(0).getNumberOfStudents());
+    }
+
+    @Test
+    public void loadAttendance_missingSessionFile_throwsAttendanceLoadingException() throws Exception {
+        new ShardedSessionListStorage(filePath).saveSessionList(original);
+        SessionList readBack = new SessionList(new ShardedSessionListStorage(filePath).readSessionList().get());
+        try (Stream<Path> shards = Files.list(ShardedSessionListStorage.getShardDirectory(filePath))) {
+            for (Path shard : (Iterable<Path>) shards::iterator) {
+                Files.delete(shard);
+            }
+        }
+
+        Session tut1 = readBack.getSessionByName(TUT1.getSessionName());
+        assertThrows(AttendanceLoadingException.class, () -> tut1.getPresenceStatus(0));
+        assertFalse(tut1.isAttendanceLoaded());
+    }
+
+    private Path getAnyShard() throws Exception {
+        try (Stream<Path> shards = Files.list(ShardedSessionListStorage.getShardDirectory(filePath))) {
+            return shards.findFirst().get();
+        }
+    }
+
+    private long countShards() throws Exception {
+        try (Stream<Path> shards = Files.list(ShardedSessionListStorage.getShardDirectory(filePath))) {
+            return shards.count();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package atas.storage;
+
+import static atas.testutil.TypicalSessions.getTypicalSessionList;
+import static atas.testutil.TypicalStudents.getTypicalStudentList;
+import static atas.testutil.TypicalStudents.getTypicalStudents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.model.session.SessionList;
+import atas.model.student.StudentList;
+
+public class StorageFormatConverterTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private AtasStorage jsonAtasStorage;
+    private AtasStorage binaryAtasStorage;
+    private SessionListStorage jsonSessionListStorage;
+    private SessionListStorage binarySessionListStorage;
+
+    @BeforeEach
+    public void setUp() {
+        Path studentListPath = testFolder.resolve("studentlist.json");
+        Path sessionListPath = testFolder.resolve("sessionlist.json");
+        jsonAtasStorage = new JsonAtasStorage(studentListPath);
+        binaryAtasStorage = new BinaryAtasStorage(MappedSnapshotFile.toBinaryPath(studentListPath));
+        jsonSessionListStorage = new ShardedSessionListStorage(sessionListPath);
+        binarySessionListStorage = new BinarySessionListStorage(MappedSnapshotFile.toBinaryPath(sessionListPath));
+    }
+
+    @Test
+    public void toBinaryPath_jsonFile_extensionReplaced() {
+        assertEquals(testFolder.resolve("studentlist.bin"), binaryAtasStorage.getStudentListFilePath());
+    }
+
+    @Test
+    public void convert_jsonToBinaryAndBack_dataKept() throws Exception {
+        StudentList studentList = getTypicalStudentList();
+        SessionList sessionList = getTypicalSessionList(getTypicalStudents());
+        jsonAtasStorage.saveStudentList(studentList);
+        jsonSessionListStorage.saveSessionList(sessionList);
+
+        assertTrue(StorageFormatConverter.convertStudentList(jsonAtasStorage, binaryAtasStorage));
+        assertTrue(StorageFormatConverter.convertSessionList(jsonSessionListStorage, binarySessionListStorage));
+        assertEquals(studentList, binaryAtasStorage.readStudentList().get());
+        assertEquals(sessionList, binarySessionListStorage.readSessionList().get());
+
+        Path otherFolder = testFolder.resolve("other");
+        AtasStorage otherJsonAtasStorage = new JsonAtasStorage(otherFolder.resolve("studentlist.json"));
+        SessionListStorage otherJsonSessionListStorage =
+                new ShardedSessionListStorage(otherFolder.resolve("sessionlist.json"));
+        assertTrue(StorageFormatConverter.convertStudentList(binaryAtasStorage, otherJsonAtasStorage));
+        assertTrue(StorageFormatConverter.convertSessionList(binarySessionListStorage,
+                otherJsonSessionListStorage));
+        assertEquals(studentList, otherJsonAtasStorage.readStudentList().get());
+        assertEquals(sessionList, otherJsonSessionListStorage.readSessionList().get());
+    }
+
+    @Test
+    public void convert_targetHasOlderData_targetReplaced() throws Exception {
+        binaryAtasStorage.saveStudentList(getTypicalStudentList());
+        binarySessionListStorage.saveSessionList(getTypicalSessionList());
+        jsonAtasStorage.saveStudentList(new StudentList());
+        jsonSessionListStorage.saveSessionList(new SessionList());
+
+        assertTrue(StorageFormatConverter.convertStudentList(binaryAtasStorage, jsonAtasStorage));
+        assertTrue(StorageFormatConverter.convertSessionList(binarySessionListStorage, jsonSessionListStorage));
+        assertEquals(getTypicalStudentList(), jsonAtasStorage.readStudentList().get());
+        assertEquals(getTypicalSessionList(), jsonSessionListStorage.readSessionList().get());
+    }
+
+    @Test
+    public void convert_sourceHasNoData_nothingConverted() throws Exception {
+        assertFalse(StorageFormatConverter.convertStudentList(binaryAtasStorage, jsonAtasStorage));
+        assertFalse(StorageFormatConverter.convertSessionList(binarySessionListStorage, jsonSessionListStorage));
+        assertFalse(jsonAtasStorage.readStudentList().isPresent());
+    }
+}
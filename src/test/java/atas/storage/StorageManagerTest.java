@@ -1,9 +1,11 @@
 package atas.storage;
 
 import static atas.testutil.TypicalMemos.SAMPLE_MEMO_ONE;
+import static atas.testutil.TypicalSessions.getTypicalSessionList;
 import static atas.testutil.TypicalStudents.getTypicalStudentList;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -17,6 +19,7 @@ import atas.commons.core.GuiSettings;
 import atas.commons.exceptions.DataConversionException;
 import atas.model.UserPrefs;
 import atas.model.memo.Memo;
+import atas.model.session.SessionList;
 import atas.model.student.ReadOnlyStudentList;
 import atas.model.student.StudentList;
 
@@ -129,4 +132,34 @@ public class StorageManagerTest {
         assertThrows(DataConversionException.class, () -> newStorageManager.readStudentList());
     }
 
+    @Test
+    public void readAll_savedData_allRead() throws Exception {
+        StudentList studentList = getTypicalStudentList();
+        SessionList sessionList = getTypicalSessionList();
+        storageManager.saveStudentList(studentList);
+        storageManager.saveSessionList(sessionList);
+        storageManager.saveMemo(SAMPLE_MEMO_ONE);
+
+        LoadedData loadedData = storageManager.readAll();
+        assertEquals(studentList, new StudentList(loadedData.getStudentList().get()));
+        assertEquals(sessionList, loadedData.getSessionList().get());
+        assertEquals(SAMPLE_MEMO_ONE, new Memo(loadedData.getMemo()));
+    }
+
+    @Test
+    public void readAll_invalidStudentList_otherSourcesRead() throws Exception {
+        JsonSessionListStorage sessionListStorage = new JsonSessionListStorage(getTempFilePath("sl"));
+        JsonAtasStorage studentListStorage = new JsonAtasStorage(getTempFilePath(""));
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(getTempFilePath("prefs"));
+        TxtMemoStorage memoStorage = new TxtMemoStorage(getTempFilePath("memo"));
+        StorageManager newStorageManager = new StorageManager(sessionListStorage,
+                studentListStorage, userPrefsStorage, memoStorage);
+        newStorageManager.saveMemo(SAMPLE_MEMO_ONE);
+
+        LoadedData loadedData = newStorageManager.readAll();
+        assertThrows(DataConversionException.class, () -> loadedData.getStudentList());
+        assertFalse(loadedData.getSessionList().isPresent());
+        assertEquals(SAMPLE_MEMO_ONE, new Memo(loadedData.getMemo()));
+    }
+
 }
@@ -1,6 +1,7 @@
 package atas.storage;
 
 import static atas.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -10,6 +11,7 @@ import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import atas.commons.util.FileUtil;
 import atas.model.memo.Memo;
 
 public class TxtMemoStorageTest {
@@ -60,4 +62,46 @@ public class TxtMemoStorageTest {
     public void saveMemo_nullFilePath_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> saveMemo(new Memo(), null));
     }
+
+    @Test
+    public void saveMemo_appendedText_onlyNewTextWritten() throws Exception {
+        Path memoFile = testFolder.resolve("memo.txt");
+        TxtMemoStorage memoStorage = new TxtMemoStorage(memoFile);
+        Memo memo = new Memo("first note");
+        memoStorage.saveMemo(memo);
+        memo.markSaved();
+
+        // A change to the file that the storage does not know of shows that the old text is not rewritten
+        FileUtil.writeToFile(memoFile, "FIRST NOTE");
+        memo.addNote("second note");
+        memoStorage.saveMemo(memo);
+        assertEquals("FIRST NOTE\nsecond note", FileUtil.readFromFile(memoFile));
+    }
+
+    @Test
+    public void saveMemo_textChangedBeforeSavedEnd_wholeMemoWritten() throws Exception {
+        Path memoFile = testFolder.resolve("memo.txt");
+        TxtMemoStorage memoStorage = new TxtMemoStorage(memoFile);
+        Memo memo = new Memo("first note");
+        memoStorage.saveMemo(memo);
+        memo.markSaved();
+
+        // The memo is longer than what was saved, but its saved text was changed too
+        memo.replaceText(0, 5, "edited");
+        memo.addNote("second note");
+        memoStorage.saveMemo(memo);
+        assertEquals("edited note\nsecond note", FileUtil.readFromFile(memoFile));
+    }
+
+    @Test
+    public void saveMemo_editedText_wholeMemoWritten() throws Exception {
+        Path memoFile = testFolder.resolve("memo.txt");
+        TxtMemoStorage memoStorage = new TxtMemoStorage(memoFile);
+        memoStorage.saveMemo(new Memo("first note"));
+        memoStorage.saveMemo(new Memo("first note\nsecond note"));
+
+        memoStorage.saveMemo(new Memo("edited note\nsecond note"));
+        assertEquals("edited note\nsecond note", FileUtil.readFromFile(memoFile));
+        assertEquals("edited note\nsecond note", new TxtMemoStorage(memoFile).readMemo());
+    }
 }
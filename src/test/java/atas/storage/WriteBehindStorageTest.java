@@ -0,0 +1,190 @@
+package atas.storage;
+
+import static atas.testutil.TypicalSessions.getTypicalSessionList;
+import static atas.testutil.TypicalStudents.getTypicalStudentList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import atas.model.memo.Memo;
+import atas.model.session.ReadOnlySessionList;
+import atas.model.session.SessionList;
+import atas.model.student.StudentList;
+
+public class WriteBehindStorageTest {
+
+    private static final long NEVER_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    public Path testFolder;
+
+    private CountingStorageManager storageManager;
+    private WriteBehindStorage writeBehindStorage;
+
+    @BeforeEach
+    public void setUp() {
+        storageManager = new CountingStorageManager(testFolder);
+    }
+
+    @Test
+    public void save_burstOfSaves_writtenOnce() throws Exception {
+        writeBehindStorage = new WriteBehindStorage(storageManager, NEVER_MILLIS,
+                Executors.newSingleThreadScheduledExecutor());
+        SessionList sessionList = getTypicalSessionList();
+        for (int i = 0; i < 5; i++) {
+            writeBehindStorage.saveSessionList(sessionList);
+            writeBehindStorage.saveMemo(new Memo("memo " + i));
+        }
+        assertEquals(0, storageManager.sessionListWrites);
+
+        writeBehindStorage.flush();
+        assertEquals(1, storageManager.sessionListWrites);
+        assertEquals(1, storageManager.memoWrites);
+        assertEquals("memo 4", storageManager.readMemo());
+
+        // Nothing is pending any more
+        writeBehindStorage.shutdown();
+        assertEquals(1, storageManager.sessionListWrites);
+    }
+
+    @Test
+    public void save_modifiedAfterSave_snapshotWritten() throws Exception {
+        writeBehindStorage = new WriteBehindStorage(storageManager, NEVER_MILLIS,
+                Executors.newSingleThreadScheduledExecutor());
+        StudentList studentList = getTypicalStudentList();
+        SessionList sessionList = getTypicalSessionList();
+        writeBehindStorage.saveStudentList(studentList);
+        writeBehindStorage.saveSessionList(sessionList);
+        StudentList expectedStudentList = new StudentList(studentList);
+        ReadOnlySessionList expectedSessionList = sessionList.getCopy();
+
+        studentList.resetData(new StudentList());
+        sessionList.resetData(new SessionList());
+
+        assertEquals(expectedStudentList, writeBehindStorage.readStudentList().get());
+        assertEquals(expectedSessionList, writeBehindStorage.readSessionList().get());
+        writeBehindStorage.shutdown();
+    }
+
+    @Test
+    public void save_inBackground_written() throws Exception {
+        writeBehindStorage = new WriteBehindStorage(storageManager, 0, Executors.newSingleThreadScheduledExecutor());
+        CountDownLatch written = new CountDownLatch(1);
+        storageManager.onMemoWrite = written::countDown;
+
+        writeBehindStorage.saveMemo(new Memo("background"));
+        written.await(10, TimeUnit.SECONDS);
+        assertEquals("background", storageManager.readMemo());
+        writeBehindStorage.shutdown();
+    }
+
+    @Test
+    public void saveMemo_keptTyping_writtenOnceByMaxLatency() throws Exception {
+        writeBehindStorage = new WriteBehindStorage(storageManager, NEVER_MILLIS, NEVER_MILLIS, 200,
+                Executors.newSingleThreadScheduledExecutor());
+        CountDownLatch written = new CountDownLatch(1);
+        storageManager.onMemoWrite = written::countDown;
+
+        // Each keystroke postpones the write by the save delay, but not past the maximum latency
+        for (int i = 0; i < 5; i++) {
+            writeBehindStorage.saveMemo(new Memo("memo " + i));
+        }
+        written.await(10, TimeUnit.SECONDS);
+        assertEquals(1, storageManager.memoWrites);
+        assertEquals("memo 4", storageManager.readMemo());
+        writeBehindStorage.shutdown();
+    }
+
+    @Test
+    public void saveMemo_pendingOnShutdown_written() throws Exception {
+        writeBehindStorage = new WriteBehindStorage(storageManager, NEVER_MILLIS, NEVER_MILLIS, NEVER_MILLIS,
+                Executors.newSingleThreadScheduledExecutor());
+        writeBehindStorage.saveMemo(new Memo("unsaved"));
+        assertEquals(0, storageManager.memoWrites);
+
+        writeBehindStorage.shutdown();
+        assertEquals(1, storageManager.memoWrites);
+        assertEquals("unsaved", storageManager.readMemo());
+    }
+
+    @Test
+    public void save_writeFails_reportedAndKeptPending() throws Exception {
+        storageManager.isFailing = true;
+        writeBehindStorage = new WriteBehindStorage(storageManager, 0, Executors.newSingleThreadScheduledExecutor());
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        writeBehindStorage.setWriteFailureHandler(e -> {
+            failure.set(e);
+            reported.countDown();
+        });
+
+        writeBehindStorage.saveMemo(new Memo("kept"));
+        reported.await(10, TimeUnit.SECONDS);
+        assertEquals(CountingStorageManager.FAILURE_MESSAGE, failure.get().getMessage());
+
+        assertThrows(IOException.class, () -> writeBehindStorage.flush());
+        storageManager.isFailing = false;
+        writeBehindStorage.shutdown();
+        assertEquals("kept", storageManager.readMemo());
+    }
+
+    @Test
+    public void save_transientWriteFailure_retriedWithoutSave() throws Exception {
+        storageManager.isFailing = true;
+        writeBehindStorage = new WriteBehindStorage(storageManager, 0, Executors.newSingleThreadScheduledExecutor());
+        CountDownLatch written = new CountDownLatch(1);
+        storageManager.onMemoWrite = written::countDown;
+        // The failure passes by the time the write is retried
+        writeBehindStorage.setWriteFailureHandler(e -> storageManager.isFailing = false);
+
+        writeBehindStorage.saveMemo(new Memo("retried"));
+        written.await(10, TimeUnit.SECONDS);
+        assertEquals(1, storageManager.memoWrites);
+        assertEquals("retried", storageManager.readMemo());
+        writeBehindStorage.shutdown();
+    }
+
+    /**
+     * A {@code StorageManager} that counts the writes to its default files, and can be made to fail them.
+     */
+    private static class CountingStorageManager extends StorageManager {
+        private static final String FAILURE_MESSAGE = "dummy exception";
+
+        private volatile boolean isFailing;
+        private volatile Runnable onMemoWrite = () -> {};
+        private int sessionListWrites;
+        private int memoWrites;
+
+        private CountingStorageManager(Path folder) {
+            super(new JsonSessionListStorage(folder.resolve("sl")), new JsonAtasStorage(folder.resolve("ab")),
+                    new JsonUserPrefsStorage(folder.resolve("prefs")), new TxtMemoStorage(folder.resolve("memo")));
+        }
+
+        @Override
+        public void saveSessionList(ReadOnlySessionList sessionList) throws IOException {
+            sessionListWrites++;
+            super.saveSessionList(sessionList);
+        }
+
+        @Override
+        public void saveMemo(Memo memo) throws IOException {
+            if (isFailing) {
+                throw new IOException(FAILURE_MESSAGE);
+            }
+            memoWrites++;
+            super.saveMemo(memo);
+            onMemoWrite.run();
+        }
+    }
+
+}